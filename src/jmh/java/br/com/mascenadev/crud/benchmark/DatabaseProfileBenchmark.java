@@ -0,0 +1,138 @@
+package br.com.mascenadev.crud.benchmark;
+
+import br.com.mascenadev.crud.CrudApplication;
+import br.com.mascenadev.crud.dtos.TodoBatchResultDTO;
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.repository.TodoRepository;
+import br.com.mascenadev.crud.service.TodoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a vazão da configuração padrão ({@code application.yml}) com a do perfil {@code prod}
+ * (pool dimensionado pelos núcleos, cache de prepared statements no driver e no servidor, lotes
+ * reescritos e SQL sem log) contra um MySQL real.
+ * <p>
+ * Só a conexão é sobrescrita nos dois casos, pelas variáveis de ambiente {@code TODO_DB_URL},
+ * {@code TODO_DB_USERNAME} e {@code TODO_DB_PASSWORD} (padrão: {@code todo_bench} em localhost,
+ * usuário {@code root}). As tabelas são recriadas a cada execução. Exemplo:
+ * {@code TODO_DB_URL=jdbc:mysql://db:3306/todo_bench mvn -Pbenchmark -DskipTests integration-test -Djmh.includes=DatabaseProfileBenchmark}
+ * </p>
+ * <p>
+ * {@code createBatch} exercita os lotes JDBC; {@code findEstado} e {@code findExistingIds} são
+ * consultas que não passam pelos caches da aplicação e medem a ida ao banco com prepared statements.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class DatabaseProfileBenchmark {
+
+    private static final int TODOS = 10_000;
+    private static final int BATCH_SIZE = 50;
+    private static final int LOOKUP_SIZE = 20;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoRepository todoRepository;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication application = new SpringApplication(CrudApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + env("TODO_DB_URL", "jdbc:mysql://localhost:3306/todo_bench"),
+                "--spring.datasource.username=" + env("TODO_DB_USERNAME", "root"),
+                "--spring.datasource.password=" + env("TODO_DB_PASSWORD", ""),
+                "--spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--todo-api.search.index-dir=target/benchmark-search-index-" + profile,
+                "--todo-api.batch.max-items=" + TODOS));
+        if (!"default".equals(profile)) {
+            args.add("--spring.profiles.active=" + profile);
+        }
+        context = application.run(args.toArray(String[]::new));
+        todoService = context.getBean(TodoService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+
+        ids = todoService.createBatch(requests(TODOS)).stream()
+                .map(TodoBatchResultDTO::id)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoBatchResultDTO> createBatch() {
+        return todoService.createBatch(requests(BATCH_SIZE));
+    }
+
+    @Benchmark
+    public List<TodoEstado> findEstado() {
+        return todoRepository.findEstados(List.of(randomId()));
+    }
+
+    @Benchmark
+    public List<Long> findExistingIds() {
+        List<Long> lookup = new ArrayList<>(LOOKUP_SIZE);
+        for (int i = 0; i < LOOKUP_SIZE; i++) {
+            lookup.add(randomId());
+        }
+        return todoRepository.findExistingIds(lookup);
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static List<TodoRequestDTO> requests(int count) {
+        List<TodoRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new TodoRequestDTO("Tarefa " + i, "Descrição da tarefa " + i, i % 2 == 0, i % 6));
+        }
+        return requests;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
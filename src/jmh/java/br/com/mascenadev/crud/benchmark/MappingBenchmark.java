@@ -0,0 +1,72 @@
+package br.com.mascenadev.crud.benchmark;
+
+import br.com.mascenadev.crud.domain.Todo;
+import br.com.mascenadev.crud.dtos.TodoMapper;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks do mapeamento entre DTOs e entidade, executados a cada requisição de escrita e leitura.
+ * <p>
+ * {@code beanUtilsToEntity} reproduz a conversão anterior, por {@link BeanUtils#copyProperties},
+ * como referência para o {@link TodoMapper}.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private TodoRequestDTO request;
+    private Todo todo;
+
+    @Setup
+    public void setup() {
+        request = new TodoRequestDTO("Comprar pão", "Na padaria da esquina", false, 3);
+        todo = new Todo("Comprar pão", "Na padaria da esquina", false, 3);
+        todo.setId(42L);
+        todo.setVersao(7L);
+    }
+
+    @Benchmark
+    public Todo beanUtilsToEntity() {
+        Todo target = new Todo();
+        BeanUtils.copyProperties(request, target);
+        return target;
+    }
+
+    @Benchmark
+    public Todo requestToEntity() {
+        return TodoMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public TodoResponseDTO entityToResponse() {
+        return TodoMapper.toResponse(todo);
+    }
+
+    @Benchmark
+    public Todo requestToExistingEntity() {
+        TodoMapper.applyTo(request, todo);
+        return todo;
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.mascenadev.crud.benchmark;
+
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.service.TodoColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark das leituras do modelo em memória ({@link TodoColumns}, usado pelo
+ * {@link br.com.mascenadev.crud.service.TodoMirror}) e de uma escrita que muda a posição
+ * da tarefa na ordenação.
+ * <p>
+ * No início de cada execução é impressa a memória ocupada pelas colunas, por tarefa e por milhão
+ * de tarefas, ao lado da mesma coleção como uma lista de {@link TodoResponseDTO}. As medidas vêm
+ * do heap usado após coletas completas e são aproximadas.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MirrorBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final Set<TodoField> CAMPOS = TodoField.all();
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private TodoColumns columns;
+
+    private TodoCursor middle;
+
+    private TodoFilter filtro;
+
+    private long versao;
+
+    @Setup
+    public void setup() {
+        long before = usedHeap();
+        columns = new TodoColumns();
+        columns.replaceAll(sink -> {
+            for (int i = 1; i <= size; i++) {
+                sink.accept(todo(i));
+            }
+        });
+        long columnar = usedHeap() - before;
+
+        before = usedHeap();
+        List<TodoResponseDTO> objects = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            objects.add(todo(i));
+        }
+        long boxed = usedHeap() - before;
+        System.out.printf("%n%d tarefas: colunas %d bytes/tarefa (%d MB por milhão), lista de DTOs %d bytes/tarefa (%d MB por milhão)%n",
+                objects.size(), columnar / size, columnar * 1_000_000L / size / (1024 * 1024),
+                boxed / size, boxed * 1_000_000L / size / (1024 * 1024));
+
+        middle = TodoCursor.after(columns.page(TodoFilter.empty(), null, CAMPOS, size / 2).get(size / 2 - 1));
+        filtro = new TodoFilter(true, 2, 3, null);
+    }
+
+    @Benchmark
+    public List<TodoResponseDTO> firstPage() {
+        return columns.page(TodoFilter.empty(), null, CAMPOS, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<TodoResponseDTO> middlePage() {
+        return columns.page(TodoFilter.empty(), middle, CAMPOS, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<TodoResponseDTO> filteredPage() {
+        return columns.page(filtro, null, CAMPOS, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public TodoResponseDTO findById() {
+        return columns.get(size / 3);
+    }
+
+    @Benchmark
+    public void reorderingUpdate() {
+        versao++;
+        columns.upsert(new TodoResponseDTO((long) size / 2, "Tarefa movida " + (versao % 2), "Descrição", false,
+                (int) (versao % 6), versao));
+    }
+
+    private static TodoResponseDTO todo(int i) {
+        return new TodoResponseDTO((long) i, "Tarefa " + i, "Descrição da tarefa " + i, i % 2 == 0, i % 6, 0L);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.mascenadev.crud.benchmark;
+
+import br.com.mascenadev.crud.CrudApplication;
+import br.com.mascenadev.crud.exception.GlobalExceptionHandler;
+import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Benchmarks do caminho de {@code GET /todos/{id}} com um ID inexistente (404).
+ * <p>
+ * {@code stackTraceException} e {@code legacyErrorBody} reproduzem o caminho anterior, com uma
+ * exceção que captura a pilha e o corpo montado com {@code LocalDateTime.now()} e um
+ * {@link HashMap}, como referência para {@code stacklessException} e {@code problemDetail}.
+ * As exceções são criadas a {@code stackDepth} quadros de profundidade, próximo da pilha real
+ * entre o Tomcat e o serviço. {@code notFoundRequest} mede a requisição completa pelo
+ * {@link MockMvc}, incluindo a consulta ao H2.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    @Param({"150"})
+    private int stackDepth;
+
+    private ConfigurableApplicationContext context;
+    private GlobalExceptionHandler handler;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = SpringApplication.run(CrudApplication.class,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        handler = context.getBean(GlobalExceptionHandler.class);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RuntimeException stacklessException() {
+        return atDepth(stackDepth, () -> new TodoNaoEncontradoException(missingId()));
+    }
+
+    @Benchmark
+    public RuntimeException stackTraceException() {
+        return atDepth(stackDepth, () -> new RuntimeException("Todo com o ID " + missingId() + " não foi encontrado"));
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> problemDetail() {
+        return handler.handleTodoNaoEncontradoException(new TodoNaoEncontradoException(missingId()));
+    }
+
+    @Benchmark
+    public Object legacyErrorBody() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", 404);
+        body.put("error", "Todo não encontrado");
+        body.put("details", "Todo com o ID " + missingId() + " não foi encontrado");
+        return body;
+    }
+
+    @Benchmark
+    public MvcResult notFoundRequest() throws Exception {
+        return mockMvc.perform(get("/todos/{id}", missingId())).andReturn();
+    }
+
+    private static long missingId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+
+    private static RuntimeException atDepth(int depth, Supplier<RuntimeException> factory) {
+        return depth == 0 ? factory.get() : atDepth(depth - 1, factory);
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.mascenadev.crud.benchmark;
+
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark da serialização de listas de {@link TodoResponseDTO} nos formatos negociados pela
+ * aplicação (JSON, Smile e CBOR), com e sem gzip, com um {@link ObjectMapper} configurado como
+ * o da aplicação ({@link Jackson2ObjectMapperBuilder}).
+ * <p>
+ * O tempo medido é o custo de CPU da serialização (e da compressão, com {@code gzip});
+ * o tamanho da resposta de cada combinação é impresso no início de cada execução.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private ObjectWriter writer;
+    private List<TodoResponseDTO> todos;
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "smile" -> builder.factory(new SmileFactory());
+            case "cbor" -> builder.factory(new CBORFactory());
+            default -> {
+            }
+        }
+        writer = builder.build().writer();
+        todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            todos.add(new TodoResponseDTO((long) i, "Tarefa " + i, "Descrição da tarefa " + i, i % 2 == 0, i % 6, 0L));
+        }
+        try {
+            System.out.printf("%n%s/%s com %d tarefas: %d bytes%n", format, compression, size, serializeList().length);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = "gzip".equals(compression) ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(out, todos);
+        }
+        return bytes.toByteArray();
+    }
+}
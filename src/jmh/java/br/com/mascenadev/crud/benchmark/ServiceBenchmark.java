@@ -0,0 +1,120 @@
+package br.com.mascenadev.crud.benchmark;
+
+import br.com.mascenadev.crud.CrudApplication;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoPageDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.repository.TodoRepository;
+import br.com.mascenadev.crud.service.TodoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks do {@link TodoService} contra o H2 embarcado, com o contexto Spring completo
+ * (sem a camada web) e uma base pré-carregada.
+ * <p>
+ * {@code findById} mede o caminho com cache; {@code findByIdRepository} mede a ida ao banco.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int TODOS = 10_000;
+    private static final int PAGE_SIZE = 50;
+    private static final Set<TodoField> ALL_FIELDS = TodoField.all();
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoRepository todoRepository;
+    private List<Long> ids;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication application = new SpringApplication(CrudApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--todo-api.batch.max-items=" + TODOS);
+        todoService = context.getBean(TodoService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+
+        List<TodoRequestDTO> requests = new ArrayList<>(TODOS);
+        for (int i = 0; i < TODOS; i++) {
+            requests.add(new TodoRequestDTO("Tarefa " + i, "Descrição da tarefa " + i, i % 2 == 0, i % 6));
+        }
+        ids = new ArrayList<>(TODOS);
+        todoService.createBatch(requests).forEach(result -> ids.add(result.id()));
+
+        String cursor = null;
+        for (int i = 0; i < TODOS / PAGE_SIZE / 2; i++) {
+            cursor = todoService.listPage(cursor, PAGE_SIZE, TodoFilter.empty(), ALL_FIELDS).nextCursor();
+        }
+        middleCursor = cursor;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoPageDTO listFirstPage() {
+        return todoService.listPage(null, PAGE_SIZE, TodoFilter.empty(), ALL_FIELDS);
+    }
+
+    @Benchmark
+    public TodoPageDTO listMiddlePage() {
+        return todoService.listPage(middleCursor, PAGE_SIZE, TodoFilter.empty(), ALL_FIELDS);
+    }
+
+    @Benchmark
+    public void streamAll(Blackhole blackhole) {
+        todoService.streamAll(blackhole::consume);
+    }
+
+    @Benchmark
+    public TodoResponseDTO findById() {
+        return todoService.findById(randomId());
+    }
+
+    @Benchmark
+    public Object findByIdRepository() {
+        return todoRepository.findById(randomId()).orElseThrow();
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.mascenadev.crud.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuração dos formatos binários negociados pelo cabeçalho {@code Accept}, além do JSON.
+ * <p>
+ * Ambos carregam os mesmos campos do JSON, sem esquema à parte:
+ * </p>
+ * <ul>
+ *     <li>{@code application/x-jackson-smile} (Smile): cada nome de campo é escrito uma única vez
+ *     por resposta e depois referenciado por um índice de um byte, o que elimina a repetição de
+ *     {@code titulo}, {@code descricao}, {@code realizado}... em cada elemento da listagem;</li>
+ *     <li>{@code application/cbor} (CBOR, RFC 8949): padrão aberto com bibliotecas em quase toda
+ *     linguagem, mas repete os nomes dos campos como o JSON e por isso se beneficia mais da
+ *     compressão da resposta ({@code server.compression}).</li>
+ * </ul>
+ * <p>
+ * Os conversores partem do {@link Jackson2ObjectMapperBuilder} do Spring Boot, com os mesmos
+ * módulos e propriedades {@code spring.jackson.*} do conversor JSON, e substituem os conversores
+ * padrão do Spring MVC para esses formatos.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * Cria o conversor Smile.
+     *
+     * @param builder O construtor de {@code ObjectMapper} configurado pelo Spring Boot.
+     * @return O conversor de {@code application/x-jackson-smile}.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Cria o conversor CBOR.
+     *
+     * @param builder O construtor de {@code ObjectMapper} configurado pelo Spring Boot.
+     * @return O conversor de {@code application/cbor}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.mascenadev.crud.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cache em memória da aplicação.
+ * <p>
+ * Usa o Caffeine (política de despejo W-TinyLFU) limitado por tamanho e por tempo de vida,
+ * ambos configuráveis em {@code todo-api.cache}. O {@link CacheManager} é envolvido por um
+ * {@link TransactionAwareCacheManagerProxy}, de modo que inclusões e remoções feitas dentro
+ * de uma transação só são aplicadas após o commit: uma escrita desfeita por rollback nunca
+ * deixa uma entrada obsoleta no cache. As gravações mantêm a versão mais nova de cada tarefa,
+ * mesmo quando a de uma leitura chega depois da de uma atualização ({@link VersionedCaffeineCache}).
+ * </p>
+ * <p>
+ * As estatísticas (acertos, falhas e despejos) são registradas e publicadas pelo Actuator
+ * nas métricas {@code cache.gets} e {@code cache.evictions}.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Nome do cache de tarefas, indexado pelo tenant e ID ({@link TenantContext#key(Long)})
+     * e armazenando {@code TodoResponseDTO}.
+     */
+    public static final String TODOS_CACHE = "todos";
+
+    @Value("${todo-api.cache.maximum-size}")
+    private long maximumSize;
+
+    @Value("${todo-api.cache.ttl}")
+    private Duration ttl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TODOS_CACHE) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new VersionedCaffeineCache(name, cache, Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .build());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.mascenadev.crud.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link DataSource} que limita o número de conexões em uso simultâneo com um {@link Semaphore}.
+ * <p>
+ * Com threads virtuais o número de requisições concorrentes deixa de ser limitado pelo pool
+ * de threads do Tomcat, e milhares delas podem disputar o pool de conexões ao mesmo tempo.
+ * O semáforo (justo, e sem {@code synchronized}, para não fixar a thread virtual à thread
+ * portadora) enfileira essas requisições antes do pool, com um tempo de espera próprio.
+ * A permissão é devolvida quando a conexão é fechada, isto é, devolvida ao pool.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+
+    private final Duration acquireTimeout;
+
+    /**
+     * Cria o {@code DataSource} limitado.
+     *
+     * @param target         O {@link DataSource} real (normalmente o pool de conexões).
+     * @param maxConcurrency O número máximo de conexões em uso simultâneo.
+     * @param acquireTimeout O tempo máximo de espera por uma permissão.
+     */
+    public ConcurrencyLimitingDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Obtém o número de permissões disponíveis no momento.
+     *
+     * @return As permissões livres.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Obtém o número aproximado de threads aguardando uma permissão.
+     *
+     * @return O tamanho da fila de espera.
+     */
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Limite de conexões simultâneas atingido; tempo de espera de " + acquireTimeout + " esgotado");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando uma conexão", ex);
+        }
+    }
+
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                try {
+                    return invoke(connection, method, args);
+                } finally {
+                    permits.release();
+                }
+            }
+            return invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
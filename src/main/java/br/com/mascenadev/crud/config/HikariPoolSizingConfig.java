@@ -0,0 +1,85 @@
+package br.com.mascenadev.crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Dimensiona os pools Hikari a partir do número de núcleos, ativada por
+ * {@code todo-api.database.pool.auto-size} (perfil {@code prod}).
+ * <p>
+ * Segue a fórmula recomendada pelo HikariCP, {@code núcleos × todo-api.database.pool.cores-multiplier
+ * + todo-api.database.pool.spindles}, e mantém o pool com tamanho fixo ({@code minimum-idle} igual ao
+ * máximo). Os núcleos são os visíveis à JVM, que respeita o limite de CPU do contêiner. O valor
+ * calculado substitui {@code spring.datasource.hikari.maximum-pool-size} e vale para todos os pools
+ * (primário e réplica).
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo-api.database.pool.auto-size", havingValue = "true")
+public class HikariPoolSizingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolSizingConfig.class);
+
+    /**
+     * Aplica o tamanho calculado a cada pool Hikari, inclusive quando envolvido por outro {@link DataSource}.
+     *
+     * @param environment O ambiente, de onde são lidos o multiplicador e os spindles.
+     * @return O {@link BeanPostProcessor} que dimensiona os pools.
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                HikariDataSource hikari = unwrapHikari(bean);
+                if (hikari != null) {
+                    int multiplier = environment.getRequiredProperty("todo-api.database.pool.cores-multiplier", Integer.class);
+                    int spindles = environment.getRequiredProperty("todo-api.database.pool.spindles", Integer.class);
+                    int size = poolSize(Runtime.getRuntime().availableProcessors(), multiplier, spindles);
+                    hikari.setMaximumPoolSize(size);
+                    hikari.setMinimumIdle(size);
+                    log.info("Pool {} dimensionado com {} conexões", hikari.getPoolName() == null ? beanName : hikari.getPoolName(), size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Calcula o tamanho do pool.
+     *
+     * @param cores      O número de núcleos disponíveis.
+     * @param multiplier As conexões por núcleo.
+     * @param spindles   As conexões adicionais (discos efetivos do banco).
+     * @return O tamanho do pool, no mínimo 1.
+     */
+    static int poolSize(int cores, int multiplier, int spindles) {
+        return Math.max(1, cores * multiplier + spindles);
+    }
+
+    private static HikariDataSource unwrapHikari(Object bean) {
+        if (bean instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        if (bean instanceof DataSource dataSource) {
+            try {
+                return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+            } catch (SQLException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
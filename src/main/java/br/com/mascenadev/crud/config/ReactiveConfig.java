@@ -0,0 +1,93 @@
+package br.com.mascenadev.crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configuração da pilha reativa (WebFlux + R2DBC), selecionada pelo perfil {@code reactive}
+ * ({@code application-reactive.yml}).
+ * <p>
+ * Nessa pilha, as rotas de {@code /todos} são atendidas pelo
+ * {@link br.com.mascenadev.crud.controller.ReactiveTodoController} e as leituras usam o pool
+ * R2DBC ({@code spring.r2dbc.*}), que aponta para o mesmo banco do {@code DataSource}, nas
+ * leituras e nas escritas individuais. O JPA continua presente para as operações em lote,
+ * {@code /changes}, {@code /stats} e {@code /search}, delegados aos serviços da pilha MVC, e para
+ * as tarefas em segundo plano (índice de busca, ingestão). Fora do perfil, a autoconfiguração
+ * R2DBC fica desligada e nenhuma conexão R2DBC é aberta.
+ * </p>
+ * <p>
+ * As transações R2DBC usam um {@link R2dbcTransactionManager} próprio, fora do contexto: como
+ * bean, ele seria um segundo {@code TransactionManager}, e os {@code @Transactional} sem
+ * qualificador deixariam de encontrar o do JPA.
+ * </p>
+ * <p>
+ * A autoconfiguração do {@code DataSource} do Spring Boot não atua quando existe uma fábrica de
+ * conexões R2DBC; aqui o pool JDBC é criado a partir de {@code spring.datasource}, como ela faria
+ * (ou por {@link ReplicaDataSourceConfig}, com a réplica habilitada).
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    /**
+     * Usa o Netty como servidor: com o Tomcat também no classpath (pilha MVC), o Spring Boot o
+     * escolheria, e o WebFlux rodaria sobre a API de Servlet.
+     *
+     * @return A fábrica do servidor Netty, configurada pelas propriedades {@code server.*}.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Cria o pool JDBC a partir de {@code spring.datasource}, usado pelo JPA nas escritas.
+     *
+     * @param properties As propriedades de {@code spring.datasource}.
+     * @return O pool JDBC.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "todo-api.replica.enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Cria o cliente R2DBC usado pelo {@link br.com.mascenadev.crud.repository.TodoReactiveRepository}.
+     *
+     * @param connectionFactory A fábrica de conexões R2DBC (pool), configurada pelo Spring Boot.
+     * @return O cliente R2DBC.
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Cria o operador das transações R2DBC das escritas da pilha reativa.
+     *
+     * @param connectionFactory A fábrica de conexões R2DBC, a mesma do {@link DatabaseClient}.
+     * @return O operador, que executa um {@code Mono} ou {@code Flux} em uma transação.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
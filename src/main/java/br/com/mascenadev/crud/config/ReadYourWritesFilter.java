@@ -0,0 +1,90 @@
+package br.com.mascenadev.crud.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Garante que um cliente leia as próprias escritas mesmo com a réplica atrasada.
+ * <p>
+ * Toda requisição de escrita (métodos diferentes de GET, HEAD e OPTIONS) recebe o cookie
+ * {@value #COOKIE}, com o instante até o qual as leituras desse cliente devem ir para o primário
+ * ({@code todo-api.replica.sticky-window} a partir da escrita). Enquanto o cookie for válido,
+ * as leituras da requisição usam o primário ({@link ReplicaRoutingDataSource#requirePrimary()}).
+ * Por viajar com o cliente, o cookie vale para qualquer instância da aplicação.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * Nome do cookie com o instante (epoch em milissegundos) até o qual o cliente lê do primário.
+     */
+    public static final String COOKIE = "todo-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration stickyWindow;
+
+    /**
+     * Cria o filtro.
+     *
+     * @param stickyWindow Por quanto tempo, após uma escrita, as leituras do cliente vão para o primário.
+     */
+    public ReadYourWritesFilter(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(now + stickyWindow.toMillis()))
+                    .maxAge(stickyWindow)
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+        if (!write && stickyUntil(request) <= now) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.requirePrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.releasePrimary();
+        }
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException ex) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
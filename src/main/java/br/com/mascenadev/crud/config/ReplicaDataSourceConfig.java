@@ -0,0 +1,134 @@
+package br.com.mascenadev.crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuração do roteamento de leituras para uma réplica, ativada por {@code todo-api.replica.enabled}.
+ * <p>
+ * O {@link DataSource} da aplicação passa a ser um {@link LazyConnectionDataSourceProxy}: a conexão
+ * real só é obtida no primeiro comando, depois que a transação já declarou se é somente leitura.
+ * Transações de escrita usam o primário ({@code spring.datasource}); transações somente leitura
+ * ({@code @Transactional(readOnly = true)}, incluindo os métodos de leitura dos repositórios Spring Data)
+ * usam o {@link ReplicaRoutingDataSource}, que prefere a réplica ({@code todo-api.replica.datasource})
+ * e recorre ao primário quando ela está atrasada ou indisponível, ou quando o cliente acabou de
+ * escrever ({@link ReadYourWritesFilter}).
+ * </p>
+ * <p>
+ * O cache de consultas do Hibernate só guarda resultados lidos do primário. O cache {@code todos}
+ * pode guardar uma tarefa lida da réplica, mas nunca no lugar de uma versão mais nova
+ * ({@link VersionedCaffeineCache}); o atraso máximo aceito ({@code todo-api.replica.max-lag}) deve
+ * ser compatível com o tempo de vida dele.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo-api.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Cria o pool do primário a partir de {@code spring.datasource}, como a autoconfiguração
+     * do Spring Boot faria.
+     *
+     * @param properties As propriedades de {@code spring.datasource}.
+     * @return O pool do primário.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("todo-primary");
+        return dataSource;
+    }
+
+    /**
+     * Cria o pool da réplica a partir de {@code todo-api.replica.datasource}
+     * (propriedades do Hikari: {@code jdbc-url}, {@code username}, {@code maximum-pool-size}...).
+     *
+     * @return O pool da réplica.
+     */
+    @Bean
+    @ConfigurationProperties("todo-api.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("todo-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Cria o monitor de atraso da réplica.
+     *
+     * @param replica       O pool da réplica.
+     * @param lagQuery      A consulta do atraso, em {@code todo-api.replica.lag-query}.
+     * @param maxLag        O atraso máximo aceito, em {@code todo-api.replica.max-lag}.
+     * @param checkInterval O intervalo entre verificações, em {@code todo-api.replica.check-interval}.
+     * @return O monitor, fechado junto com o contexto.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${todo-api.replica.lag-query:}") String lagQuery,
+                                               @Value("${todo-api.replica.max-lag}") Duration maxLag,
+                                               @Value("${todo-api.replica.check-interval}") Duration checkInterval) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag, checkInterval);
+    }
+
+    /**
+     * Cria o {@link DataSource} da aplicação, que separa escritas e leituras.
+     *
+     * @param primary O pool do primário.
+     * @param replica O pool da réplica.
+     * @param monitor O monitor de atraso da réplica.
+     * @return O {@link DataSource} usado pelo JPA.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor monitor) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, monitor));
+        return dataSource;
+    }
+
+    /**
+     * Cria o filtro de leitura das próprias escritas.
+     *
+     * @param stickyWindow A janela após uma escrita, em {@code todo-api.replica.sticky-window}.
+     * @return O filtro, registrado para todas as requisições.
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${todo-api.replica.sticky-window}") Duration stickyWindow) {
+        return new ReadYourWritesFilter(stickyWindow);
+    }
+
+    /**
+     * Expõe o atraso medido da réplica ({@code NaN} se desconhecido).
+     *
+     * @param monitor O monitor de atraso da réplica.
+     * @return O {@link MeterBinder} que registra o medidor.
+     */
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaLagMonitor monitor) {
+        return registry -> Gauge.builder("todo.database.replica.lag", monitor,
+                        m -> m.lag() == null ? Double.NaN : m.lag().toMillis() / 1000.0)
+                .description("Atraso da réplica de leitura na última verificação")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.mascenadev.crud.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifica periodicamente se a réplica de leitura pode atender consultas.
+ * <p>
+ * A cada {@code todo-api.replica.check-interval} executa {@code todo-api.replica.lag-query} na réplica.
+ * A consulta deve devolver o atraso em segundos na primeira coluna, ou em uma coluna
+ * {@code Seconds_Behind_Source} (como o {@code SHOW REPLICA STATUS} do MySQL). A réplica é
+ * considerada saudável se o atraso for conhecido e não passar de {@code todo-api.replica.max-lag}.
+ * Sem consulta configurada, apenas a conexão é testada. Uma falha de conexão torna a réplica
+ * indisponível até a próxima verificação bem-sucedida.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String MYSQL_LAG_COLUMN = "Seconds_Behind_Source";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource replica;
+
+    private final String lagQuery;
+
+    private final Duration maxLag;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean healthy;
+
+    private volatile Duration lag;
+
+    /**
+     * Cria o monitor, faz a primeira verificação e agenda as seguintes.
+     *
+     * @param replica       O {@link DataSource} da réplica.
+     * @param lagQuery      A consulta que devolve o atraso em segundos, ou vazia para só testar a conexão.
+     * @param maxLag        O atraso máximo aceito.
+     * @param checkInterval O intervalo entre verificações.
+     */
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLag = maxLag;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        check();
+        scheduler.scheduleWithFixedDelay(this::check, checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Indica se a réplica pode atender leituras, segundo a última verificação.
+     *
+     * @return {@code true} se a réplica está acessível e dentro do atraso máximo.
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * Devolve o atraso medido na última verificação.
+     *
+     * @return O atraso, ou {@code null} se desconhecido (réplica inacessível ou replicação parada).
+     */
+    public Duration lag() {
+        return lag;
+    }
+
+    /**
+     * Verifica a réplica imediatamente, sem esperar o próximo agendamento.
+     */
+    public void check() {
+        Duration measured;
+        try (Connection connection = replica.getConnection()) {
+            measured = lagQuery == null
+                    ? (connection.isValid(VALIDATION_TIMEOUT_SECONDS) ? Duration.ZERO : null)
+                    : queryLag(connection);
+        } catch (SQLException ex) {
+            log.debug("Falha ao verificar a réplica", ex);
+            measured = null;
+        }
+        update(measured);
+    }
+
+    /**
+     * Marca a réplica como indisponível até a próxima verificação bem-sucedida,
+     * após uma falha ao obter uma conexão dela.
+     */
+    public void markUnavailable() {
+        update(null);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private Duration queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            long seconds = resultSet.getLong(lagColumn(resultSet));
+            return resultSet.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    }
+
+    private static int lagColumn(ResultSet resultSet) throws SQLException {
+        try {
+            return resultSet.findColumn(MYSQL_LAG_COLUMN);
+        } catch (SQLException ex) {
+            return 1;
+        }
+    }
+
+    private void update(Duration measured) {
+        boolean nowHealthy = measured != null && measured.compareTo(maxLag) <= 0;
+        if (nowHealthy != healthy) {
+            if (nowHealthy) {
+                log.info("Réplica de leitura disponível (atraso {}); leituras voltam para a réplica", measured);
+            } else {
+                log.warn("Réplica de leitura indisponível ou atrasada (atraso {}); leituras vão para o primário", measured);
+            }
+        }
+        lag = measured;
+        healthy = nowHealthy;
+    }
+}
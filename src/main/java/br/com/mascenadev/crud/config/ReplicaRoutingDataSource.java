@@ -0,0 +1,96 @@
+package br.com.mascenadev.crud.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * {@link DataSource} das transações somente leitura: escolhe, a cada conexão, entre a réplica
+ * e o primário.
+ * <p>
+ * Usa a réplica, exceto quando o {@link ReplicaLagMonitor} a considera indisponível ou atrasada,
+ * ou quando a thread atual exige o primário ({@link #requirePrimary()}), como nas requisições
+ * de um cliente que acabou de escrever ({@link ReadYourWritesFilter}). Se a réplica falhar ao
+ * fornecer uma conexão, a leitura vai para o primário e a réplica é marcada como indisponível.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final ReplicaLagMonitor monitor;
+
+    /**
+     * Os destinos possíveis de uma leitura.
+     */
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * Cria o roteador.
+     *
+     * @param primary O {@link DataSource} do primário.
+     * @param replica O {@link DataSource} da réplica.
+     * @param monitor O monitor de atraso da réplica.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Faz as leituras da thread atual irem para o primário, até {@link #releasePrimary()}.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Desfaz {@link #requirePrimary()} na thread atual.
+     */
+    public static void releasePrimary() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Indica se a thread atual exige o primário ({@link #requirePrimary()}).
+     *
+     * @return {@code true} se as leituras da thread vão para o primário.
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isPrimaryRequired() || !monitor.isHealthy() ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            return primary.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException ex) {
+            logger.warn("Falha ao obter conexão da réplica; lendo do primário", ex);
+            monitor.markUnavailable();
+            return primary.getConnection();
+        }
+    }
+}
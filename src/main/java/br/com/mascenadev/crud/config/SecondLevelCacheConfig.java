@@ -0,0 +1,84 @@
+package br.com.mascenadev.crud.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuração do cache de consultas do Hibernate, sobre a infraestrutura do cache de segundo nível (L2).
+ * <p>
+ * As regiões são caches Caffeine expostos via JCache (JSR-107) e criadas aqui, com tamanho
+ * e tempo de vida definidos em {@code todo-api.l2-cache}, que cada perfil pode ajustar:
+ * </p>
+ * <ul>
+ *     <li>a região de resultados de consultas, usada pelas consultas marcadas como cacheáveis
+ *     (a página da listagem, uma projeção que não depende de entidades em cache);</li>
+ *     <li>a região de timestamps das tabelas, que invalida os resultados de consultas a cada
+ *     escrita e por isso não tem limite nem expiração.</li>
+ * </ul>
+ * <p>
+ * A entidade {@code Todo} não tem região própria: os UPDATEs e DELETEs em massa ({@code @Modifying})
+ * não informam ao Hibernate quais IDs foram afetados, e cada um deles esvaziaria a região inteira.
+ * A busca por ID usa o cache {@code todos} ({@link CacheConfig}), atualizado apenas para o ID escrito.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Value("${todo-api.l2-cache.query.maximum-size}")
+    private long queryMaximumSize;
+
+    @Value("${todo-api.l2-cache.query.ttl}")
+    private Duration queryTtl;
+
+    /**
+     * Cria o {@link CacheManager} JCache com as regiões do Hibernate.
+     * Cada contexto Spring recebe um gerenciador próprio, pois o registro de provedores
+     * JCache é global à JVM.
+     *
+     * @return O gerenciador JCache, fechado junto com o contexto.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("todo-api:l2:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queryMaximumSize, queryTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStatisticsEnabled(true));
+        return cacheManager;
+    }
+
+    /**
+     * Entrega ao Hibernate o {@link CacheManager} com as regiões já criadas.
+     *
+     * @param hibernateCacheManager O gerenciador JCache.
+     * @return O customizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                .setStatisticsEnabled(true);
+    }
+}
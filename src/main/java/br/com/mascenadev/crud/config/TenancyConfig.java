@@ -0,0 +1,165 @@
+package br.com.mascenadev.crud.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.MultiTenancySettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuração da separação das tarefas por tenant.
+ * <p>
+ * Por padrão, os tenants compartilham as tabelas, separados pela coluna {@code tenant}
+ * ({@code @TenantId}): o Hibernate a preenche nas inclusões e a acrescenta a toda consulta,
+ * UPDATE e DELETE da entidade, com o tenant lido do {@link TenantContext} por
+ * {@link TenantIdentifierResolver}. O tenant de cada requisição vem do cabeçalho
+ * {@value TenantContext#HEADER} ({@link TenantFilter}; na pilha reativa, {@link TenantWebFilter}).
+ * </p>
+ * <p>
+ * Os tenants grandes podem ser isolados em esquema próprio, listando-os em
+ * {@code todo-api.tenancy.isolated-tenants} ({@link TenantSchemaConnectionProvider}); sem
+ * tenants isolados, o Hibernate usa o {@link DataSource} diretamente, como antes.
+ * </p>
+ * <p>
+ * As cotas por tenant são a taxa de requisições ({@code todo-api.tenancy.rate-limit},
+ * {@link TenantRateLimiter}) e o número de tarefas ({@code todo-api.tenancy.max-rows},
+ * verificado pelo serviço nas inclusões); ambas ficam desabilitadas com 0.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Configuration
+public class TenancyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TenancyConfig.class);
+
+    @Value("${todo-api.tenancy.isolated-tenants:}")
+    private List<String> isolatedTenants;
+
+    /**
+     * Cria o provedor de conexões por esquema, se houver tenants isolados.
+     *
+     * @param dataSource O {@link DataSource} da aplicação.
+     * @return O provedor de conexões.
+     */
+    @Bean
+    @ConditionalOnExpression("!'${todo-api.tenancy.isolated-tenants:}'.isBlank()")
+    public TenantSchemaConnectionProvider tenantSchemaConnectionProvider(DataSource dataSource) {
+        return new TenantSchemaConnectionProvider(dataSource, validIsolatedTenants());
+    }
+
+    /**
+     * Entrega ao Hibernate o provedor de conexões por esquema, se houver tenants isolados.
+     * O resolvedor do tenant ({@link TenantIdentifierResolver}) é configurado em
+     * {@code spring.jpa.properties.hibernate.tenant_identifier_resolver}.
+     *
+     * @param connectionProvider O provedor de conexões por esquema, se houver tenants isolados.
+     * @return O customizador das propriedades do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer tenancyCustomizer(ObjectProvider<TenantSchemaConnectionProvider> connectionProvider) {
+        return properties -> connectionProvider.ifAvailable(provider ->
+                properties.put(MultiTenancySettings.MULTI_TENANT_CONNECTION_PROVIDER, provider));
+    }
+
+    /**
+     * Cria os esquemas dos tenants isolados que ainda não existem, depois de o Hibernate
+     * atualizar o esquema padrão.
+     *
+     * @param entityManagerFactory A fábrica de {@code EntityManager}, da qual vem a exportação das tabelas.
+     * @param connectionProvider   O provedor de conexões por esquema, se houver tenants isolados.
+     * @return O inicializador dos esquemas.
+     */
+    @Bean
+    public InitializingBean tenantSchemaProvisioner(EntityManagerFactory entityManagerFactory,
+                                                    ObjectProvider<TenantSchemaConnectionProvider> connectionProvider) {
+        return () -> {
+            TenantSchemaConnectionProvider provider = connectionProvider.getIfAvailable();
+            if (provider == null) {
+                return;
+            }
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            for (String tenant : validIsolatedTenants()) {
+                try {
+                    if (provider.provision(tenant, () -> sessionFactory.getSchemaManager().exportMappedObjects(false))) {
+                        log.info("Esquema {} do tenant isolado {} criado", TenantSchemaConnectionProvider.schemaOf(tenant), tenant);
+                    }
+                } catch (SQLException ex) {
+                    throw new IllegalStateException("Não foi possível criar o esquema do tenant isolado " + tenant, ex);
+                }
+            }
+        };
+    }
+
+    /**
+     * Registra o {@link TenantFilter} para as rotas de tarefas da pilha Spring MVC.
+     *
+     * @param requestsPerSecond A taxa sustentada de requisições por tenant; 0 para não limitar.
+     * @param burst             O número de requisições que um tenant pode fazer em rajada.
+     * @param exceptionResolver O resolvedor de exceções do Spring MVC.
+     * @return O registro do filtro.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<TenantFilter> tenantFilter(
+            @Value("${todo-api.tenancy.rate-limit.requests-per-second}") double requestsPerSecond,
+            @Value("${todo-api.tenancy.rate-limit.burst}") int burst,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        FilterRegistrationBean<TenantFilter> registration =
+                new FilterRegistrationBean<>(new TenantFilter(rateLimiter(requestsPerSecond, burst), exceptionResolver));
+        registration.addUrlPatterns("/todos", "/todos/*");
+        return registration;
+    }
+
+    /**
+     * Cria o {@link TenantWebFilter} das rotas de tarefas da pilha reativa (perfil {@code reactive}).
+     *
+     * @param requestsPerSecond A taxa sustentada de requisições por tenant; 0 para não limitar.
+     * @param burst             O número de requisições que um tenant pode fazer em rajada.
+     * @param objectMapper      O {@link ObjectMapper} usado para escrever as rejeições.
+     * @return O filtro.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public TenantWebFilter tenantWebFilter(
+            @Value("${todo-api.tenancy.rate-limit.requests-per-second}") double requestsPerSecond,
+            @Value("${todo-api.tenancy.rate-limit.burst}") int burst,
+            ObjectMapper objectMapper) {
+        return new TenantWebFilter(rateLimiter(requestsPerSecond, burst), objectMapper);
+    }
+
+    private static TenantRateLimiter rateLimiter(double requestsPerSecond, int burst) {
+        return requestsPerSecond > 0 ? new TenantRateLimiter(requestsPerSecond, burst) : null;
+    }
+
+    private Set<String> validIsolatedTenants() {
+        Set<String> valid = new LinkedHashSet<>();
+        for (String tenant : isolatedTenants) {
+            String trimmed = tenant.trim();
+            if (!TenantContext.isValid(trimmed)) {
+                throw new IllegalStateException("Tenant isolado inválido em todo-api.tenancy.isolated-tenants: " + tenant);
+            }
+            valid.add(trimmed);
+        }
+        return valid;
+    }
+}
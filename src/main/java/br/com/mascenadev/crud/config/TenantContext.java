@@ -0,0 +1,138 @@
+package br.com.mascenadev.crud.config;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Tenant (time ou cliente dono das tarefas) da thread atual.
+ * <p>
+ * Nas requisições, é definido pelo {@link TenantFilter} a partir do cabeçalho {@value #HEADER};
+ * sem o cabeçalho, e fora de requisições, vale o tenant {@value #DEFAULT_TENANT}, ao qual
+ * pertencem também as tarefas gravadas antes da separação por tenant. O Hibernate lê o tenant
+ * ao abrir cada sessão ({@link TenantIdentifierResolver}) e restringe a ele todas as consultas
+ * e escritas da entidade {@code Todo}.
+ * </p>
+ * <p>
+ * Tarefas de manutenção que percorrem todos os tenants (ex: a reconstrução do índice de busca)
+ * usam o tenant {@value #ROOT}, que não é aceito no cabeçalho e para o qual o Hibernate não
+ * aplica o filtro.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public final class TenantContext {
+
+    /**
+     * Cabeçalho que identifica o tenant da requisição.
+     */
+    public static final String HEADER = "X-Tenant-ID";
+
+    /**
+     * Tenant das requisições sem {@value #HEADER} e das tarefas anteriores à separação por tenant.
+     */
+    public static final String DEFAULT_TENANT = "default";
+
+    /**
+     * Tenant das tarefas de manutenção, que enxerga as tarefas de todos os tenants.
+     */
+    public static final String ROOT = "*";
+
+    private static final Pattern VALID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Obtém o tenant da thread atual.
+     *
+     * @return O tenant, ou {@value #DEFAULT_TENANT} se nenhum foi definido.
+     */
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant == null ? DEFAULT_TENANT : tenant;
+    }
+
+    /**
+     * Executa uma ação como outro tenant, restaurando o anterior ao final.
+     * As sessões do Hibernate já abertas na thread continuam com o tenant com que foram abertas.
+     *
+     * @param tenant O tenant.
+     * @param action A ação.
+     * @param <T>    O tipo do resultado.
+     * @return O resultado da ação.
+     */
+    public static <T> T callAs(String tenant, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Executa uma ação como outro tenant, restaurando o anterior ao final.
+     *
+     * @param tenant O tenant.
+     * @param action A ação.
+     */
+    public static void runAs(String tenant, Runnable action) {
+        callAs(tenant, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Monta a chave de uma tarefa do tenant atual, para caches e índices que reúnem tarefas
+     * de todos os tenants (os IDs só são únicos dentro de um mesmo esquema).
+     *
+     * @param id O ID da tarefa.
+     * @return A chave {@code <tenant>:<id>}.
+     */
+    public static String key(Long id) {
+        return key(current(), id);
+    }
+
+    /**
+     * Monta a chave de uma tarefa de um tenant.
+     *
+     * @param tenant O tenant.
+     * @param id     O ID da tarefa.
+     * @return A chave {@code <tenant>:<id>}.
+     */
+    public static String key(String tenant, Long id) {
+        return tenant + ':' + id;
+    }
+
+    /**
+     * Indica se um valor pode ser usado como tenant: letras minúsculas, dígitos, {@code -} e
+     * {@code _}, com até 64 caracteres.
+     *
+     * @param tenant O valor.
+     * @return {@code true} se o valor for válido.
+     */
+    public static boolean isValid(String tenant) {
+        return tenant != null && VALID.matcher(tenant).matches();
+    }
+
+    static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    private static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
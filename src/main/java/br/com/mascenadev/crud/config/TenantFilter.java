@@ -0,0 +1,71 @@
+package br.com.mascenadev.crud.config;
+
+import br.com.mascenadev.crud.exception.TaxaExcedidaException;
+import br.com.mascenadev.crud.exception.TenantInvalidoException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Define o tenant das requisições a {@code /todos} a partir do cabeçalho {@value TenantContext#HEADER}
+ * e aplica o limite de requisições por tenant.
+ * <p>
+ * Roda antes do Spring MVC, pois o {@code EntityManager} da requisição (open-in-view) é aberto
+ * já com o tenant. Sem o cabeçalho, vale o tenant {@value TenantContext#DEFAULT_TENANT}. Um tenant
+ * inválido ({@link TenantInvalidoException}, 400) ou acima da taxa ({@link TaxaExcedidaException},
+ * 429) é rejeitado pelo {@link HandlerExceptionResolver} do MVC, com o mesmo corpo
+ * {@code application/problem+json} das demais respostas de erro.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final TenantRateLimiter rateLimiter;
+
+    private final HandlerExceptionResolver exceptionResolver;
+
+    /**
+     * Cria o filtro.
+     *
+     * @param rateLimiter       O limitador de requisições, ou {@code null} para não limitar.
+     * @param exceptionResolver O resolvedor que converte as rejeições em respostas de erro.
+     */
+    public TenantFilter(TenantRateLimiter rateLimiter, HandlerExceptionResolver exceptionResolver) {
+        this.rateLimiter = rateLimiter;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String tenant = request.getHeader(TenantContext.HEADER);
+        if (tenant == null || tenant.isEmpty()) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (!TenantContext.isValid(tenant)) {
+            exceptionResolver.resolveException(request, response, null, new TenantInvalidoException(tenant));
+            return;
+        }
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(tenant);
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                exceptionResolver.resolveException(request, response, null, new TaxaExcedidaException(tenant, retryAfter));
+                return;
+            }
+        }
+        TenantContext.set(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.mascenadev.crud.config;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Informa ao Hibernate o tenant de cada sessão, lido do {@link TenantContext} quando a sessão
+ * é aberta. O tenant {@link TenantContext#ROOT} é tratado como raiz: suas sessões enxergam as
+ * tarefas de todos os tenants.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return TenantContext.ROOT.equals(tenantId);
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.mascenadev.crud.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de requisições por tenant, com um balde de fichas (token bucket) para cada um.
+ * <p>
+ * Cada balde comporta até {@code burst} fichas e é reabastecido continuamente a
+ * {@code requestsPerSecond} fichas por segundo; cada requisição consome uma. Assim um tenant
+ * pode fazer rajadas curtas, mas não manter uma taxa acima da configurada, e um tenant pesado
+ * não consome a capacidade dos demais. Os baldes ficam em um cache Caffeine e são descartados
+ * após alguns minutos sem uso (um balde novo começa cheio).
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TenantRateLimiter {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private final double tokensPerNano;
+
+    private final double burst;
+
+    private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(IDLE_EXPIRY)
+            .build();
+
+    /**
+     * Cria o limitador.
+     *
+     * @param requestsPerSecond A taxa sustentada de requisições por tenant.
+     * @param burst             O número de requisições que um tenant pode fazer em rajada.
+     */
+    public TenantRateLimiter(double requestsPerSecond, int burst) {
+        this.tokensPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+    }
+
+    /**
+     * Consome uma ficha do balde do tenant, se houver.
+     *
+     * @param tenant O tenant.
+     * @return 0 se a requisição foi aceita; caso contrário, quantos nanossegundos faltam
+     * até o balde ter uma ficha.
+     */
+    public long tryAcquire(String tenant) {
+        return buckets.get(tenant, key -> new Bucket()).tryAcquire(System.nanoTime());
+    }
+
+    private final class Bucket {
+
+        private double tokens = burst;
+
+        private long refilledAt = System.nanoTime();
+
+        synchronized long tryAcquire(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
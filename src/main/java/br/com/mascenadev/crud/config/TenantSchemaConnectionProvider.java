@@ -0,0 +1,201 @@
+package br.com.mascenadev.crud.config;
+
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Fornece ao Hibernate as conexões de cada tenant, isolando em esquema próprio os tenants de
+ * {@code todo-api.tenancy.isolated-tenants}.
+ * <p>
+ * As conexões vêm do mesmo {@link DataSource} (e pool) da aplicação. Para um tenant isolado,
+ * o esquema da conexão passa a ser {@code tenant_<tenant>} enquanto a sessão a usa (o esquema
+ * padrão é restaurado antes de a conexão voltar ao pool), e as tabelas,
+ * índices e a sequência de IDs desse tenant ficam nesse esquema; os demais tenants compartilham
+ * o esquema padrão, separados pela coluna {@code tenant}. No MySQL, onde esquema e banco são o
+ * mesmo conceito, a troca é feita pelo catálogo da conexão.
+ * </p>
+ * <p>
+ * O esquema de um tenant isolado é criado na inicialização, com as tabelas do modelo, se ainda
+ * não existir ({@link #provision}); alterações posteriores do modelo em esquemas existentes
+ * exigem migração. Com a réplica habilitada, a troca de esquema obtém a conexão antes de a
+ * transação se declarar somente leitura, e as leituras dos tenants isolados ficam no primário.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TenantSchemaConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+    private static final String SCHEMA_PREFIX = "tenant_";
+
+    private static final ThreadLocal<String> PROVISIONING = new ThreadLocal<>();
+
+    private final DataSource dataSource;
+
+    private final Set<String> isolatedTenants;
+
+    private volatile String defaultSchema;
+
+    /**
+     * Cria o provedor.
+     *
+     * @param dataSource      O {@link DataSource} da aplicação.
+     * @param isolatedTenants Os tenants isolados em esquema próprio.
+     */
+    public TenantSchemaConnectionProvider(DataSource dataSource, Set<String> isolatedTenants) {
+        this.dataSource = dataSource;
+        this.isolatedTenants = isolatedTenants;
+    }
+
+    /**
+     * Obtém o nome do esquema de um tenant isolado.
+     *
+     * @param tenant O tenant.
+     * @return O esquema, {@code tenant_<tenant>} com {@code -} trocado por {@code _}.
+     */
+    public static String schemaOf(String tenant) {
+        return SCHEMA_PREFIX + tenant.replace('-', '_');
+    }
+
+    /**
+     * Cria o esquema de um tenant isolado, se ainda não existir, e nele as tabelas do modelo.
+     *
+     * @param tenant O tenant isolado.
+     * @param export A exportação das tabelas do modelo pelo Hibernate, executada com as conexões
+     *               de {@link #getAnyConnection()} apontando para o esquema do tenant.
+     * @return {@code true} se o esquema foi criado; {@code false} se já existia.
+     * @throws SQLException Se o esquema não puder ser verificado ou criado.
+     */
+    public boolean provision(String tenant, Runnable export) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String schema = identifier(connection.getMetaData(), schemaOf(tenant));
+            if (schemaExists(connection.getMetaData(), schema)) {
+                return false;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create schema " + schema);
+            }
+        }
+        PROVISIONING.set(tenant);
+        try {
+            export.run();
+        } finally {
+            PROVISIONING.remove();
+        }
+        return true;
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        String provisioning = PROVISIONING.get();
+        if (provisioning != null) {
+            switchTo(connection, schemaOf(provisioning));
+        }
+        return connection;
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        release(connection, PROVISIONING.get() != null);
+    }
+
+    @Override
+    public Connection getConnection(String tenantIdentifier) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        if (isolatedTenants.contains(tenantIdentifier)) {
+            try {
+                switchTo(connection, schemaOf(tenantIdentifier));
+            } catch (SQLException ex) {
+                connection.close();
+                throw ex;
+            }
+        }
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
+        release(connection, isolatedTenants.contains(tenantIdentifier));
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        return unwrapType.cast(this);
+    }
+
+    /**
+     * Aponta a conexão para o esquema, guardando antes o esquema padrão das conexões do pool.
+     */
+    private void switchTo(Connection connection, String schema) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        boolean schemas = metaData.supportsSchemasInDataManipulation();
+        if (defaultSchema == null) {
+            defaultSchema = schemas ? connection.getSchema() : connection.getCatalog();
+        }
+        if (schemas) {
+            connection.setSchema(identifier(metaData, schema));
+        } else {
+            connection.setCatalog(identifier(metaData, schema));
+        }
+    }
+
+    /**
+     * Devolve a conexão ao pool, antes restaurando o esquema padrão se ela foi trocada de esquema:
+     * o pool (Hikari) só restaura o esquema quando ele está fixado na sua configuração.
+     */
+    private void release(Connection connection, boolean switched) throws SQLException {
+        try {
+            if (switched && defaultSchema != null) {
+                if (connection.getMetaData().supportsSchemasInDataManipulation()) {
+                    connection.setSchema(defaultSchema);
+                } else {
+                    connection.setCatalog(defaultSchema);
+                }
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static boolean schemaExists(DatabaseMetaData metaData, String schema) throws SQLException {
+        try (ResultSet rs = metaData.supportsSchemasInDataManipulation()
+                ? metaData.getSchemas(null, schema)
+                : metaData.getCatalogs()) {
+            while (rs.next()) {
+                if (schema.equals(rs.getString(1))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.mascenadev.crud.config;
+
+import br.com.mascenadev.crud.exception.TaxaExcedidaException;
+import br.com.mascenadev.crud.exception.TenantInvalidoException;
+import br.com.mascenadev.crud.exception.TipoErro;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contraparte reativa do {@link TenantFilter}: define o tenant das requisições a {@code /todos}
+ * a partir do cabeçalho {@value TenantContext#HEADER} e aplica o limite de requisições por tenant.
+ * <p>
+ * Na pilha reativa uma requisição passa por várias threads, e o tenant não pode ficar no
+ * {@link TenantContext}: ele é guardado no atributo {@value #TENANT_ATTRIBUTE} da requisição e
+ * informado explicitamente às leituras e escritas. As rejeições (400 e 429) são escritas aqui,
+ * com o mesmo corpo {@code application/problem+json} das demais respostas de erro.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TenantWebFilter implements WebFilter {
+
+    /**
+     * Atributo da requisição com o tenant.
+     */
+    public static final String TENANT_ATTRIBUTE = "todo-api.tenant";
+
+    private final TenantRateLimiter rateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Cria o filtro.
+     *
+     * @param rateLimiter  O limitador de requisições, ou {@code null} para não limitar.
+     * @param objectMapper O {@link ObjectMapper} usado para escrever as rejeições.
+     */
+    public TenantWebFilter(TenantRateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!path.equals("/todos") && !path.startsWith("/todos/")) {
+            return chain.filter(exchange);
+        }
+        String tenant = exchange.getRequest().getHeaders().getFirst(TenantContext.HEADER);
+        if (tenant == null || tenant.isEmpty()) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (!TenantContext.isValid(tenant)) {
+            TenantInvalidoException ex = new TenantInvalidoException(tenant);
+            return reject(exchange, TipoErro.TENANT_INVALIDO.problem(ex.getMessage()));
+        }
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(tenant);
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                TaxaExcedidaException ex = new TaxaExcedidaException(tenant, retryAfter);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                return reject(exchange, TipoErro.TAXA_EXCEDIDA.problem(ex.getMessage()));
+            }
+        }
+        exchange.getAttributes().put(TENANT_ATTRIBUTE, tenant);
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, ProblemDetail problem) {
+        problem.setInstance(URI.create(exchange.getRequest().getPath().value()));
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(problem);
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(problem.getStatus()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.mascenadev.crud.config;
+
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * Dialeto H2 que escreve o {@code ORDER BY} com as próprias colunas, e não com a posição delas
+ * no {@code SELECT}: o H2 não casa referências por posição ({@code order by 5 desc, 2, 1}) com as
+ * colunas de um índice, e a listagem deixaria de ser lida já ordenada de
+ * {@code idx_todos_tenant_listagem}.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TodoH2Dialect extends H2Dialect {
+
+    @Override
+    public boolean supportsOrdinalSelectItemReference() {
+        return false;
+    }
+}
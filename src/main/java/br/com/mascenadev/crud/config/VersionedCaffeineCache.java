@@ -0,0 +1,72 @@
+package br.com.mascenadev.crud.config;
+
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Cache Caffeine de tarefas que não deixa uma leitura atrasada sobrescrever uma escrita mais nova.
+ * <p>
+ * Um {@code @Cacheable} grava o que leu depois do fim da própria transação; se uma atualização foi
+ * confirmada nesse meio tempo, a gravação da leitura chegaria depois da dela e deixaria a versão
+ * antiga no cache até o tempo de vida expirar. Aqui, cada gravação é um {@code merge} atômico no
+ * mapa do Caffeine que mantém a tarefa de maior {@code versao}. As remoções ficam registradas
+ * (os IDs não são reutilizados) pelo mesmo tempo de vida das entradas, e uma gravação de tarefa
+ * removida é ignorada.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+class VersionedCaffeineCache extends CaffeineCache {
+
+    private final Cache<Object, Boolean> removidas;
+
+    /**
+     * Cria o cache.
+     *
+     * @param name      O nome do cache.
+     * @param cache     O cache Caffeine das tarefas.
+     * @param removidas O cache Caffeine das chaves removidas.
+     */
+    VersionedCaffeineCache(String name, Cache<Object, Object> cache, Cache<Object, Boolean> removidas) {
+        super(name, cache, false);
+        this.removidas = removidas;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (removidas.getIfPresent(key) != null) {
+            return;
+        }
+        getNativeCache().asMap().merge(key, toStoreValue(value), (atual, nova) -> newer(nova, atual) ? nova : atual);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (removidas.getIfPresent(key) != null) {
+            return null;
+        }
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        removidas.put(key, Boolean.TRUE);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        removidas.put(key, Boolean.TRUE);
+        return super.evictIfPresent(key);
+    }
+
+    private static boolean newer(Object nova, Object atual) {
+        if (nova instanceof TodoResponseDTO novaTarefa && atual instanceof TodoResponseDTO tarefaAtual
+            && novaTarefa.getVersao() != null && tarefaAtual.getVersao() != null) {
+            return novaTarefa.getVersao() >= tarefaAtual.getVersao();
+        }
+        return true;
+    }
+}
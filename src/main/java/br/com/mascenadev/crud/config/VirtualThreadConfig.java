@@ -0,0 +1,82 @@
+package br.com.mascenadev.crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuração do modo de execução com threads virtuais.
+ * <p>
+ * Só é ativada quando {@code spring.threads.virtual.enabled=true} em Java 21+ (perfil Spring
+ * {@code virtual}, compilado com o perfil Maven {@code virtual-threads}). Nesse modo o Tomcat
+ * atende cada requisição em uma thread virtual, e a concorrência no banco passa a ser limitada
+ * por um semáforo na frente do pool ({@link ConcurrencyLimitingDataSource}), dimensionado por
+ * {@code todo-api.database.max-concurrency}, e não mais pelo número de threads.
+ * </p>
+ * <p>
+ * Só os pools Hikari são envolvidos. Com a réplica habilitada ({@link ReplicaDataSourceConfig}),
+ * o primário e a réplica têm cada um o seu semáforo, e o {@code DataSource} que roteia entre eles
+ * não recebe outro: cada conexão consome uma única permissão, do pool de onde vem.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Envolve cada pool Hikari com o limite de concorrência.
+     *
+     * @param environment O ambiente, de onde são lidos o limite e o tempo de espera.
+     * @return O {@link BeanPostProcessor} que aplica o limite.
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int maxConcurrency = environment.getRequiredProperty("todo-api.database.max-concurrency", Integer.class);
+                    Duration acquireTimeout = environment.getRequiredProperty("todo-api.database.acquire-timeout", Duration.class);
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Expõe a saturação do limite de concorrência de cada pool: permissões livres e requisições
+     * aguardando, com o nome do bean do pool na tag {@code pool}.
+     *
+     * @param dataSources Os {@link DataSource}s da aplicação, por nome do bean.
+     * @return O {@link MeterBinder} que registra os medidores.
+     */
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((name, dataSource) -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+                Gauge.builder("todo.database.permits.available", limited, ConcurrencyLimitingDataSource::availablePermits)
+                        .description("Permissões livres no limite de concorrência do banco")
+                        .tag("pool", name)
+                        .register(registry);
+                Gauge.builder("todo.database.permits.waiting", limited, ConcurrencyLimitingDataSource::queueLength)
+                        .description("Requisições aguardando uma permissão do banco")
+                        .tag("pool", name)
+                        .register(registry);
+            }
+        });
+    }
+}
@@ -1,13 +1,20 @@
 package br.com.mascenadev.crud.config;
 
+import br.com.mascenadev.crud.controller.TodoController;
 import org.springframework.context.annotation.Configuration;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Configuração web global para a aplicação.
  * Esta classe implementa {@link WebMvcConfigurer} para customizar a configuração padrão do Spring MVC,
- * especificamente para configurar o CORS (Compartilhamento de Recursos de Origem Cruzada).
+ * especificamente para configurar o CORS (Compartilhamento de Recursos de Origem Cruzada)
+ * e sinalizar a negociação de formato ({@link BinaryFormatConfig}) aos caches HTTP.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -25,6 +32,25 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:4200")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(TodoController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG)
                 .allowCredentials(true);
     }
-}
\ No newline at end of file
+
+    /**
+     * Adiciona {@code Vary: Accept} às respostas de {@code /todos/**}, que podem ser JSON, Smile
+     * ou CBOR conforme o cabeçalho {@code Accept}, para que caches intermediários guardem uma
+     * cópia por formato.
+     *
+     * @param registry O {@link InterceptorRegistry} ao qual o interceptador é adicionado.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/todos/**");
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.mascenadev.crud.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilitário para converter versões de tarefas em ETags e interpretar
+ * o cabeçalho {@code If-Match} das requisições condicionais.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Gera o ETag forte de uma tarefa a partir da sua versão.
+     *
+     * @param versao A versão da tarefa.
+     * @return O ETag, já entre aspas.
+     */
+    static String of(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * Gera o ETag fraco de uma representação da coleção.
+     * <p>
+     * É fraco porque a mesma página pode ser entregue em JSON, Smile ou CBOR, comprimida ou não,
+     * e o Tomcat não comprime respostas com ETag forte. O {@code If-None-Match} usa a comparação
+     * fraca e continua casando; o {@code If-Match} só é usado com tarefas individuais.
+     * </p>
+     *
+     * @param watermark A marca d'água da coleção.
+     * @param variante  O que distingue esta representação das demais (ex: cursor e tamanho da página).
+     * @return O ETag, já com o prefixo {@code W/} e entre aspas.
+     */
+    static String ofCollection(String watermark, String variante) {
+        return "W/\"" + watermark + '-' + Integer.toHexString(variante.hashCode()) + "\"";
+    }
+
+    /**
+     * Interpreta o cabeçalho {@code If-Match} como uma lista de versões esperadas.
+     * ETags fracos e valores que não são versões nunca casam (comparação forte),
+     * conforme a RFC 9110.
+     *
+     * @param ifMatch O valor do cabeçalho, possivelmente {@code null}.
+     * @return {@code null} se o cabeçalho estiver ausente ou for {@code *} (escrita incondicional),
+     * ou as versões esperadas, possivelmente vazia se nenhum ETag for válido.
+     */
+    static List<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versoes = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.length() > 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+                try {
+                    versoes.add(Long.valueOf(trimmed.substring(1, trimmed.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // ETag que não corresponde a nenhuma versão: nunca casa
+                }
+            }
+        }
+        return versoes;
+    }
+}
@@ -0,0 +1,325 @@
+package br.com.mascenadev.crud.controller;
+
+import br.com.mascenadev.crud.config.TenantWebFilter;
+import br.com.mascenadev.crud.dtos.TodoBatchResultDTO;
+import br.com.mascenadev.crud.dtos.TodoBatchUpdateDTO;
+import br.com.mascenadev.crud.dtos.TodoChangesDTO;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoPageDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.dtos.TodoStatsDTO;
+import br.com.mascenadev.crud.exception.FiltroInvalidoException;
+import br.com.mascenadev.crud.service.TodoReactiveService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Controlador REST da pilha reativa (perfil {@code reactive}), com o mesmo contrato de
+ * {@code /todos} do {@link TodoController}: rotas, parâmetros, cabeçalhos (ETag,
+ * {@code If-None-Match}, {@code If-Match}, {@value TodoController#NEXT_CURSOR_HEADER}) e
+ * respostas de erro.
+ * <p>
+ * Os handlers devolvem {@link Mono} e {@link Flux} que o WebFlux assina no event loop, e o tenant
+ * vem do atributo da requisição definido pelo {@link TenantWebFilter}. As leituras e as escritas
+ * individuais de {@code /todos} não bloqueiam (R2DBC); lotes, {@code /changes}, {@code /stats} e
+ * {@code /search} chamam serviços bloqueantes (JPA e Lucene), executados no
+ * {@code boundedElastic} pelo {@link TodoReactiveService}. Na listagem em streaming
+ * ({@code GET /todos?stream=true}), as tarefas são escritas como array JSON ou, com
+ * {@code Accept: application/x-ndjson}, uma por linha, e lidas do banco conforme o cliente
+ * consome a resposta (backpressure).
+ * </p>
+ * <p>
+ * Ficam apenas na pilha MVC o acompanhamento por Server-Sent Events ({@code GET /todos/stream})
+ * e a criação assíncrona ({@code Prefer: respond-async}, ignorada aqui como na pilha MVC com a
+ * ingestão desabilitada).
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @see TodoReactiveService
+ * @since 1.1.0
+ */
+@RestController
+@RequestMapping("/todos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTodoController {
+
+    private final TodoReactiveService todoReactiveService;
+
+    @Value("${todo-api.pagination.default-size}")
+    private int defaultPageSize;
+
+    @Value("${todo-api.pagination.max-size}")
+    private int maxPageSize;
+
+    /**
+     * Construtor para injeção de dependência do serviço reativo de Todo.
+     *
+     * @param todoReactiveService O serviço reativo de Todo.
+     */
+    public ReactiveTodoController(TodoReactiveService todoReactiveService) {
+        this.todoReactiveService = todoReactiveService;
+    }
+
+    /**
+     * Cria uma nova tarefa, como {@link TodoController#create(TodoRequestDTO)}.
+     *
+     * @param tenant     O tenant da requisição.
+     * @param requestDTO DTO contendo os dados da nova tarefa a ser criada.
+     * @return Status 201 (Created), com o cabeçalho 'Location', o ETag e a tarefa criada.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<TodoResponseDTO>> create(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                        @RequestBody @Valid TodoRequestDTO requestDTO) {
+        return todoReactiveService.create(tenant, requestDTO)
+                .map(created -> ResponseEntity.created(URI.create("/todos/" + created.getId()))
+                        .eTag(ETags.of(created.getVersao()))
+                        .body(created));
+    }
+
+    /**
+     * Lista as tarefas paginadas por cursor, como no {@link TodoController}.
+     * O ETag da página é derivado da marca d'água da coleção, lida antes da página; se ele casar
+     * com o {@code If-None-Match}, a página não é lida.
+     *
+     * @param tenant        O tenant da requisição.
+     * @param cursor        O cursor recebido na página anterior; ausente para a primeira página.
+     * @param size          O tamanho da página; se ausente, usa {@code todo-api.pagination.default-size}.
+     * @param realizado     Filtra pelo status de realização, se informado.
+     * @param prioridadeMin A prioridade mínima, inclusive, se informada.
+     * @param prioridadeMax A prioridade máxima, inclusive, se informada.
+     * @param titulo        O prefixo do título, se informado.
+     * @param fields        Os campos a incluir em cada tarefa, separados por vírgula; se ausente, todos.
+     * @param exchange      A requisição, usada para avaliar o {@code If-None-Match}.
+     * @return Status 200 (OK) com as tarefas da página, ou 304 (Not Modified) sem corpo.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<TodoResponseDTO>>> list(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size,
+                                                            @RequestParam(required = false) Boolean realizado,
+                                                            @RequestParam(required = false) Integer prioridadeMin,
+                                                            @RequestParam(required = false) Integer prioridadeMax,
+                                                            @RequestParam(required = false) String titulo,
+                                                            @RequestParam(required = false) String fields,
+                                                            ServerWebExchange exchange) {
+        int pageSize = pageSize(size);
+        TodoFilter filtro = new TodoFilter(realizado, prioridadeMin, prioridadeMax, titulo);
+        Set<TodoField> campos = TodoField.parse(fields);
+        return todoReactiveService.watermark(tenant).flatMap(watermark -> {
+            String etag = ETags.ofCollection(watermark.token(), cursor + "|" + pageSize + "|" + filtro + "|" + campos);
+            if (exchange.checkNotModified(etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<List<TodoResponseDTO>>build());
+            }
+            return todoReactiveService.listPage(tenant, cursor, pageSize, filtro, campos).map(page -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+                if (page.hasNext()) {
+                    response.header(TodoController.NEXT_CURSOR_HEADER, page.nextCursor());
+                }
+                return response.body(page.content());
+            });
+        });
+    }
+
+    /**
+     * Lista todas as tarefas em streaming ({@code GET /todos?stream=true}), como array JSON ou
+     * NDJSON ({@code Accept: application/x-ndjson}). Cada tarefa é lida do banco conforme o
+     * cliente consome a resposta; responde 304 quando o {@code If-None-Match} casa com a marca
+     * d'água da coleção.
+     *
+     * @param tenant   O tenant da requisição.
+     * @param exchange A requisição, usada para avaliar o {@code If-None-Match}.
+     * @return Status 200 (OK) com as tarefas em streaming, ou 304 (Not Modified) sem corpo.
+     */
+    @GetMapping(params = "stream=true", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<TodoResponseDTO>>> streamAll(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                                 ServerWebExchange exchange) {
+        return todoReactiveService.watermark(tenant).map(watermark -> {
+            String etag = ETags.ofCollection(watermark.token(), "stream");
+            if (exchange.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(todoReactiveService.streamAll(tenant));
+        });
+    }
+
+    /**
+     * Sincroniza um cliente incrementalmente ({@code GET /todos/changes?since=}), como
+     * {@link TodoController#changesSince(long, Integer)}.
+     *
+     * @param tenant O tenant da requisição.
+     * @param since  A marca d'água da última sincronização; se ausente, 0.
+     * @param size   O número máximo de alterações; se ausente, usa {@code todo-api.pagination.default-size}.
+     * @return Status 200 (OK) com o {@link TodoChangesDTO}.
+     */
+    @GetMapping("/changes")
+    public Mono<ResponseEntity<TodoChangesDTO>> changesSince(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                             @RequestParam(defaultValue = "0") long since,
+                                                             @RequestParam(required = false) Integer size) {
+        return todoReactiveService.changesSince(tenant, Math.max(0, since), pageSize(size)).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Obtém as estatísticas das tarefas ({@code GET /todos/stats}), como {@link TodoController#stats()}.
+     *
+     * @param tenant O tenant da requisição.
+     * @return Status 200 (OK) com o {@link TodoStatsDTO}.
+     */
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<TodoStatsDTO>> stats(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant) {
+        return todoReactiveService.stats(tenant).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Busca tarefas por palavras-chave ({@code GET /todos/search?q=}), como
+     * {@link TodoController#search(String, String, Integer)}.
+     *
+     * @param tenant O tenant da requisição.
+     * @param q      O texto da busca.
+     * @param cursor O cursor recebido na página anterior; ausente para a primeira página.
+     * @param size   O tamanho da página; se ausente, usa {@code todo-api.pagination.default-size}.
+     * @return Status 200 (OK) com as tarefas por relevância.
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<TodoResponseDTO>>> search(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                              @RequestParam(required = false) String q,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        if (q == null || q.isBlank()) {
+            return Mono.error(new FiltroInvalidoException("O parâmetro q é obrigatório"));
+        }
+        return todoReactiveService.search(tenant, q, cursor, pageSize(size)).map(this::pageResponse);
+    }
+
+    /**
+     * Atualiza uma tarefa, como {@link TodoController#update(Long, TodoRequestDTO, String)}.
+     *
+     * @param tenant     O tenant da requisição.
+     * @param id         O identificador único da tarefa a ser atualizada.
+     * @param requestDTO DTO contendo os dados atualizados da tarefa.
+     * @param ifMatch    O cabeçalho {@code If-Match} opcional, com o ETag da versão esperada.
+     * @return Status 200 (OK) com o ETag e a tarefa atualizada.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TodoResponseDTO>> update(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                        @PathVariable Long id, @RequestBody @Valid TodoRequestDTO requestDTO,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return todoReactiveService.update(tenant, id, requestDTO, ETags.parseIfMatch(ifMatch))
+                .map(updated -> ResponseEntity.ok().eTag(ETags.of(updated.getVersao())).body(updated));
+    }
+
+    /**
+     * Busca uma tarefa pelo seu identificador único, como {@link TodoController}.
+     *
+     * @param tenant   O tenant da requisição.
+     * @param id       O identificador único da tarefa a ser buscada.
+     * @param exchange A requisição, usada para avaliar o {@code If-None-Match}.
+     * @return Status 200 (OK) com o ETag e a tarefa, ou 304 (Not Modified) sem corpo.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TodoResponseDTO>> findById(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                          @PathVariable Long id, ServerWebExchange exchange) {
+        return todoReactiveService.findById(tenant, id).map(found -> {
+            String etag = ETags.of(found.getVersao());
+            if (exchange.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(found);
+        });
+    }
+
+    /**
+     * Deleta uma tarefa, como {@link TodoController#delete(Long, String)}.
+     *
+     * @param tenant  O tenant da requisição.
+     * @param id      O identificador único da tarefa a ser deletada.
+     * @param ifMatch O cabeçalho {@code If-Match} opcional, com o ETag da versão esperada.
+     * @return Status 204 (No Content).
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                             @PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return todoReactiveService.delete(tenant, id, ETags.parseIfMatch(ifMatch))
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Cria várias tarefas em uma única requisição, como {@link TodoController#createBatch(List)}.
+     *
+     * @param tenant   O tenant da requisição.
+     * @param requests Lista de DTOs com os dados das novas tarefas.
+     * @return Status 207 (Multi-Status) com o resultado de cada item.
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<TodoBatchResultDTO>>> createBatch(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                                      @RequestBody List<TodoRequestDTO> requests) {
+        return todoReactiveService.createBatch(tenant, requests).map(ReactiveTodoController::multiStatus);
+    }
+
+    /**
+     * Atualiza várias tarefas em uma única requisição, como {@link TodoController#updateBatch(List)}.
+     *
+     * @param tenant   O tenant da requisição.
+     * @param requests Lista de DTOs com os IDs e os dados atualizados das tarefas.
+     * @return Status 207 (Multi-Status) com o resultado de cada item.
+     */
+    @PutMapping("/batch")
+    public Mono<ResponseEntity<List<TodoBatchResultDTO>>> updateBatch(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                                      @RequestBody List<TodoBatchUpdateDTO> requests) {
+        return todoReactiveService.updateBatch(tenant, requests).map(ReactiveTodoController::multiStatus);
+    }
+
+    /**
+     * Deleta várias tarefas em uma única requisição, como {@link TodoController#deleteBatch(List)}.
+     *
+     * @param tenant O tenant da requisição.
+     * @param ids    Lista de IDs das tarefas a serem deletadas.
+     * @return Status 207 (Multi-Status) com o resultado de cada item.
+     */
+    @DeleteMapping("/batch")
+    public Mono<ResponseEntity<List<TodoBatchResultDTO>>> deleteBatch(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenant,
+                                                                      @RequestBody List<Long> ids) {
+        return todoReactiveService.deleteBatch(tenant, ids).map(ReactiveTodoController::multiStatus);
+    }
+
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private ResponseEntity<List<TodoResponseDTO>> pageResponse(TodoPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(TodoController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+
+    private static ResponseEntity<List<TodoBatchResultDTO>> multiStatus(List<TodoBatchResultDTO> results) {
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(results);
+    }
+}
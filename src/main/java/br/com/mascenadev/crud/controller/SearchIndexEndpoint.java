@@ -0,0 +1,57 @@
+package br.com.mascenadev.crud.controller;
+
+import br.com.mascenadev.crud.service.TodoSearchService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint do Actuator para administrar o índice de busca textual
+ * ({@code /actuator/searchindex}).
+ * <p>
+ * {@code GET} informa quantas tarefas estão indexadas; {@code POST} reconstrói o índice
+ * a partir do banco, para quando ele for perdido ou ficar inconsistente.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @see TodoSearchService
+ * @since 1.1.0
+ */
+@Component
+@Endpoint(id = "searchindex")
+public class SearchIndexEndpoint {
+
+    private final TodoSearchService todoSearchService;
+
+    /**
+     * Construtor para injeção de dependência do serviço de busca.
+     *
+     * @param todoSearchService O serviço de busca textual.
+     */
+    public SearchIndexEndpoint(TodoSearchService todoSearchService) {
+        this.todoSearchService = todoSearchService;
+    }
+
+    /**
+     * Informa o estado do índice.
+     *
+     * @return O número de tarefas indexadas.
+     */
+    @ReadOperation
+    public Map<String, Object> info() {
+        return Map.of("indexed", todoSearchService.indexedCount());
+    }
+
+    /**
+     * Reconstrói o índice a partir de todas as tarefas do banco.
+     *
+     * @return O número de tarefas indexadas.
+     */
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        return Map.of("indexed", todoSearchService.rebuild());
+    }
+}
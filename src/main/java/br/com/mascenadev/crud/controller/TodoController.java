@@ -1,9 +1,36 @@
 package br.com.mascenadev.crud.controller;
 
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoBatchResultDTO;
+import br.com.mascenadev.crud.dtos.TodoBatchUpdateDTO;
+import br.com.mascenadev.crud.dtos.TodoChangesDTO;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoImportProgressDTO;
+import br.com.mascenadev.crud.dtos.TodoIngestStatusDTO;
+import br.com.mascenadev.crud.dtos.TodoPageDTO;
 import br.com.mascenadev.crud.dtos.TodoRequestDTO;
 import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.dtos.TodoStatsDTO;
+import br.com.mascenadev.crud.dtos.TodoWatermark;
+import br.com.mascenadev.crud.exception.FiltroInvalidoException;
+import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import br.com.mascenadev.crud.service.TodoIngestService;
+import br.com.mascenadev.crud.service.TodoMirror;
+import br.com.mascenadev.crud.service.TodoSearchService;
 import br.com.mascenadev.crud.service.TodoService;
+import br.com.mascenadev.crud.service.TodoStatsService;
+import br.com.mascenadev.crud.service.TodoTransferService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +38,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * **Controlador REST para gerenciar operações relacionadas a Tarefas (Todos).**
@@ -30,6 +67,23 @@ import java.util.List;
  * para a camada de serviço ({@link TodoService}), mantendo-se focado em tarefas
  * de roteamento HTTP e conversão de dados.
  * </p>
+ * <p>
+ * As respostas carregam ETags fortes derivados da versão de cada tarefa (ou da marca d'água
+ * da coleção, na listagem). Leituras com {@code If-None-Match} recebem 304 Not Modified sem
+ * corpo quando nada mudou, e escritas com {@code If-Match} recebem 412 Precondition Failed
+ * quando a tarefa foi modificada por outra requisição.
+ * </p>
+ * <p>
+ * Todas as operações se restringem às tarefas do tenant informado no cabeçalho
+ * {@value br.com.mascenadev.crud.config.TenantContext#HEADER} ({@code default}, se ausente).
+ * </p>
+ * <p>
+ * Com {@code todo-api.mirror.enabled}, a listagem, o streaming e a busca por ID são atendidos pelo
+ * {@link TodoMirror}, em memória, assim que ele termina a carga inicial.
+ * </p>
+ * <p>
+ * Com o perfil {@code reactive}, o mesmo contrato é atendido pelo {@link ReactiveTodoController}.
+ * </p>
  *
  * @author Gilberto Dev
  * @see br.com.mascenadev.crud.service.TodoService
@@ -41,18 +95,68 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/todos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TodoController {
 
+    /**
+     * Cabeçalho de resposta que carrega o cursor opaco da próxima página da listagem.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Valor do cabeçalho {@code Prefer} (RFC 7240) que solicita a criação assíncrona.
+     */
+    public static final String RESPOND_ASYNC = "respond-async";
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TodoTransferService.TEXT_CSV_VALUE);
+
     private final TodoService todoService;
 
+    private final TodoSearchService todoSearchService;
+
+    private final TodoStatsService todoStatsService;
+
+    private final TodoTransferService todoTransferService;
+
+    private final TodoIngestService todoIngestService;
+
+    private final TodoEventStreamer todoEventStreamer;
+
+    private final TodoMirror todoMirror;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${todo-api.pagination.default-size}")
+    private int defaultPageSize;
+
+    @Value("${todo-api.pagination.max-size}")
+    private int maxPageSize;
+
     /**
      * Construtor para injeção de dependência do serviço de Todo.
      * O Spring injeta automaticamente uma instância de {@link TodoService}.
      *
-     * @param todoService O serviço de Todo responsável pela lógica de negócio.
+     * @param todoService         O serviço de Todo responsável pela lógica de negócio.
+     * @param todoSearchService   O serviço de busca textual.
+     * @param todoStatsService    O serviço das estatísticas de {@code GET /todos/stats}.
+     * @param todoTransferService O serviço de importação e exportação em NDJSON e CSV.
+     * @param todoIngestService   O serviço de ingestão assíncrona, presente se {@code todo-api.ingest.enabled}.
+     * @param todoEventStreamer   O distribuidor das alterações em {@code GET /todos/stream}.
+     * @param todoMirror          O modelo de leitura em memória, presente se {@code todo-api.mirror.enabled}.
+     * @param objectMapper        O {@link ObjectMapper} usado para serializar a listagem em streaming.
      */
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, TodoSearchService todoSearchService, TodoStatsService todoStatsService,
+                          TodoTransferService todoTransferService, ObjectProvider<TodoIngestService> todoIngestService,
+                          TodoEventStreamer todoEventStreamer, ObjectProvider<TodoMirror> todoMirror,
+                          ObjectMapper objectMapper) {
         this.todoService = todoService;
+        this.todoSearchService = todoSearchService;
+        this.todoStatsService = todoStatsService;
+        this.todoTransferService = todoTransferService;
+        this.todoIngestService = todoIngestService.getIfAvailable();
+        this.todoEventStreamer = todoEventStreamer;
+        this.todoMirror = todoMirror.getIfAvailable();
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -74,22 +178,319 @@ public class TodoController {
     public ResponseEntity<TodoResponseDTO> create(@RequestBody @Valid TodoRequestDTO requestDTO) {
         TodoResponseDTO createdTodo = todoService.create(requestDTO);
         URI location = URI.create("/todos/" + createdTodo.getId());
-        return ResponseEntity.created(location).body(createdTodo);
+        return ResponseEntity.created(location).eTag(ETags.of(createdTodo.getVersao())).body(createdTodo);
     }
 
     /**
-     * Lista todas as tarefas existentes no sistema.
+     * Aceita uma nova tarefa para criação assíncrona ({@code Prefer: respond-async}).
+     * <p>
+     * Com {@code todo-api.ingest.enabled}, a tarefa é validada, recebe um ID e é registrada no
+     * journal da ingestão; a resposta 202 Accepted traz no cabeçalho 'Location' o URI de
+     * acompanhamento ({@code /todos/ingest/{id}}). Com a ingestão desabilitada, a preferência
+     * é ignorada e a tarefa é criada como em {@link #create(TodoRequestDTO)}.
+     * </p>
+     *
+     * @param requestDTO DTO contendo os dados da nova tarefa a ser criada.
+     * @return {@link ResponseEntity} com status 202 (Accepted) e a situação {@code PENDING} da tarefa,
+     * ou 201 (Created) se a ingestão estiver desabilitada.
+     * Em caso de falha de validação, um 400 Bad Request.
+     * Com a fila de ingestão cheia, um 429 Too Many Requests.
+     */
+    @PostMapping(headers = "Prefer=" + RESPOND_ASYNC)
+    public ResponseEntity<?> createAsync(@RequestBody @Valid TodoRequestDTO requestDTO) {
+        if (todoIngestService == null) {
+            return create(requestDTO);
+        }
+        Long id = todoIngestService.submit(requestDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/todos/ingest/" + id))
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(TodoIngestStatusDTO.pending(id));
+    }
+
+    /**
+     * Consulta a situação de uma tarefa enviada para criação assíncrona.
+     * <p>
+     * Enquanto a tarefa aguarda gravação (ou se a gravação falhou), retorna 200 OK com a situação.
+     * Depois de gravada, retorna 303 See Other apontando para {@code /todos/{id}}.
+     * </p>
+     *
+     * @param id O ID devolvido na criação assíncrona.
+     * @return {@link ResponseEntity} com status 200 (OK) e a situação da tarefa, ou 303 (See Other).
+     * Em caso de ID desconhecido ou ingestão desabilitada, um 404 Not Found.
+     */
+    @GetMapping("/ingest/{id}")
+    public ResponseEntity<TodoIngestStatusDTO> ingestStatus(@PathVariable Long id) {
+        if (todoIngestService == null) {
+            throw new TodoNaoEncontradoException(id);
+        }
+        TodoIngestStatusDTO status = todoIngestService.status(id);
+        if (status.status() == TodoIngestStatusDTO.Status.PERSISTED) {
+            return ResponseEntity.status(HttpStatus.SEE_OTHER).location(URI.create("/todos/" + id)).body(status);
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Lista as tarefas existentes no sistema, paginadas por cursor.
      * <p>
      * Delega a busca ao {@link TodoService} e retorna uma lista de
-     * {@link TodoResponseDTO}s com o status HTTP 200 OK.
+     * {@link TodoResponseDTO}s com o status HTTP 200 OK. Quando existe uma próxima
+     * página, o cursor para buscá-la é enviado no cabeçalho {@value #NEXT_CURSOR_HEADER}.
+     * O tamanho da página é limitado por {@code todo-api.pagination.max-size}.
+     * </p>
+     * <p>
+     * Os filtros são aplicados no banco, e {@code fields} (ex: {@code fields=id,titulo,prioridade})
+     * limita as colunas lidas e os campos do JSON. O cursor deve ser reenviado com os mesmos filtros.
+     * </p>
+     * <p>
+     * O ETag da página é derivado da marca d'água da coleção, lida antes da página;
+     * se ele casar com o {@code If-None-Match}, a página não é lida nem serializada.
      * </p>
      *
-     * @return {@link ResponseEntity} com status 200 (OK) e uma {@link List} de {@link TodoResponseDTO}s.
+     * @param cursor        O cursor recebido na página anterior; ausente para a primeira página.
+     * @param size          O tamanho da página; se ausente, usa {@code todo-api.pagination.default-size}.
+     * @param realizado     Filtra pelo status de realização, se informado.
+     * @param prioridadeMin A prioridade mínima, inclusive, se informada.
+     * @param prioridadeMax A prioridade máxima, inclusive, se informada.
+     * @param titulo        O prefixo do título, se informado.
+     * @param fields        Os campos a incluir em cada tarefa, separados por vírgula; se ausente, todos.
+     * @param request       A requisição, usada para avaliar o {@code If-None-Match}.
+     * @return {@link ResponseEntity} com status 200 (OK) e uma {@link List} de {@link TodoResponseDTO}s,
+     * ou 304 (Not Modified) sem corpo.
+     * Em caso de cursor, filtro ou campo inválido, {@link br.com.mascenadev.crud.exception.GlobalExceptionHandler}
+     * irá interceptar e retornar um 400 Bad Request.
      */
     @GetMapping
-    public ResponseEntity<List<TodoResponseDTO>> list() {
-        List<TodoResponseDTO> allTodo = todoService.listAll();
-        return ResponseEntity.ok(allTodo);
+    public ResponseEntity<List<TodoResponseDTO>> list(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size,
+                                                      @RequestParam(required = false) Boolean realizado,
+                                                      @RequestParam(required = false) Integer prioridadeMin,
+                                                      @RequestParam(required = false) Integer prioridadeMax,
+                                                      @RequestParam(required = false) String titulo,
+                                                      @RequestParam(required = false) String fields,
+                                                      WebRequest request) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        TodoFilter filtro = new TodoFilter(realizado, prioridadeMin, prioridadeMax, titulo);
+        Set<TodoField> campos = TodoField.parse(fields);
+        TodoMirror mirror = mirror();
+        TodoWatermark watermark = mirror != null ? mirror.watermark() : todoService.watermark();
+        String etag = ETags.ofCollection(watermark.token(), cursor + "|" + pageSize + "|" + filtro + "|" + campos);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        TodoPageDTO page = mirror != null
+                ? mirror.listPage(cursor, pageSize, filtro, campos)
+                : todoService.listPage(cursor, pageSize, filtro, campos);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+
+    /**
+     * Lista todas as tarefas em streaming ({@code GET /todos?stream=true}).
+     * <p>
+     * Cada tarefa é escrita como um elemento do array JSON assim que é lida do banco,
+     * de modo que o uso de memória não cresce com o tamanho da tabela.
+     * Assim como na listagem paginada, responde 304 quando o {@code If-None-Match} casa
+     * com a marca d'água da coleção.
+     * </p>
+     * <p>
+     * O corpo é escrito em outra thread, que recebe o tenant da requisição.
+     * </p>
+     *
+     * @param request A requisição, usada para avaliar o {@code If-None-Match}.
+     * @return {@link ResponseEntity} com status 200 (OK) e o corpo escrito em streaming,
+     * ou 304 (Not Modified) sem corpo.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAll(WebRequest request) {
+        TodoMirror mirror = mirror();
+        TodoWatermark watermark = mirror != null ? mirror.watermark() : todoService.watermark();
+        String etag = ETags.ofCollection(watermark.token(), "stream");
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        String tenant = TenantContext.current();
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                Consumer<TodoResponseDTO> writer = todo -> {
+                    try {
+                        generator.writeObject(todo);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                };
+                TenantContext.runAs(tenant, () -> {
+                    if (mirror != null) {
+                        mirror.streamAll(writer);
+                    } else {
+                        todoService.streamAll(writer);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Acompanha as alterações da coleção em tempo real, como Server-Sent Events ({@code GET /todos/stream}).
+     * <p>
+     * Substitui a consulta periódica a {@code GET /todos}: cada tarefa criada, alterada ou removida
+     * gera um evento ({@code created}, {@code updated} ou {@code deleted}) logo após o commit.
+     * Ao se reconectar, o cliente envia o cabeçalho {@code Last-Event-ID} e recebe as alterações
+     * perdidas; se elas não estiverem mais disponíveis, recebe um evento {@code reset} e deve
+     * recarregar a listagem.
+     * </p>
+     *
+     * @param lastEventId O identificador do último evento recebido, enviado pelo navegador na reconexão.
+     * @return O {@link SseEmitter} da conexão.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return todoEventStreamer.subscribe(lastEventId);
+    }
+
+    /**
+     * Sincroniza um cliente incrementalmente ({@code GET /todos/changes?since=}).
+     * <p>
+     * Devolve apenas as tarefas criadas, alteradas ou removidas depois da marca d'água
+     * {@code since}, em páginas de até {@code size} alterações, e a marca d'água a enviar na
+     * próxima chamada. A primeira sincronização usa {@code since=0}; enquanto {@code hasMore}
+     * for verdadeiro, o cliente repete a chamada com a nova marca. Um cliente um dia atrasado
+     * transfere só o que mudou nesse dia, e não a coleção inteira.
+     * </p>
+     *
+     * @param since A marca d'água da última sincronização; se ausente, 0.
+     * @param size  O número máximo de alterações; se ausente, usa {@code todo-api.pagination.default-size}.
+     * @return {@link ResponseEntity} com status 200 (OK) e o {@link TodoChangesDTO}.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChangesDTO> changesSince(@RequestParam(defaultValue = "0") long since,
+                                                       @RequestParam(required = false) Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return ResponseEntity.ok(todoService.changesSince(Math.max(0, since), pageSize));
+    }
+
+    /**
+     * Obtém as estatísticas das tarefas ({@code GET /todos/stats}): o total e as quantidades
+     * por status e por prioridade.
+     * <p>
+     * As contagens são mantidas em memória a cada escrita pelo {@link TodoStatsService}, e não
+     * contadas a cada chamada; o custo não depende do número de tarefas.
+     * </p>
+     *
+     * @return {@link ResponseEntity} com status 200 (OK) e o {@link TodoStatsDTO}.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TodoStatsDTO> stats() {
+        return ResponseEntity.ok(todoStatsService.stats());
+    }
+
+    /**
+     * Importa tarefas em massa ({@code POST /todos/import}) de um corpo NDJSON ou CSV, conforme o
+     * {@code Content-Type}.
+     * <p>
+     * O corpo é lido registro a registro e as tarefas são inseridas em lotes de
+     * {@code todo-api.import.batch-size}, cada um em sua própria transação. A resposta, em NDJSON,
+     * traz uma linha de progresso ({@link TodoImportProgressDTO}) após cada lote, com os registros
+     * rejeitados e sua posição no corpo, e uma linha final. Se a importação for interrompida, o
+     * cliente reenvia o mesmo corpo com {@code ?offset=} igual ao último offset recebido.
+     * </p>
+     * <p>
+     * O corpo é lido e a resposta escrita na própria thread da requisição, de modo que uma
+     * importação longa não esbarra no tempo limite do processamento assíncrono.
+     * </p>
+     *
+     * @param contentType O tipo do corpo: {@code application/x-ndjson} ou {@code text/csv}.
+     * @param offset      O número de registros iniciais a pular; se ausente, 0.
+     * @param body        O corpo da requisição.
+     * @param response    A resposta, escrita em streaming.
+     * @throws IOException Se a escrita da resposta falhar.
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TodoTransferService.TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importTodos(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                            @RequestParam(defaultValue = "0") long offset,
+                            InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            Consumer<TodoImportProgressDTO> progress = linha -> {
+                try {
+                    generator.writeObject(linha);
+                    generator.writeRaw('\n');
+                    generator.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            };
+            if (MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)) {
+                todoTransferService.importCsv(body, Math.max(0, offset), progress);
+            } else {
+                todoTransferService.importNdjson(body, Math.max(0, offset), progress);
+            }
+        }
+    }
+
+    /**
+     * Exporta todas as tarefas ({@code GET /todos/export}) em NDJSON ou, se o {@code Accept}
+     * pedir {@code text/csv} antes de {@code application/x-ndjson}, em CSV com cabeçalho.
+     * <p>
+     * As tarefas são lidas do banco por um cursor somente-leitura e cada linha é escrita assim
+     * que lida; o uso de memória não cresce com o tamanho da tabela. Assim como a importação,
+     * a resposta é escrita na própria thread da requisição.
+     * </p>
+     *
+     * @param accept   O cabeçalho {@code Accept} da requisição.
+     * @param response A resposta, escrita em streaming.
+     * @throws IOException Se a escrita da resposta falhar.
+     */
+    @GetMapping(path = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, TodoTransferService.TEXT_CSV_VALUE})
+    public void export(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                       HttpServletResponse response) throws IOException {
+        if (prefersCsv(accept)) {
+            response.setContentType(TodoTransferService.TEXT_CSV_VALUE + ";charset=UTF-8");
+            todoTransferService.exportCsv(response.getOutputStream());
+        } else {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            todoTransferService.exportNdjson(response.getOutputStream());
+        }
+    }
+
+    /**
+     * Busca tarefas por palavras-chave no título e na descrição ({@code GET /todos/search?q=}).
+     * <p>
+     * Os resultados vêm ordenados por relevância, e a busca ignora acentos e variações
+     * de flexão em português (ex: "ação" encontra "ações"). Assim como na listagem, o cursor
+     * da próxima página é enviado no cabeçalho {@value #NEXT_CURSOR_HEADER}.
+     * </p>
+     *
+     * @param q      O texto da busca.
+     * @param cursor O cursor recebido na página anterior; ausente para a primeira página.
+     * @param size   O tamanho da página; se ausente, usa {@code todo-api.pagination.default-size}.
+     * @return {@link ResponseEntity} com status 200 (OK) e uma {@link List} de {@link TodoResponseDTO}s.
+     * Em caso de busca vazia ou cursor inválido, {@link br.com.mascenadev.crud.exception.GlobalExceptionHandler}
+     * irá interceptar e retornar um 400 Bad Request.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<TodoResponseDTO>> search(@RequestParam(required = false) String q,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size) {
+        if (q == null || q.isBlank()) {
+            throw new FiltroInvalidoException("O parâmetro q é obrigatório");
+        }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        TodoPageDTO page = todoSearchService.search(q, cursor, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
     }
 
     /**
@@ -103,15 +504,18 @@ public class TodoController {
      *
      * @param id         O identificador único da tarefa a ser atualizada.
      * @param requestDTO DTO contendo os dados atualizados da tarefa.
+     * @param ifMatch    O cabeçalho {@code If-Match} opcional, com o ETag da versão esperada.
      * @return {@link ResponseEntity} com status 200 (OK) e o {@link TodoResponseDTO} da tarefa atualizada.
      * Em caso de tarefa não encontrada, {@link br.com.mascenadev.crud.exception.GlobalExceptionHandler}
      * irá interceptar e retornar um 404 Not Found.
      * Em caso de falha de validação, um 400 Bad Request.
+     * Em caso de versão diferente da informada no {@code If-Match}, um 412 Precondition Failed.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<TodoResponseDTO> update(@PathVariable Long id, @RequestBody @Valid TodoRequestDTO requestDTO) {
-        TodoResponseDTO updatedTodo = todoService.update(id, requestDTO);
-        return ResponseEntity.ok(updatedTodo);
+    public ResponseEntity<TodoResponseDTO> update(@PathVariable Long id, @RequestBody @Valid TodoRequestDTO requestDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TodoResponseDTO updatedTodo = todoService.update(id, requestDTO, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedTodo.getVersao())).body(updatedTodo);
     }
 
     /**
@@ -121,15 +525,22 @@ public class TodoController {
      * e retorna o {@link TodoResponseDTO} da tarefa encontrada com o status HTTP 200 OK.
      * </p>
      *
-     * @param id O identificador único da tarefa a ser buscada.
-     * @return {@link ResponseEntity} com status 200 (OK) e o {@link TodoResponseDTO} da tarefa encontrada.
+     * @param id      O identificador único da tarefa a ser buscada.
+     * @param request A requisição, usada para avaliar o {@code If-None-Match}.
+     * @return {@link ResponseEntity} com status 200 (OK) e o {@link TodoResponseDTO} da tarefa encontrada,
+     * ou 304 (Not Modified) sem corpo se o ETag informado ainda for o atual.
      * Em caso de tarefa não encontrada, {@link br.com.mascenadev.crud.exception.GlobalExceptionHandler}
      * irá interceptar e retornar um 404 Not Found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TodoResponseDTO> findById(@PathVariable Long id) {
-        TodoResponseDTO foundAll = todoService.findById(id);
-        return ResponseEntity.ok(foundAll);
+    public ResponseEntity<TodoResponseDTO> findById(@PathVariable Long id, WebRequest request) {
+        TodoMirror mirror = mirror();
+        TodoResponseDTO foundAll = mirror != null ? mirror.findById(id) : todoService.findById(id);
+        String etag = ETags.of(foundAll.getVersao());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(foundAll);
     }
 
 
@@ -142,14 +553,88 @@ public class TodoController {
      * com sucesso e não há conteúdo a ser retornado.
      * </p>
      *
-     * @param id O identificador único da tarefa a ser deletada.
+     * @param id      O identificador único da tarefa a ser deletada.
+     * @param ifMatch O cabeçalho {@code If-Match} opcional, com o ETag da versão esperada.
      * @return {@link ResponseEntity} com status 204 (No Content).
      * Em caso de tarefa não encontrada, {@link br.com.mascenadev.crud.exception.GlobalExceptionHandler}
      * irá interceptar e retornar um 404 Not Found.
+     * Em caso de versão diferente da informada no {@code If-Match}, um 412 Precondition Failed.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        todoService.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        todoService.delete(id, ETags.parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Cria várias tarefas em uma única requisição.
+     * <p>
+     * Cada {@link TodoRequestDTO} é validado individualmente e os válidos são persistidos
+     * em uma única transação. Retorna o status HTTP 207 Multi-Status com o resultado de
+     * cada item (201 ou 400), na mesma ordem da requisição.
+     * </p>
+     *
+     * @param requests Lista de DTOs com os dados das novas tarefas.
+     * @return {@link ResponseEntity} com status 207 (Multi-Status) e o resultado de cada item.
+     * Em caso de lista vazia ou maior que {@code todo-api.batch.max-items}, um 400 Bad Request.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TodoBatchResultDTO>> createBatch(@RequestBody List<TodoRequestDTO> requests) {
+        List<TodoBatchResultDTO> results = todoService.createBatch(requests);
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(results);
+    }
+
+    /**
+     * Atualiza várias tarefas em uma única requisição.
+     * <p>
+     * Cada item traz o ID da tarefa e seus novos dados, e é validado individualmente.
+     * Retorna o status HTTP 207 Multi-Status com o resultado de cada item (200, 400 ou 404).
+     * </p>
+     *
+     * @param requests Lista de DTOs com os IDs e os dados atualizados das tarefas.
+     * @return {@link ResponseEntity} com status 207 (Multi-Status) e o resultado de cada item.
+     * Em caso de lista vazia ou maior que {@code todo-api.batch.max-items}, um 400 Bad Request.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<List<TodoBatchResultDTO>> updateBatch(@RequestBody List<TodoBatchUpdateDTO> requests) {
+        List<TodoBatchResultDTO> results = todoService.updateBatch(requests);
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(results);
+    }
+
+    /**
+     * Deleta várias tarefas em uma única requisição.
+     * <p>
+     * Recebe a lista de IDs no corpo da requisição. Retorna o status HTTP 207 Multi-Status
+     * com o resultado de cada item (204 ou 404).
+     * </p>
+     *
+     * @param ids Lista de IDs das tarefas a serem deletadas.
+     * @return {@link ResponseEntity} com status 207 (Multi-Status) e o resultado de cada item.
+     * Em caso de lista vazia ou maior que {@code todo-api.batch.max-items}, um 400 Bad Request.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<TodoBatchResultDTO>> deleteBatch(@RequestBody List<Long> ids) {
+        List<TodoBatchResultDTO> results = todoService.deleteBatch(ids);
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(results);
+    }
+
+    private static boolean prefersCsv(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            if (type.equalsTypeAndSubtype(TEXT_CSV)) {
+                return true;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private TodoMirror mirror() {
+        return todoMirror != null && todoMirror.isReady() ? todoMirror : null;
+    }
 }
@@ -0,0 +1,253 @@
+package br.com.mascenadev.crud.controller;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.exception.ConexoesEsgotadasException;
+import br.com.mascenadev.crud.service.TodoChangeFeed;
+import br.com.mascenadev.crud.service.TodoFeedEntry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Entrega o {@link TodoChangeFeed} aos clientes de {@code GET /todos/stream} como Server-Sent Events.
+ * <p>
+ * Cada cliente tem uma fila própria, limitada a {@code todo-api.stream.subscriber-buffer} eventos:
+ * a transação que gerou a alteração apenas enfileira o evento e nunca espera pela rede. As filas
+ * são esvaziadas por um número fixo de threads de envio ({@code todo-api.stream.sender-threads}),
+ * cada vez no máximo {@value #DRAIN_BATCH} eventos de um cliente, para que um cliente com muitos
+ * eventos não atrase os demais. Se a fila de um cliente lento enche, a conexão é encerrada; o
+ * cliente se reconecta com {@code Last-Event-ID} e retoma a partir do buffer do fluxo.
+ * </p>
+ * <p>
+ * O envio é bloqueante: um cliente que parou de ler ocupa uma thread de envio até o tempo limite
+ * de escrita do servidor. Por isso o número de clientes conectados é limitado
+ * ({@code todo-api.stream.max-subscribers}); acima dele, a conexão é recusada com 503 e
+ * {@code Retry-After}.
+ * </p>
+ * <p>
+ * Os eventos se chamam {@code created}, {@code updated} e {@code deleted}, com o
+ * {@link br.com.mascenadev.crud.service.TodoChangedEvent} em JSON. Quando não é possível retomar,
+ * o primeiro evento é {@code reset}: o cliente deve recarregar a listagem. Um comentário é enviado
+ * a cada {@code todo-api.stream.heartbeat} para manter a conexão aberta em proxies.
+ * </p>
+ * <p>
+ * O fluxo reúne as alterações de todos os tenants; cada cliente recebe apenas as do tenant
+ * da requisição que abriu a conexão.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Component
+public class TodoEventStreamer implements MeterBinder {
+
+    /**
+     * Nome do evento que pede ao cliente para recarregar a coleção.
+     */
+    public static final String RESET_EVENT = "reset";
+
+    private static final long RECONNECT_MILLIS = 3000;
+
+    /**
+     * Eventos enviados a um cliente antes de a thread de envio passar ao próximo.
+     */
+    static final int DRAIN_BATCH = 32;
+
+    private final TodoChangeFeed feed;
+
+    private final Duration timeout;
+
+    private final int subscriberBuffer;
+
+    private final int maxSubscribers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger connected = new AtomicInteger();
+
+    private final ExecutorService senders;
+
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("todo-sse-heartbeat-"));
+
+    /**
+     * Cria o distribuidor e agenda o heartbeat.
+     *
+     * @param feed             O fluxo de alterações.
+     * @param timeout          O tempo máximo de uma conexão, após o qual o cliente se reconecta.
+     * @param subscriberBuffer O número máximo de eventos pendentes por cliente.
+     * @param heartbeat        O intervalo entre comentários de heartbeat.
+     * @param senderThreads    O número de threads de envio.
+     * @param maxSubscribers   O número máximo de clientes conectados.
+     */
+    public TodoEventStreamer(TodoChangeFeed feed,
+                             @Value("${todo-api.stream.timeout}") Duration timeout,
+                             @Value("${todo-api.stream.subscriber-buffer}") int subscriberBuffer,
+                             @Value("${todo-api.stream.heartbeat}") Duration heartbeat,
+                             @Value("${todo-api.stream.sender-threads}") int senderThreads,
+                             @Value("${todo-api.stream.max-subscribers}") int maxSubscribers) {
+        this.feed = feed;
+        this.timeout = timeout;
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxSubscribers = maxSubscribers;
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("todo-sse-sender-"));
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Abre a conexão SSE de um cliente, para as alterações do tenant atual.
+     *
+     * @param lastEventId O cabeçalho {@code Last-Event-ID} da reconexão, ou {@code null}.
+     * @return O {@link SseEmitter} da conexão.
+     * @throws ConexoesEsgotadasException Se o número máximo de clientes já está conectado.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (connected.incrementAndGet() > maxSubscribers) {
+            connected.decrementAndGet();
+            throw new ConexoesEsgotadasException(maxSubscribers);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, TenantContext.current());
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.offer(SseEmitter.event().comment("conectado").reconnectTime(RECONNECT_MILLIS));
+        if (!feed.subscribe(lastEventId, subscriber)) {
+            subscriber.offer(SseEmitter.event().name(RESET_EVENT).data(""));
+            feed.subscribe(null, subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Registra o número de clientes conectados como a métrica {@code todo.stream.subscribers}.
+     *
+     * @param registry O registro de métricas.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todo.stream.subscribers", subscribers, Set::size)
+                .description("Clientes conectados a GET /todos/stream")
+                .register(registry);
+    }
+
+    /**
+     * Encerra todas as conexões e as threads de envio.
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat")));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Um cliente conectado, com sua fila de eventos pendentes.
+     */
+    private final class Subscriber implements Consumer<TodoFeedEntry> {
+
+        private final SseEmitter emitter;
+
+        private final String tenant;
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, String tenant) {
+            this.emitter = emitter;
+            this.tenant = tenant;
+        }
+
+        @Override
+        public void accept(TodoFeedEntry entry) {
+            if (!tenant.equals(entry.event().tenant())) {
+                return;
+            }
+            offer(SseEmitter.event()
+                    .id(entry.id())
+                    .name(entry.event().type().name().toLowerCase(Locale.ROOT))
+                    .data(entry.event(), MediaType.APPLICATION_JSON));
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // Cliente lento: encerra a conexão para que ele retome pelo Last-Event-ID.
+                close();
+                senders.execute(emitter::complete);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                for (int sent = 0; sent < DRAIN_BATCH && !closed && (event = queue.poll()) != null; sent++) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            closed = true;
+            feed.unsubscribe(this);
+            if (subscribers.remove(this)) {
+                connected.decrementAndGet();
+            }
+            queue.clear();
+        }
+    }
+}
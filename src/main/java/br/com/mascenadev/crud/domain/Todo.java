@@ -5,13 +5,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
+import java.time.Instant;
 import java.util.Objects;
 
 /**
@@ -21,6 +27,25 @@ import java.util.Objects;
  * Inclui validações de Bean Validation para garantir a integridade dos dados
  * antes da persistência.
  * </p>
+ * <p>
+ * Cada tarefa pertence a um tenant ({@code tenant}, preenchido e filtrado pelo Hibernate a partir
+ * do {@code TenantContext}). Os índices compostos começam pelo tenant e seguem a ordenação padrão
+ * da listagem (prioridade descendente, título ascendente, ID como desempate), permitindo
+ * ao banco ler as páginas de um tenant já ordenadas, sem percorrer as tarefas dos demais
+ * nem fazer filesort. O índice com {@code realizado} atende o filtro por status na mesma ordem,
+ * e o filtro por prioridade é atendido pelo prefixo do índice de listagem.
+ * </p>
+ * <p>
+ * Cada escrita registra o instante e um número da sequência de alterações
+ * ({@code sequencia}, com índice próprio), que alimentam a sincronização incremental
+ * de {@code GET /todos/changes}; as exclusões deixam um {@link TodoTombstone}.
+ * </p>
+ * <p>
+ * A entidade não fica no cache de segundo nível do Hibernate: as escritas individuais são UPDATEs
+ * e DELETEs em massa, que invalidariam a região inteira a cada comando. A busca por ID é atendida
+ * pelo cache {@code todos} do {@code TodoService}, mantido por ID, e as listagens pelo cache de
+ * consultas ({@code SecondLevelCacheConfig}).
+ * </p>
  *
  * @author Gilberto Dev
  * @see jakarta.persistence.Entity
@@ -28,17 +53,41 @@ import java.util.Objects;
  * @since 1.0.0
  */
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_tenant_listagem", columnList = "tenant ASC, prioridade DESC, titulo ASC, id ASC"),
+        @Index(name = "idx_todos_tenant_realizado_listagem",
+                columnList = "tenant ASC, realizado ASC, prioridade DESC, titulo ASC, id ASC"),
+        @Index(name = "idx_todos_tenant_sequencia", columnList = "tenant, sequencia")
+})
 public class Todo {
 
+    /**
+     * Quantidade de IDs reservados a cada consulta à sequência; acompanha o
+     * {@code hibernate.jdbc.batch_size} configurado.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Identificador único da tarefa.
-     * Gerado automaticamente pelo banco de dados.
+     * Gerado pela sequência {@code todos_seq} com o otimizador pooled: cada ida ao banco
+     * reserva um bloco de {@value #ID_ALLOCATION_SIZE} IDs, o que permite ao Hibernate agrupar
+     * os INSERTs em lotes JDBC. Em bancos sem sequências (MySQL) a sequência é emulada
+     * por uma tabela de mesmo nome.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = Todo.ID_ALLOCATION_SIZE)
     private Long id;
 
+    /**
+     * Tenant dono da tarefa. Definido na inclusão a partir do tenant da sessão e nunca alterado;
+     * as tarefas anteriores à separação por tenant ficam no tenant {@code default}.
+     */
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(nullable = false, updatable = false, length = 64)
+    private String tenant;
+
     /**
      * Título da tarefa.
      * Deve ser preenchido e ter entre 2 e 100 caracteres.
@@ -75,6 +124,36 @@ public class Todo {
     @Column(nullable = false)
     private Integer prioridade;
 
+    /**
+     * Versão da tarefa, usada no controle de concorrência otimista.
+     * Começa em zero e cresce a cada atualização; é exposta aos clientes como ETag.
+     * As atualizações individuais, feitas com um único UPDATE, gravam como versão o número da
+     * alteração ({@link #sequencia}); as atualizações em lote, feitas pela entidade, a incrementam.
+     * Como a versão nunca passa do número da última alteração da tarefa, ela continua crescente.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    /**
+     * Instante em que a tarefa foi criada.
+     */
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private Instant criadoEm;
+
+    /**
+     * Instante da última escrita na tarefa.
+     */
+    @Column(name = "atualizado_em", nullable = false)
+    private Instant atualizadoEm;
+
+    /**
+     * Número da última alteração da tarefa na sequência de alterações
+     * ({@code br.com.mascenadev.crud.service.TodoChangeSequence}) do tenant, compartilhada com as exclusões.
+     */
+    @Column(nullable = false)
+    private Long sequencia;
+
     /**
      * Construtor padrão exigido pelo JPA.
      * Inicializa {@code realizado} como {@code false} por padrão para novas tarefas.
@@ -116,6 +195,15 @@ public class Todo {
         this.id = id;
     }
 
+    /**
+     * Obtém o tenant dono da tarefa.
+     *
+     * @return o tenant
+     */
+    public String getTenant() {
+        return tenant;
+    }
+
     /**
      * Obtém o titúlo da tarefa.
      *
@@ -188,6 +276,78 @@ public class Todo {
         this.prioridade = prioridade;
     }
 
+    /**
+     * Obtém a versão da tarefa.
+     *
+     * @return a versão
+     */
+    public Long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Define a versão da tarefa.
+     *
+     * @param versao a nova versão
+     */
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    /**
+     * Obtém o instante de criação da tarefa.
+     *
+     * @return o instante de criação
+     */
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    /**
+     * Define o instante de criação da tarefa.
+     *
+     * @param criadoEm o instante de criação
+     */
+    public void setCriadoEm(Instant criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    /**
+     * Obtém o instante da última escrita na tarefa.
+     *
+     * @return o instante da última escrita
+     */
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    /**
+     * Define o instante da última escrita na tarefa.
+     *
+     * @param atualizadoEm o instante da última escrita
+     */
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    /**
+     * Obtém o número da última alteração da tarefa.
+     *
+     * @return o número da alteração
+     */
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    /**
+     * Define o número da última alteração da tarefa.
+     *
+     * @param sequencia o novo número da alteração
+     */
+    public void setSequencia(Long sequencia) {
+        this.sequencia = sequencia;
+    }
+
     /**
      * Compara dois objetos Todo com base no ID.
      *
@@ -220,6 +380,6 @@ public class Todo {
     @Override
     public String toString() {
         return "Todo [id=" + id + ", titulo=" + titulo + ", descricao=" + descricao + ", realizado=" + realizado
-               + ", prioridade=" + prioridade + "]";
+               + ", prioridade=" + prioridade + ", versao=" + versao + "]";
     }
 }
@@ -0,0 +1,62 @@
+package br.com.mascenadev.crud.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Contador da sequência de alterações de um tenant: o último número atribuído a uma inclusão,
+ * alteração ou exclusão de suas tarefas ({@link Todo#getSequencia()} e
+ * {@link TodoTombstone#getSequencia()}).
+ * <p>
+ * É incrementado pelo SQL de {@code br.com.mascenadev.crud.service.TodoChangeSequence}, dentro
+ * da transação de cada escrita; a entidade existe para que a tabela seja criada com as demais
+ * (inclusive no esquema dos tenants isolados). A chave é o próprio tenant, e por isso ela não
+ * usa {@code @TenantId}.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Entity
+@Table(name = "todo_change_counters")
+public class TodoChangeCounter {
+
+    /**
+     * Tenant dono da sequência.
+     */
+    @Id
+    @Column(length = 64)
+    private String tenant;
+
+    /**
+     * Último número atribuído.
+     */
+    @Column(nullable = false)
+    private Long valor;
+
+    /**
+     * Construtor padrão exigido pelo JPA.
+     */
+    protected TodoChangeCounter() {
+    }
+
+    /**
+     * Obtém o tenant dono da sequência.
+     *
+     * @return o tenant
+     */
+    public String getTenant() {
+        return tenant;
+    }
+
+    /**
+     * Obtém o último número atribuído.
+     *
+     * @return o número
+     */
+    public Long getValor() {
+        return valor;
+    }
+}
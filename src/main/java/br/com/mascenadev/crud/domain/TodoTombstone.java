@@ -0,0 +1,126 @@
+package br.com.mascenadev.crud.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Registro da exclusão de uma tarefa, mantido para a sincronização incremental de
+ * {@code GET /todos/changes}: sem ele, um cliente não teria como saber que uma tarefa
+ * que já baixou deixou de existir.
+ * <p>
+ * O ID é o da tarefa removida, e {@code sequencia} vem da mesma sequência de alterações
+ * de {@link Todo#getSequencia()}, com índice iniciado pelo tenant, como os de {@link Todo}.
+ * Como os IDs de tarefas não são reutilizados, cada tarefa tem no máximo um registro,
+ * sempre inserido (nunca atualizado).
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Entity
+@Table(name = "todo_tombstones", indexes = @Index(name = "idx_todo_tombstones_tenant_sequencia",
+        columnList = "tenant, sequencia"))
+public class TodoTombstone implements Persistable<Long> {
+
+    /**
+     * ID da tarefa removida.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Tenant dono da tarefa removida.
+     */
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(nullable = false, updatable = false, length = 64)
+    private String tenant;
+
+    /**
+     * Número da exclusão na sequência de alterações.
+     */
+    @Column(nullable = false)
+    private Long sequencia;
+
+    /**
+     * Instante da exclusão.
+     */
+    @Column(name = "removido_em", nullable = false)
+    private Instant removidoEm;
+
+    @Transient
+    private boolean novo = true;
+
+    /**
+     * Construtor padrão exigido pelo JPA.
+     */
+    protected TodoTombstone() {
+    }
+
+    /**
+     * Cria o registro da exclusão de uma tarefa.
+     *
+     * @param id         O ID da tarefa removida.
+     * @param sequencia  O número da exclusão na sequência de alterações.
+     * @param removidoEm O instante da exclusão.
+     */
+    public TodoTombstone(Long id, Long sequencia, Instant removidoEm) {
+        this.id = id;
+        this.sequencia = sequencia;
+        this.removidoEm = removidoEm;
+    }
+
+    /**
+     * Obtém o ID da tarefa removida.
+     *
+     * @return o ID
+     */
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o número da exclusão na sequência de alterações.
+     *
+     * @return o número da alteração
+     */
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    /**
+     * Obtém o instante da exclusão.
+     *
+     * @return o instante da exclusão
+     */
+    public Instant getRemovidoEm() {
+        return removidoEm;
+    }
+
+    /**
+     * Indica se o registro ainda não foi gravado, para que o {@code save} do Spring Data
+     * faça um INSERT direto, sem o SELECT do {@code merge} de entidades com ID atribuído.
+     *
+     * @return {@code true} até o registro ser carregado do banco.
+     */
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        novo = false;
+    }
+}
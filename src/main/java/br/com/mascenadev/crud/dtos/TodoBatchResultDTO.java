@@ -0,0 +1,65 @@
+package br.com.mascenadev.crud.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Record que representa o resultado de um item de uma operação em lote.
+ * Cada item informa sua posição na requisição e o status HTTP que teria
+ * recebido se fosse enviado individualmente.
+ *
+ * @param index  A posição do item na lista enviada pelo cliente.
+ * @param status O status HTTP do item (ex: 201, 200, 204, 400, 404).
+ * @param id     O ID da tarefa afetada, quando conhecido.
+ * @param todo   A tarefa resultante, em criações e atualizações bem-sucedidas.
+ * @param errors Os erros de validação por campo, ou a mensagem de erro do item.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TodoBatchResultDTO(
+        int index,
+        int status,
+        Long id,
+        TodoResponseDTO todo,
+        Map<String, String> errors
+) {
+
+    /**
+     * Cria o resultado de um item processado com sucesso.
+     *
+     * @param index  A posição do item.
+     * @param status O status HTTP do item.
+     * @param todo   A tarefa resultante.
+     * @return O resultado do item.
+     */
+    public static TodoBatchResultDTO success(int index, int status, TodoResponseDTO todo) {
+        return new TodoBatchResultDTO(index, status, todo.getId(), todo, null);
+    }
+
+    /**
+     * Cria o resultado de um item processado com sucesso e sem corpo (ex: exclusões).
+     *
+     * @param index  A posição do item.
+     * @param status O status HTTP do item.
+     * @param id     O ID da tarefa afetada.
+     * @return O resultado do item.
+     */
+    public static TodoBatchResultDTO success(int index, int status, Long id) {
+        return new TodoBatchResultDTO(index, status, id, null, null);
+    }
+
+    /**
+     * Cria o resultado de um item rejeitado.
+     *
+     * @param index  A posição do item.
+     * @param status O status HTTP do item.
+     * @param id     O ID da tarefa, se informado.
+     * @param errors Os erros que impediram o processamento do item.
+     * @return O resultado do item.
+     */
+    public static TodoBatchResultDTO failure(int index, int status, Long id, Map<String, String> errors) {
+        return new TodoBatchResultDTO(index, status, id, null, errors);
+    }
+}
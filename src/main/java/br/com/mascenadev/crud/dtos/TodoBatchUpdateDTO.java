@@ -0,0 +1,60 @@
+package br.com.mascenadev.crud.dtos;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO (Data Transfer Object) para um item da atualização em lote de Tarefas (Todo).
+ * Estende {@link TodoRequestDTO} com o ID da tarefa a ser atualizada,
+ * herdando todas as suas validações.
+ *
+ * @author Gilberto Dev
+ * @see br.com.mascenadev.crud.dtos.TodoRequestDTO
+ * @since 1.1.0
+ */
+public class TodoBatchUpdateDTO extends TodoRequestDTO {
+
+    /**
+     * O ID da tarefa a ser atualizada.
+     */
+    @NotNull(message = "ID é obrigatório")
+    private Long id;
+
+    /**
+     * Construtor padrão.
+     */
+    public TodoBatchUpdateDTO() {
+        super();
+    }
+
+    /**
+     * Construtor para criar uma nova instância de TodoBatchUpdateDTO.
+     *
+     * @param id         O ID da tarefa a ser atualizada.
+     * @param titulo     O título da tarefa.
+     * @param descricao  A descrição detalhada da tarefa.
+     * @param realizado  O status de realização da tarefa.
+     * @param prioridade O nível de prioridade da tarefa.
+     */
+    public TodoBatchUpdateDTO(Long id, String titulo, String descricao, Boolean realizado, Integer prioridade) {
+        super(titulo, descricao, realizado, prioridade);
+        this.id = id;
+    }
+
+    /**
+     * Obtém o ID da tarefa.
+     *
+     * @return o ID da tarefa
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Define o ID da tarefa.
+     *
+     * @param id o ID da tarefa
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
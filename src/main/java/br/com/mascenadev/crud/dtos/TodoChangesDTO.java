@@ -0,0 +1,21 @@
+package br.com.mascenadev.crud.dtos;
+
+import java.util.List;
+
+/**
+ * Record que representa uma página da sincronização incremental de {@code GET /todos/changes}.
+ * <p>
+ * Cada tarefa aparece uma única vez, no estado atual: em {@code upserted} se ainda existir,
+ * ou apenas o ID em {@code deleted} se tiver sido removida. O cliente aplica as duas listas e
+ * guarda {@code watermark} para a próxima chamada.
+ * </p>
+ *
+ * @param upserted  As tarefas criadas ou alteradas desde a marca d'água informada.
+ * @param deleted   Os IDs das tarefas removidas desde a marca d'água informada.
+ * @param watermark A marca d'água a enviar em {@code since} na próxima chamada.
+ * @param hasMore   Indica se há mais alterações além desta página.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoChangesDTO(List<TodoResponseDTO> upserted, List<Long> deleted, long watermark, boolean hasMore) {
+}
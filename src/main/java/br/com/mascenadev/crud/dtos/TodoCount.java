@@ -0,0 +1,14 @@
+package br.com.mascenadev.crud.dtos;
+
+/**
+ * Record que representa a quantidade de tarefas de uma combinação de prioridade e status,
+ * como devolvida por um {@code COUNT ... GROUP BY}.
+ *
+ * @param prioridade A prioridade.
+ * @param realizado  O status de realização.
+ * @param count      A quantidade de tarefas.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoCount(Integer prioridade, Boolean realizado, Long count) {
+}
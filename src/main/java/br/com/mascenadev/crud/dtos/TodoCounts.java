@@ -0,0 +1,16 @@
+package br.com.mascenadev.crud.dtos;
+
+import java.util.List;
+
+/**
+ * Record que representa a contagem das tarefas de um tenant por prioridade e status, junto do
+ * número da sequência de alterações até o qual ela vale: a contagem reflete exatamente as escritas
+ * com número até {@code sequencia}.
+ *
+ * @param counts    As quantidades de cada combinação de prioridade e status com ao menos uma tarefa.
+ * @param sequencia O número da última alteração refletida na contagem.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoCounts(List<TodoCount> counts, long sequencia) {
+}
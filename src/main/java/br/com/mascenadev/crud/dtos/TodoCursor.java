@@ -0,0 +1,69 @@
+package br.com.mascenadev.crud.dtos;
+
+import br.com.mascenadev.crud.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Record que representa a posição de um cursor de paginação por chave (keyset).
+ * <p>
+ * Guarda os valores da última tarefa de uma página na ordenação padrão da listagem
+ * (prioridade descendente, título ascendente e ID ascendente como desempate).
+ * Para o cliente o cursor é um token opaco, codificado em Base64 URL-safe.
+ * </p>
+ *
+ * @param prioridade A prioridade da última tarefa retornada.
+ * @param titulo     O título da última tarefa retornada.
+ * @param id         O ID da última tarefa retornada.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoCursor(Integer prioridade, String titulo, Long id) {
+
+    private static final char SEPARADOR = ':';
+
+    /**
+     * Cria o cursor que aponta para a posição logo após a tarefa informada.
+     *
+     * @param todo A última tarefa da página.
+     * @return O cursor correspondente.
+     */
+    public static TodoCursor after(TodoResponseDTO todo) {
+        return new TodoCursor(todo.getPrioridade(), todo.getTitulo(), todo.getId());
+    }
+
+    /**
+     * Codifica o cursor como um token opaco.
+     * O título vai por último, pois é o único campo que pode conter o separador.
+     *
+     * @return O token Base64 URL-safe, sem padding.
+     */
+    public String encode() {
+        String raw = prioridade + String.valueOf(SEPARADOR) + id + SEPARADOR + titulo;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token gerado por {@link #encode()}.
+     *
+     * @param token O token recebido do cliente.
+     * @return O cursor decodificado.
+     * @throws CursorInvalidoException Se o token não for um cursor válido.
+     */
+    public static TodoCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARADOR);
+            int second = raw.indexOf(SEPARADOR, first + 1);
+            if (first < 0 || second < 0) {
+                throw new CursorInvalidoException(token);
+            }
+            Integer prioridade = Integer.valueOf(raw.substring(0, first));
+            Long id = Long.valueOf(raw.substring(first + 1, second));
+            return new TodoCursor(prioridade, raw.substring(second + 1), id);
+        } catch (IllegalArgumentException ex) {
+            throw new CursorInvalidoException(token);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.mascenadev.crud.dtos;
+
+/**
+ * Record que representa a prioridade e o status de uma tarefa em um dado momento, como o estado
+ * anterior a uma alteração ou exclusão, devolvido pelo próprio comando que a fez.
+ *
+ * @param id         O ID da tarefa.
+ * @param prioridade A prioridade.
+ * @param realizado  O status de realização.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoEstado(Long id, Integer prioridade, Boolean realizado) {
+}
@@ -0,0 +1,75 @@
+package br.com.mascenadev.crud.dtos;
+
+import br.com.mascenadev.crud.exception.FiltroInvalidoException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Campos de {@link TodoResponseDTO} que podem ser solicitados no parâmetro {@code fields}
+ * da listagem (sparse fieldset). Os campos não solicitados não são lidos do banco
+ * e ficam de fora do JSON de resposta.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public enum TodoField {
+
+    ID("id"),
+    TITULO("titulo"),
+    DESCRICAO("descricao"),
+    REALIZADO("realizado"),
+    PRIORIDADE("prioridade"),
+    VERSAO("versao");
+
+    private final String nome;
+
+    TodoField(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Obtém o nome do campo, como aparece no JSON e no parâmetro {@code fields}.
+     *
+     * @return O nome do campo.
+     */
+    public String nome() {
+        return nome;
+    }
+
+    /**
+     * Retorna um conjunto com todos os campos.
+     *
+     * @return Um novo conjunto com todos os campos.
+     */
+    public static Set<TodoField> all() {
+        return EnumSet.allOf(TodoField.class);
+    }
+
+    /**
+     * Interpreta o parâmetro {@code fields}, uma lista de nomes separados por vírgula.
+     *
+     * @param fields O valor do parâmetro, possivelmente {@code null}.
+     * @return Os campos solicitados, ou todos se o parâmetro estiver ausente ou vazio.
+     * @throws FiltroInvalidoException Se algum nome não corresponder a um campo.
+     */
+    public static Set<TodoField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return all();
+        }
+        Set<TodoField> campos = EnumSet.noneOf(TodoField.class);
+        for (String nome : fields.split(",")) {
+            campos.add(of(nome.trim()));
+        }
+        return campos;
+    }
+
+    private static TodoField of(String nome) {
+        for (TodoField campo : values()) {
+            if (campo.nome.equals(nome)) {
+                return campo;
+            }
+        }
+        throw new FiltroInvalidoException("Campo desconhecido em fields: " + nome);
+    }
+}
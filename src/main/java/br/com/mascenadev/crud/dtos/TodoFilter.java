@@ -0,0 +1,40 @@
+package br.com.mascenadev.crud.dtos;
+
+import br.com.mascenadev.crud.exception.FiltroInvalidoException;
+
+/**
+ * Record que representa os filtros da listagem de tarefas.
+ * Cada critério é opcional; os informados são combinados com "e".
+ *
+ * @param realizado     Filtra pelo status de realização.
+ * @param prioridadeMin A prioridade mínima, inclusive.
+ * @param prioridadeMax A prioridade máxima, inclusive.
+ * @param tituloPrefixo O início do título, com diferenciação de maiúsculas e minúsculas.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoFilter(Boolean realizado, Integer prioridadeMin, Integer prioridadeMax, String tituloPrefixo) {
+
+    /**
+     * Valida a faixa de prioridade e normaliza um prefixo vazio para ausente.
+     *
+     * @throws FiltroInvalidoException Se a prioridade mínima for maior que a máxima.
+     */
+    public TodoFilter {
+        if (prioridadeMin != null && prioridadeMax != null && prioridadeMin > prioridadeMax) {
+            throw new FiltroInvalidoException("prioridadeMin não pode ser maior que prioridadeMax");
+        }
+        if (tituloPrefixo != null && tituloPrefixo.isEmpty()) {
+            tituloPrefixo = null;
+        }
+    }
+
+    /**
+     * Cria um filtro sem nenhum critério, que aceita todas as tarefas.
+     *
+     * @return O filtro vazio.
+     */
+    public static TodoFilter empty() {
+        return new TodoFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.mascenadev.crud.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Record que representa uma linha de progresso de {@code POST /todos/import}, escrita após
+ * cada lote confirmado e ao final da importação.
+ * <p>
+ * O {@code offset} conta os registros do corpo já processados, incluindo os pulados e os
+ * rejeitados: reenviar o mesmo corpo com {@code ?offset=} igual ao último valor recebido retoma
+ * a importação do ponto em que ela parou.
+ * </p>
+ *
+ * @param offset     O número de registros do corpo processados até o último lote confirmado.
+ * @param importados O total de tarefas inseridas até aqui.
+ * @param rejeitados O total de registros rejeitados até aqui.
+ * @param erros      Os registros rejeitados desde a linha anterior, com a posição de cada um no corpo.
+ * @param concluido  Indica se o corpo foi lido até o fim.
+ * @param erro       A mensagem do erro que interrompeu a importação, se houver.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record TodoImportProgressDTO(
+        long offset,
+        long importados,
+        long rejeitados,
+        List<TodoBatchResultDTO> erros,
+        boolean concluido,
+        String erro
+) {
+}
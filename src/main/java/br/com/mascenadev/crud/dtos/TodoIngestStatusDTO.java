@@ -0,0 +1,65 @@
+package br.com.mascenadev.crud.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Situação de uma tarefa enviada pela ingestão assíncrona ({@code Prefer: respond-async}).
+ *
+ * @param id      O ID reservado para a tarefa no momento do envio.
+ * @param status  A situação atual da tarefa.
+ * @param detalhe O motivo da falha, se {@code status} for {@link Status#FAILED}.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TodoIngestStatusDTO(Long id, Status status, String detalhe) {
+
+    /**
+     * As situações de uma tarefa na ingestão assíncrona.
+     */
+    public enum Status {
+        /**
+         * Aceita e registrada no journal, aguardando a gravação no banco.
+         */
+        PENDING,
+        /**
+         * Gravada no banco; disponível em {@code GET /todos/{id}}.
+         */
+        PERSISTED,
+        /**
+         * Rejeitada pelo banco; não será gravada.
+         */
+        FAILED
+    }
+
+    /**
+     * Cria a situação de uma tarefa aguardando gravação.
+     *
+     * @param id O ID da tarefa.
+     * @return A situação.
+     */
+    public static TodoIngestStatusDTO pending(Long id) {
+        return new TodoIngestStatusDTO(id, Status.PENDING, null);
+    }
+
+    /**
+     * Cria a situação de uma tarefa já gravada.
+     *
+     * @param id O ID da tarefa.
+     * @return A situação.
+     */
+    public static TodoIngestStatusDTO persisted(Long id) {
+        return new TodoIngestStatusDTO(id, Status.PERSISTED, null);
+    }
+
+    /**
+     * Cria a situação de uma tarefa cuja gravação falhou.
+     *
+     * @param id      O ID da tarefa.
+     * @param detalhe O motivo da falha.
+     * @return A situação.
+     */
+    public static TodoIngestStatusDTO failed(Long id, String detalhe) {
+        return new TodoIngestStatusDTO(id, Status.FAILED, detalhe);
+    }
+}
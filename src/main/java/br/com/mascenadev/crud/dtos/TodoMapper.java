@@ -0,0 +1,91 @@
+package br.com.mascenadev.crud.dtos;
+
+import br.com.mascenadev.crud.domain.Todo;
+
+import java.util.Set;
+
+/**
+ * Camada única de conversão entre os DTOs da API e a entidade {@link Todo}.
+ * <p>
+ * Escrita à mão, sem reflexão nem introspecção: cada conversão é uma cópia direta
+ * de campos, com no máximo uma alocação (o objeto de destino).
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public final class TodoMapper {
+
+    private TodoMapper() {
+    }
+
+    /**
+     * Converte um DTO de requisição em uma nova entidade, ainda sem ID nem versão.
+     *
+     * @param request O DTO de requisição.
+     * @return A nova entidade {@link Todo}.
+     */
+    public static Todo toEntity(TodoRequestDTO request) {
+        return new Todo(request.getTitulo(), request.getDescricao(), request.getRealizado(), request.getPrioridade());
+    }
+
+    /**
+     * Converte uma entidade em um DTO de resposta.
+     *
+     * @param todo A entidade {@link Todo}.
+     * @return O DTO de resposta correspondente.
+     */
+    public static TodoResponseDTO toResponse(Todo todo) {
+        return new TodoResponseDTO(todo.getId(), todo.getTitulo(), todo.getDescricao(),
+                todo.getRealizado(), todo.getPrioridade(), todo.getVersao());
+    }
+
+    /**
+     * Monta o DTO de resposta de uma tarefa atualizada sem carregá-la,
+     * a partir dos dados enviados e da nova versão.
+     *
+     * @param id      O ID da tarefa.
+     * @param request O DTO de requisição aplicado à tarefa.
+     * @param versao  A versão da tarefa após a atualização.
+     * @return O DTO de resposta correspondente.
+     */
+    public static TodoResponseDTO toResponse(Long id, TodoRequestDTO request, Long versao) {
+        return new TodoResponseDTO(id, request.getTitulo(), request.getDescricao(),
+                request.getRealizado(), request.getPrioridade(), versao);
+    }
+
+    /**
+     * Restringe um DTO de resposta aos campos solicitados (sparse fieldset);
+     * os demais ficam nulos e são omitidos do JSON.
+     *
+     * @param response O DTO de resposta completo.
+     * @param campos   Os campos solicitados.
+     * @return O próprio DTO, se todos os campos foram solicitados, ou um novo DTO restrito.
+     */
+    public static TodoResponseDTO toResponse(TodoResponseDTO response, Set<TodoField> campos) {
+        if (campos.size() == TodoField.values().length) {
+            return response;
+        }
+        return new TodoResponseDTO(
+                campos.contains(TodoField.ID) ? response.getId() : null,
+                campos.contains(TodoField.TITULO) ? response.getTitulo() : null,
+                campos.contains(TodoField.DESCRICAO) ? response.getDescricao() : null,
+                campos.contains(TodoField.REALIZADO) ? response.getRealizado() : null,
+                campos.contains(TodoField.PRIORIDADE) ? response.getPrioridade() : null,
+                campos.contains(TodoField.VERSAO) ? response.getVersao() : null);
+    }
+
+    /**
+     * Aplica os dados de um DTO de requisição sobre uma entidade existente.
+     * ID e versão não são alterados.
+     *
+     * @param request O DTO de requisição com os novos dados.
+     * @param todo    A entidade a ser atualizada.
+     */
+    public static void applyTo(TodoRequestDTO request, Todo todo) {
+        todo.setTitulo(request.getTitulo());
+        todo.setDescricao(request.getDescricao());
+        todo.setRealizado(request.getRealizado());
+        todo.setPrioridade(request.getPrioridade());
+    }
+}
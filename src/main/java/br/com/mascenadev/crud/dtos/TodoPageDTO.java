@@ -0,0 +1,23 @@
+package br.com.mascenadev.crud.dtos;
+
+import java.util.List;
+
+/**
+ * Record que representa uma página da listagem de tarefas paginada por cursor.
+ *
+ * @param content    As tarefas da página, na ordenação padrão da listagem.
+ * @param nextCursor O cursor opaco da próxima página, ou {@code null} se esta for a última.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoPageDTO(List<TodoResponseDTO> content, String nextCursor) {
+
+    /**
+     * Indica se existe uma próxima página.
+     *
+     * @return {@code true} se houver mais tarefas após esta página.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -6,7 +6,6 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import org.springframework.beans.BeanUtils;
 
 /**
  * DTO (Data Transfer Object) para representar os dados de requisição
@@ -151,11 +150,10 @@ public class TodoRequestDTO {
      * O ID não é copiado, pois este DTO é para requisições de criação/atualização.
      *
      * @return Uma nova instância da entidade {@link Todo} com os dados do DTO.
+     * @see TodoMapper#toEntity(TodoRequestDTO)
      */
     public Todo toEntity() {
-        Todo todo = new Todo();
-        BeanUtils.copyProperties(this, todo);
-        return todo;
+        return TodoMapper.toEntity(this);
     }
 
     /**
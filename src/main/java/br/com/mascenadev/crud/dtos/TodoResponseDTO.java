@@ -1,6 +1,7 @@
 package br.com.mascenadev.crud.dtos;
 
 import br.com.mascenadev.crud.domain.Todo;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.Objects;
 
@@ -8,11 +9,13 @@ import java.util.Objects;
  * DTO (Data Transfer Object) para representar os dados de resposta
  * de uma Tarefa (Todo) para o cliente da API.
  * Contém apenas os campos que devem ser expostos.
+ * Campos nulos são omitidos do JSON, o que só ocorre nas listagens com {@code fields}.
  *
  * @author Gilberto Dev
  * @see br.com.mascenadev.crud.domain.Todo
  * @since 1.0.0
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TodoResponseDTO {
 
     /**
@@ -40,6 +43,11 @@ public class TodoResponseDTO {
      */
     private final Integer prioridade;
 
+    /**
+     * A versão da tarefa, usada como ETag no controle de concorrência otimista.
+     */
+    private final Long versao;
+
     /**
      * Construtor para criar um {@code TodoResponseDTO} a partir de uma entidade {@code Todo}.
      * Copia os dados relevantes da entidade para o DTO.
@@ -52,6 +60,27 @@ public class TodoResponseDTO {
         this.descricao = todo.getDescricao();
         this.realizado = todo.getRealizado();
         this.prioridade = todo.getPrioridade();
+        this.versao = todo.getVersao();
+    }
+
+    /**
+     * Construtor para criar um {@code TodoResponseDTO} diretamente a partir dos campos.
+     * Usado pelas projeções JPQL ({@code select new ...}), que não carregam entidades.
+     *
+     * @param id         O ID da tarefa.
+     * @param titulo     O título da tarefa.
+     * @param descricao  A descrição da tarefa.
+     * @param realizado  O status de realização da tarefa.
+     * @param prioridade A prioridade da tarefa.
+     * @param versao     A versão da tarefa.
+     */
+    public TodoResponseDTO(Long id, String titulo, String descricao, Boolean realizado, Integer prioridade, Long versao) {
+        this.id = id;
+        this.titulo = titulo;
+        this.descricao = descricao;
+        this.realizado = realizado;
+        this.prioridade = prioridade;
+        this.versao = versao;
     }
 
     /**
@@ -99,6 +128,15 @@ public class TodoResponseDTO {
         return prioridade;
     }
 
+    /**
+     * Obtém a versão da tarefa.
+     *
+     * @return A versão da tarefa.
+     */
+    public Long getVersao() {
+        return versao;
+    }
+
     /**
      * Compara este {@code TodoResponseDTO} com outro objeto.
      * A comparação é baseada no ID para garantir a unicidade.
@@ -136,6 +174,7 @@ public class TodoResponseDTO {
                ", descricao='" + descricao + '\'' +
                ", realizado=" + realizado +
                ", prioridade=" + prioridade +
+               ", versao=" + versao +
                '}';
     }
 }
@@ -0,0 +1,55 @@
+package br.com.mascenadev.crud.dtos;
+
+import br.com.mascenadev.crud.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Record que representa a posição de um cursor na busca textual.
+ * <p>
+ * Os resultados são ordenados por relevância (descendente) e ID (ascendente, como desempate);
+ * o cursor guarda esses dois valores da última tarefa da página. A relevância é codificada
+ * pelos seus bits, para que o valor decodificado seja exatamente o mesmo.
+ * </p>
+ *
+ * @param score A relevância da última tarefa retornada.
+ * @param id    O ID da última tarefa retornada.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoSearchCursor(float score, long id) {
+
+    private static final char SEPARADOR = ':';
+
+    /**
+     * Codifica o cursor como um token opaco.
+     *
+     * @return O token Base64 URL-safe, sem padding.
+     */
+    public String encode() {
+        String raw = Integer.toHexString(Float.floatToIntBits(score)) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token gerado por {@link #encode()}.
+     *
+     * @param token O token recebido do cliente.
+     * @return O cursor decodificado.
+     * @throws CursorInvalidoException Se o token não for um cursor válido.
+     */
+    public static TodoSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = raw.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new CursorInvalidoException(token);
+            }
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, separador), 16));
+            return new TodoSearchCursor(score, Long.parseLong(raw.substring(separador + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new CursorInvalidoException(token);
+        }
+    }
+}
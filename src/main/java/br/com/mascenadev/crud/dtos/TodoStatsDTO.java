@@ -0,0 +1,27 @@
+package br.com.mascenadev.crud.dtos;
+
+import java.util.List;
+
+/**
+ * Record que representa as estatísticas das tarefas de um tenant ({@code GET /todos/stats}).
+ *
+ * @param total       A quantidade de tarefas.
+ * @param realizadas  A quantidade de tarefas realizadas.
+ * @param pendentes   A quantidade de tarefas pendentes.
+ * @param prioridades As quantidades por prioridade, de 0 a 5, inclusive as prioridades sem tarefas.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoStatsDTO(long total, long realizadas, long pendentes, List<PorPrioridade> prioridades) {
+
+    /**
+     * Quantidades de tarefas de uma prioridade.
+     *
+     * @param prioridade A prioridade.
+     * @param total      A quantidade de tarefas com a prioridade.
+     * @param realizadas A quantidade de tarefas realizadas com a prioridade.
+     * @param pendentes  A quantidade de tarefas pendentes com a prioridade.
+     */
+    public record PorPrioridade(int prioridade, long total, long realizadas, long pendentes) {
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.mascenadev.crud.dtos;
+
+/**
+ * Record que representa a marca d'água (versão) da coleção de tarefas como um todo.
+ * Usada para gerar o ETag da listagem sem precisar ler as tarefas.
+ * <p>
+ * É o último número confirmado da sequência de alterações do tenant
+ * ({@code br.com.mascenadev.crud.service.TodoChangeSequence}), que muda a cada inclusão,
+ * alteração ou exclusão e nunca volta a um valor anterior.
+ * </p>
+ *
+ * @param sequencia O número da última alteração confirmada, ou zero se não houve nenhuma.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoWatermark(long sequencia) {
+
+    /**
+     * Representa a marca d'água como um texto compacto, adequado para compor um ETag.
+     *
+     * @return O texto da marca d'água.
+     */
+    public String token() {
+        return Long.toHexString(sequencia);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando {@code GET /todos/stream} já tem o número máximo de clientes conectados
+ * ({@code todo-api.stream.max-subscribers}) e não aceita uma nova conexão.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class ConexoesEsgotadasException extends TodoApiException {
+
+    /**
+     * Construtor que cria uma exceção informando o limite de conexões.
+     *
+     * @param limite O número máximo de clientes conectados.
+     */
+    public ConexoesEsgotadasException(int limite) {
+        super("O fluxo de alterações atingiu o limite de " + limite + " clientes conectados");
+    }
+}
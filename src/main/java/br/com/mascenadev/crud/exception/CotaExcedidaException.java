@@ -0,0 +1,21 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando um tenant atingiu a cota de tarefas ({@code todo-api.tenancy.max-rows})
+ * e não pode criar novas até remover alguma.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class CotaExcedidaException extends TodoApiException {
+
+    /**
+     * Construtor que cria uma exceção informando o tenant e a cota.
+     *
+     * @param tenant O tenant.
+     * @param cota   O número máximo de tarefas do tenant.
+     */
+    public CotaExcedidaException(String tenant, long cota) {
+        super("O tenant " + tenant + " atingiu a cota de " + cota + " tarefas");
+    }
+}
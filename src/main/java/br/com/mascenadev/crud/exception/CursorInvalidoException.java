@@ -0,0 +1,20 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando o cursor de paginação enviado pelo cliente
+ * não pode ser decodificado.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class CursorInvalidoException extends TodoApiException {
+
+    /**
+     * Construtor que cria uma exceção com uma mensagem incluindo o cursor recebido.
+     *
+     * @param cursor O cursor inválido.
+     */
+    public CursorInvalidoException(String cursor) {
+        super("Cursor de paginação inválido: " + cursor);
+    }
+}
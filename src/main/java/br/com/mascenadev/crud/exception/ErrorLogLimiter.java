@@ -0,0 +1,71 @@
+package br.com.mascenadev.crud.exception;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita o registro de erros inesperados a uma pilha de chamadas por tipo de exceção a cada
+ * intervalo. As ocorrências omitidas são contadas e informadas no registro seguinte, para que
+ * uma falha repetida a cada requisição não inunde o log nem custe uma pilha formatada por vez.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+final class ErrorLogLimiter {
+
+    private final Logger log;
+
+    private final long intervalNanos;
+
+    private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Cria o limitador.
+     *
+     * @param log      O logger em que os erros são registrados.
+     * @param interval O intervalo mínimo entre dois registros do mesmo tipo de exceção.
+     */
+    ErrorLogLimiter(Logger log, Duration interval) {
+        this.log = log;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Registra o erro com a pilha de chamadas, ou apenas o conta se o mesmo tipo de exceção
+     * já foi registrado dentro do intervalo.
+     *
+     * @param context Onde o erro ocorreu (ex: a URI da requisição).
+     * @param ex      O erro.
+     */
+    void error(String context, Throwable ex) {
+        Window window = windows.computeIfAbsent(ex.getClass(), type -> new Window(System.nanoTime() - intervalNanos));
+        long now = System.nanoTime();
+        long last = window.lastLogged.get();
+        if (now - last < intervalNanos || !window.lastLogged.compareAndSet(last, now)) {
+            window.suppressed.increment();
+            return;
+        }
+        long suppressed = window.suppressed.sumThenReset();
+        if (suppressed > 0) {
+            log.error("Erro inesperado em {} ({} ocorrências anteriores omitidas)", context, suppressed, ex);
+        } else {
+            log.error("Erro inesperado em {}", context, ex);
+        }
+    }
+
+    private static final class Window {
+
+        final AtomicLong lastLogged;
+
+        final LongAdder suppressed = new LongAdder();
+
+        Window(long lastLogged) {
+            this.lastLogged = new AtomicLong(lastLogged);
+        }
+    }
+}
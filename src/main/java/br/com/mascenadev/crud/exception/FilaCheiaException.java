@@ -0,0 +1,20 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando a fila de ingestão assíncrona está cheia e não pode
+ * aceitar novas tarefas até que o gravador em segundo plano a esvazie.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class FilaCheiaException extends TodoApiException {
+
+    /**
+     * Construtor que cria uma exceção informando a capacidade da fila.
+     *
+     * @param capacidade A capacidade máxima da fila.
+     */
+    public FilaCheiaException(int capacidade) {
+        super("A fila de ingestão atingiu a capacidade máxima de " + capacidade + " tarefas");
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando os parâmetros de filtro ou de projeção da listagem
+ * são inválidos (ex: faixa de prioridade invertida ou campo desconhecido em {@code fields}).
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class FiltroInvalidoException extends TodoApiException {
+
+    /**
+     * Construtor que cria uma exceção com a mensagem informada.
+     *
+     * @param message A descrição do problema com o filtro.
+     */
+    public FiltroInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,23 @@
 package br.com.mascenadev.crud.exception;
 
-import org.springframework.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -16,47 +25,73 @@ import java.util.Map;
  * <p>
  * Esta classe é responsável por centralizar o tratamento de exceções lançadas
  * pelos controladores e serviços da aplicação. Ela intercepta exceções específicas
- * e retorna respostas HTTP padronizadas com detalhes de erro formatados
- * pelo {@link ErroResponse}.
+ * e retorna respostas HTTP padronizadas no formato {@link ProblemDetail}
+ * ({@code application/problem+json}, RFC 9457), montadas a partir dos modelos de {@link TipoErro}.
  * </p>
  * <p>
  * Utiliza a anotação {@code @ControllerAdvice} para aplicar o tratamento de exceções
- * globalmente em todos os controladores da aplicação.
+ * globalmente em todos os controladores da aplicação. As exceções do próprio Spring MVC
+ * (método não suportado, parâmetro inválido, rota inexistente...) são tratadas por
+ * {@link ResponseEntityExceptionHandler} com seus status corretos, e não como erro interno.
+ * </p>
+ * <p>
+ * As exceções de domínio ({@link TodoApiException}) não capturam a pilha e não são logadas.
+ * Os erros inesperados são logados com a pilha, limitados a um registro por tipo de exceção a cada
+ * {@code todo-api.errors.log-interval}.
  * </p>
  *
  * @author Gilberto Dev
  * @see org.springframework.web.bind.annotation.ControllerAdvice
  * @see org.springframework.web.bind.annotation.ExceptionHandler
- * @see br.com.mascenadev.crud.exception.ErroResponse
+ * @see br.com.mascenadev.crud.exception.TipoErro
  * @since 1.0.0
  */
 @ControllerAdvice
-public class GlobalExceptionHandler {
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final String STREAM_RETRY_AFTER_SECONDS = "10";
+
+    private final ErrorLogLimiter errorLogLimiter;
+
+    /**
+     * Construtor para injeção do intervalo de registro de erros inesperados.
+     *
+     * @param logInterval O intervalo mínimo entre dois registros do mesmo tipo de exceção.
+     */
+    public GlobalExceptionHandler(@Value("${todo-api.errors.log-interval}") Duration logInterval) {
+        this.errorLogLimiter = new ErrorLogLimiter(log, logInterval);
+    }
 
     /**
      * Trata exceções do tipo {@link MethodArgumentNotValidException}, que ocorrem
      * quando a validação de argumentos de método (ex: DTOs anotados com {@code @Valid}) falha.
      * <p>
-     * Retorna uma resposta HTTP 400 Bad Request, contendo uma lista de erros de validação
-     * para cada campo problemático.
+     * Retorna uma resposta HTTP 400 Bad Request, contendo na propriedade {@code campos}
+     * a mensagem de erro de cada campo problemático.
      * </p>
      *
-     * @param ex A exceção {@link MethodArgumentNotValidException} capturada.
-     * @return Uma {@link ResponseEntity} contendo um {@link ErroResponse} com os detalhes dos erros de validação.
+     * @param ex      A exceção {@link MethodArgumentNotValidException} capturada.
+     * @param headers Os cabeçalhos da resposta.
+     * @param status  O status da resposta.
+     * @param request A requisição atual.
+     * @return Uma {@link ResponseEntity} contendo um {@link ProblemDetail} com os detalhes dos erros de validação.
      */
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErroResponse> handleValidationError(MethodArgumentNotValidException ex) {
-        Map<String, String> fieldErrors = new HashMap<>();
-        for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        List<FieldError> errors = ex.getBindingResult().getFieldErrors();
+        Map<String, String> fieldErrors = new HashMap<>(errors.size() * 2);
+        for (FieldError fieldError : errors) {
             fieldErrors.put(fieldError.getField(), fieldError.getDefaultMessage());
         }
-        ErroResponse erroResponse = new ErroResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Erro de validação nos campos enviados",
-                fieldErrors
-        );
-        return ResponseEntity.badRequest().body(erroResponse);
+        ProblemDetail problem = TipoErro.VALIDACAO.problem("Um ou mais campos enviados são inválidos");
+        problem.setProperty("campos", fieldErrors);
+        return ResponseEntity.of(problem).headers(headers).build();
     }
 
     /**
@@ -67,17 +102,157 @@ public class GlobalExceptionHandler {
      * </p>
      *
      * @param ex A exceção {@link TodoNaoEncontradoException} capturada.
-     * @return Uma {@link ResponseEntity} contendo um {@link ErroResponse} com a mensagem de "Todo não encontrado".
+     * @return Um {@link ProblemDetail} com a mensagem de "Todo não encontrado".
      */
     @ExceptionHandler(TodoNaoEncontradoException.class)
-    public ResponseEntity<ErroResponse> handleTodoNaoEncontradoException(TodoNaoEncontradoException ex) {
-        ErroResponse erroResponse = new ErroResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                "Todo não encontrado",
-                ex.getMessage()
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(erroResponse);
+    public ResponseEntity<ProblemDetail> handleTodoNaoEncontradoException(TodoNaoEncontradoException ex) {
+        return ResponseEntity.of(TipoErro.TODO_NAO_ENCONTRADO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link VersaoConflitanteException}, lançadas quando uma escrita
+     * condicional ({@code If-Match}) encontra a tarefa em outra versão.
+     * <p>
+     * Retorna uma resposta HTTP 412 Precondition Failed; o cliente deve reler a tarefa
+     * antes de tentar novamente.
+     * </p>
+     *
+     * @param ex A exceção {@link VersaoConflitanteException} capturada.
+     * @return Um {@link ProblemDetail} com a mensagem de conflito de versão.
+     */
+    @ExceptionHandler(VersaoConflitanteException.class)
+    public ResponseEntity<ProblemDetail> handleVersaoConflitanteException(VersaoConflitanteException ex) {
+        return ResponseEntity.of(TipoErro.VERSAO_CONFLITANTE.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link CursorInvalidoException}, lançadas quando o cursor
+     * de paginação enviado pelo cliente não pode ser decodificado.
+     * <p>
+     * Retorna uma resposta HTTP 400 Bad Request.
+     * </p>
+     *
+     * @param ex A exceção {@link CursorInvalidoException} capturada.
+     * @return Um {@link ProblemDetail} com a mensagem de cursor inválido.
+     */
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<ProblemDetail> handleCursorInvalidoException(CursorInvalidoException ex) {
+        return ResponseEntity.of(TipoErro.CURSOR_INVALIDO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link LoteInvalidoException}, lançadas quando uma requisição
+     * de operação em lote é rejeitada como um todo.
+     * <p>
+     * Retorna uma resposta HTTP 400 Bad Request.
+     * </p>
+     *
+     * @param ex A exceção {@link LoteInvalidoException} capturada.
+     * @return Um {@link ProblemDetail} com o motivo da rejeição do lote.
+     */
+    @ExceptionHandler(LoteInvalidoException.class)
+    public ResponseEntity<ProblemDetail> handleLoteInvalidoException(LoteInvalidoException ex) {
+        return ResponseEntity.of(TipoErro.LOTE_INVALIDO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link FiltroInvalidoException}, lançadas quando os filtros
+     * ou os campos solicitados na listagem são inválidos.
+     * <p>
+     * Retorna uma resposta HTTP 400 Bad Request.
+     * </p>
+     *
+     * @param ex A exceção {@link FiltroInvalidoException} capturada.
+     * @return Um {@link ProblemDetail} com o motivo da rejeição do filtro.
+     */
+    @ExceptionHandler(FiltroInvalidoException.class)
+    public ResponseEntity<ProblemDetail> handleFiltroInvalidoException(FiltroInvalidoException ex) {
+        return ResponseEntity.of(TipoErro.FILTRO_INVALIDO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link FilaCheiaException}, lançadas quando a fila de ingestão
+     * assíncrona não comporta novas tarefas.
+     * <p>
+     * Retorna uma resposta HTTP 429 Too Many Requests, com o cabeçalho {@code Retry-After}
+     * indicando quando o cliente pode tentar novamente.
+     * </p>
+     *
+     * @param ex A exceção {@link FilaCheiaException} capturada.
+     * @return Um {@link ProblemDetail} com a mensagem de fila cheia.
+     */
+    @ExceptionHandler(FilaCheiaException.class)
+    public ResponseEntity<ProblemDetail> handleFilaCheiaException(FilaCheiaException ex) {
+        return ResponseEntity.of(TipoErro.FILA_CHEIA.problem(ex.getMessage()))
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link TenantInvalidoException}, lançadas quando o cabeçalho
+     * {@code X-Tenant-ID} não é um tenant válido.
+     * <p>
+     * Retorna uma resposta HTTP 400 Bad Request.
+     * </p>
+     *
+     * @param ex A exceção {@link TenantInvalidoException} capturada.
+     * @return Um {@link ProblemDetail} com o motivo da rejeição do tenant.
+     */
+    @ExceptionHandler(TenantInvalidoException.class)
+    public ResponseEntity<ProblemDetail> handleTenantInvalidoException(TenantInvalidoException ex) {
+        return ResponseEntity.of(TipoErro.TENANT_INVALIDO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link CotaExcedidaException}, lançadas quando o tenant
+     * atingiu o número máximo de tarefas.
+     * <p>
+     * Retorna uma resposta HTTP 403 Forbidden: repetir a requisição não adianta até que
+     * o tenant remova tarefas ou tenha a cota ampliada.
+     * </p>
+     *
+     * @param ex A exceção {@link CotaExcedidaException} capturada.
+     * @return Um {@link ProblemDetail} com a cota do tenant.
+     */
+    @ExceptionHandler(CotaExcedidaException.class)
+    public ResponseEntity<ProblemDetail> handleCotaExcedidaException(CotaExcedidaException ex) {
+        return ResponseEntity.of(TipoErro.COTA_EXCEDIDA.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link TaxaExcedidaException}, lançadas quando o tenant
+     * excede a taxa de requisições permitida.
+     * <p>
+     * Retorna uma resposta HTTP 429 Too Many Requests, com o cabeçalho {@code Retry-After}
+     * indicando quando o tenant volta a ter requisições disponíveis.
+     * </p>
+     *
+     * @param ex A exceção {@link TaxaExcedidaException} capturada.
+     * @return Um {@link ProblemDetail} com a mensagem de taxa excedida.
+     */
+    @ExceptionHandler(TaxaExcedidaException.class)
+    public ResponseEntity<ProblemDetail> handleTaxaExcedidaException(TaxaExcedidaException ex) {
+        return ResponseEntity.of(TipoErro.TAXA_EXCEDIDA.problem(ex.getMessage()))
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .build();
+    }
+
+    /**
+     * Trata exceções do tipo {@link ConexoesEsgotadasException}, lançadas quando o fluxo de
+     * alterações já tem o número máximo de clientes conectados.
+     * <p>
+     * Retorna uma resposta HTTP 503 Service Unavailable, com o cabeçalho {@code Retry-After}
+     * indicando quando o cliente pode tentar se conectar de novo.
+     * </p>
+     *
+     * @param ex A exceção {@link ConexoesEsgotadasException} capturada.
+     * @return Um {@link ProblemDetail} com o limite de conexões.
+     */
+    @ExceptionHandler(ConexoesEsgotadasException.class)
+    public ResponseEntity<ProblemDetail> handleConexoesEsgotadasException(ConexoesEsgotadasException ex) {
+        return ResponseEntity.of(TipoErro.CONEXOES_ESGOTADAS.problem(ex.getMessage()))
+                .header(HttpHeaders.RETRY_AFTER, STREAM_RETRY_AFTER_SECONDS)
+                .build();
     }
 
     /**
@@ -85,20 +260,18 @@ public class GlobalExceptionHandler {
      * <p>
      * Atua como um "catch-all" para exceções não especificamente tratadas,
      * garantindo que nenhuma exceção interna seja exposta diretamente ao cliente.
+     * O erro é logado com a pilha de chamadas, com limite de frequência.
      * Retorna uma resposta HTTP 500 Internal Server Error.
      * </p>
      *
-     * @param ex A exceção {@link Exception} genérica capturada.
-     * @return Uma {@link ResponseEntity} contendo um {@link ErroResponse} com uma mensagem de erro genérica.
+     * @param ex      A exceção {@link Exception} genérica capturada.
+     * @param request A requisição atual, identificada no log.
+     * @return Um {@link ProblemDetail} com uma mensagem de erro genérica.
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErroResponse> handleGenericException(Exception ex) {
-        ErroResponse erroResponse = new ErroResponse(
-                LocalDateTime.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Erro interno no servidor",
-                "Ocorreu um erro inesperado. Por favor, tente novamente mais tarde."
-        );
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erroResponse);
+    public ResponseEntity<ProblemDetail> handleGenericException(Exception ex, WebRequest request) {
+        errorLogLimiter.error(request.getDescription(false), ex);
+        return ResponseEntity.of(TipoErro.ERRO_INTERNO.problem(
+                "Ocorreu um erro inesperado. Por favor, tente novamente mais tarde.")).build();
     }
 }
@@ -0,0 +1,20 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando uma requisição de operação em lote é rejeitada
+ * como um todo (ex: lista vazia ou com mais itens que o permitido).
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class LoteInvalidoException extends TodoApiException {
+
+    /**
+     * Construtor que cria uma exceção com a mensagem informada.
+     *
+     * @param message A descrição do problema com o lote.
+     */
+    public LoteInvalidoException(String message) {
+        super(message);
+    }
+}
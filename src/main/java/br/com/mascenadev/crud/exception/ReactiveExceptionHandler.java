@@ -0,0 +1,157 @@
+package br.com.mascenadev.crud.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contraparte do {@link GlobalExceptionHandler} na pilha reativa (perfil {@code reactive}).
+ * <p>
+ * Converte as mesmas exceções nas mesmas respostas {@link ProblemDetail} de {@link TipoErro},
+ * de modo que o contrato de erros de {@code /todos} não depende da pilha. As exceções do próprio
+ * WebFlux são tratadas pelo {@link ResponseEntityExceptionHandler} reativo, e os erros inesperados
+ * são logados com o mesmo limite de frequência ({@code todo-api.errors.log-interval}). As rejeições
+ * de tenant e de taxa acontecem antes dos controladores e são escritas pelo
+ * {@link br.com.mascenadev.crud.config.TenantWebFilter}.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    private final ErrorLogLimiter errorLogLimiter;
+
+    /**
+     * Construtor para injeção do intervalo de registro de erros inesperados.
+     *
+     * @param logInterval O intervalo mínimo entre dois registros do mesmo tipo de exceção.
+     */
+    public ReactiveExceptionHandler(@Value("${todo-api.errors.log-interval}") Duration logInterval) {
+        this.errorLogLimiter = new ErrorLogLimiter(log, logInterval);
+    }
+
+    /**
+     * Trata as falhas de validação do corpo ({@code @Valid}), com a mensagem de cada campo
+     * na propriedade {@code campos}, como {@link GlobalExceptionHandler}.
+     *
+     * @param ex       A exceção {@link WebExchangeBindException} capturada.
+     * @param headers  Os cabeçalhos da resposta.
+     * @param status   O status da resposta.
+     * @param exchange A requisição atual.
+     * @return A resposta 400 Bad Request com os erros de validação.
+     */
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex, HttpHeaders headers,
+                                                                         HttpStatusCode status, ServerWebExchange exchange) {
+        List<FieldError> errors = ex.getBindingResult().getFieldErrors();
+        Map<String, String> fieldErrors = new HashMap<>(errors.size() * 2);
+        for (FieldError fieldError : errors) {
+            fieldErrors.put(fieldError.getField(), fieldError.getDefaultMessage());
+        }
+        ProblemDetail problem = TipoErro.VALIDACAO.problem("Um ou mais campos enviados são inválidos");
+        problem.setProperty("campos", fieldErrors);
+        return Mono.just(ResponseEntity.of(problem).headers(headers).build());
+    }
+
+    /**
+     * Trata {@link TodoNaoEncontradoException}: 404 Not Found.
+     *
+     * @param ex A exceção capturada.
+     * @return O {@link ProblemDetail} da resposta.
+     */
+    @ExceptionHandler(TodoNaoEncontradoException.class)
+    public ResponseEntity<ProblemDetail> handleTodoNaoEncontradoException(TodoNaoEncontradoException ex) {
+        return ResponseEntity.of(TipoErro.TODO_NAO_ENCONTRADO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata {@link VersaoConflitanteException}: 412 Precondition Failed.
+     *
+     * @param ex A exceção capturada.
+     * @return O {@link ProblemDetail} da resposta.
+     */
+    @ExceptionHandler(VersaoConflitanteException.class)
+    public ResponseEntity<ProblemDetail> handleVersaoConflitanteException(VersaoConflitanteException ex) {
+        return ResponseEntity.of(TipoErro.VERSAO_CONFLITANTE.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata {@link CursorInvalidoException}: 400 Bad Request.
+     *
+     * @param ex A exceção capturada.
+     * @return O {@link ProblemDetail} da resposta.
+     */
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<ProblemDetail> handleCursorInvalidoException(CursorInvalidoException ex) {
+        return ResponseEntity.of(TipoErro.CURSOR_INVALIDO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata {@link LoteInvalidoException}: 400 Bad Request.
+     *
+     * @param ex A exceção capturada.
+     * @return O {@link ProblemDetail} da resposta.
+     */
+    @ExceptionHandler(LoteInvalidoException.class)
+    public ResponseEntity<ProblemDetail> handleLoteInvalidoException(LoteInvalidoException ex) {
+        return ResponseEntity.of(TipoErro.LOTE_INVALIDO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata {@link FiltroInvalidoException}: 400 Bad Request.
+     *
+     * @param ex A exceção capturada.
+     * @return O {@link ProblemDetail} da resposta.
+     */
+    @ExceptionHandler(FiltroInvalidoException.class)
+    public ResponseEntity<ProblemDetail> handleFiltroInvalidoException(FiltroInvalidoException ex) {
+        return ResponseEntity.of(TipoErro.FILTRO_INVALIDO.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata {@link CotaExcedidaException}: 403 Forbidden.
+     *
+     * @param ex A exceção capturada.
+     * @return O {@link ProblemDetail} da resposta.
+     */
+    @ExceptionHandler(CotaExcedidaException.class)
+    public ResponseEntity<ProblemDetail> handleCotaExcedidaException(CotaExcedidaException ex) {
+        return ResponseEntity.of(TipoErro.COTA_EXCEDIDA.problem(ex.getMessage())).build();
+    }
+
+    /**
+     * Trata as demais exceções: 500 Internal Server Error, com a pilha logada com limite de frequência.
+     *
+     * @param ex       A exceção capturada.
+     * @param exchange A requisição atual, identificada no log.
+     * @return O {@link ProblemDetail} da resposta, com uma mensagem genérica.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ProblemDetail> handleGenericException(Exception ex, ServerWebExchange exchange) {
+        errorLogLimiter.error("uri=" + exchange.getRequest().getPath().value(), ex);
+        return ResponseEntity.of(TipoErro.ERRO_INTERNO.problem(
+                "Ocorreu um erro inesperado. Por favor, tente novamente mais tarde.")).build();
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando um tenant excede a taxa de requisições permitida
+ * ({@code todo-api.tenancy.rate-limit}).
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TaxaExcedidaException extends TodoApiException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Construtor que cria uma exceção informando o tenant e a espera até a próxima requisição aceita.
+     *
+     * @param tenant            O tenant.
+     * @param retryAfterSeconds Os segundos até o tenant poder enviar uma nova requisição.
+     */
+    public TaxaExcedidaException(String tenant, long retryAfterSeconds) {
+        super("O tenant " + tenant + " excedeu a taxa de requisições permitida");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Obtém os segundos até o tenant poder enviar uma nova requisição.
+     *
+     * @return A espera, em segundos, para o cabeçalho {@code Retry-After}.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando o cabeçalho {@code X-Tenant-ID} da requisição não é um tenant válido.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TenantInvalidoException extends TodoApiException {
+
+    /**
+     * Construtor que cria uma exceção com uma mensagem incluindo o valor recebido.
+     *
+     * @param tenant O valor inválido.
+     */
+    public TenantInvalidoException(String tenant) {
+        super("Tenant inválido: '" + tenant + "'. Use letras minúsculas, dígitos, '-' e '_', com até 64 caracteres");
+    }
+}
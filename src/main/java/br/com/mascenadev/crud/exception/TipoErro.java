@@ -0,0 +1,66 @@
+package br.com.mascenadev.crud.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+/**
+ * Modelos das respostas de erro da API no formato {@link ProblemDetail} (RFC 9457, antiga RFC 7807).
+ * <p>
+ * Status, título e {@code type} de cada erro são montados uma única vez; a cada resposta
+ * resta apenas criar o {@link ProblemDetail} com o {@code detail} da ocorrência.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public enum TipoErro {
+
+    VALIDACAO(HttpStatus.BAD_REQUEST, "validacao", "Erro de validação nos campos enviados"),
+    TODO_NAO_ENCONTRADO(HttpStatus.NOT_FOUND, "todo-nao-encontrado", "Todo não encontrado"),
+    VERSAO_CONFLITANTE(HttpStatus.PRECONDITION_FAILED, "versao-conflitante", "Conflito de versão"),
+    CURSOR_INVALIDO(HttpStatus.BAD_REQUEST, "cursor-invalido", "Cursor inválido"),
+    LOTE_INVALIDO(HttpStatus.BAD_REQUEST, "lote-invalido", "Lote inválido"),
+    FILTRO_INVALIDO(HttpStatus.BAD_REQUEST, "filtro-invalido", "Filtro inválido"),
+    FILA_CHEIA(HttpStatus.TOO_MANY_REQUESTS, "fila-cheia", "Fila de ingestão cheia"),
+    TENANT_INVALIDO(HttpStatus.BAD_REQUEST, "tenant-invalido", "Tenant inválido"),
+    COTA_EXCEDIDA(HttpStatus.FORBIDDEN, "cota-excedida", "Cota de tarefas excedida"),
+    TAXA_EXCEDIDA(HttpStatus.TOO_MANY_REQUESTS, "taxa-excedida", "Taxa de requisições excedida"),
+    CONEXOES_ESGOTADAS(HttpStatus.SERVICE_UNAVAILABLE, "conexoes-esgotadas", "Limite de conexões do fluxo atingido"),
+    ERRO_INTERNO(HttpStatus.INTERNAL_SERVER_ERROR, "erro-interno", "Erro interno no servidor");
+
+    private final HttpStatus status;
+
+    private final URI type;
+
+    private final String title;
+
+    TipoErro(HttpStatus status, String slug, String title) {
+        this.status = status;
+        this.type = URI.create("urn:todo-api:erro:" + slug);
+        this.title = title;
+    }
+
+    /**
+     * Obtém o status HTTP do erro.
+     *
+     * @return O status.
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Cria a resposta de uma ocorrência do erro.
+     *
+     * @param detail A descrição desta ocorrência.
+     * @return O {@link ProblemDetail} com status, {@code type}, título e detalhe.
+     */
+    public ProblemDetail problem(String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setType(type);
+        problem.setTitle(title);
+        return problem;
+    }
+}
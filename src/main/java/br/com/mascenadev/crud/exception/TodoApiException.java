@@ -0,0 +1,25 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Base das exceções de domínio da API, que representam respostas esperadas ao cliente
+ * (404, 412, 400...) e não falhas da aplicação.
+ * <p>
+ * Não capturam a pilha de chamadas nem aceitam exceções suprimidas: a pilha atravessaria
+ * Tomcat, filtros e proxies do Spring a cada ID inexistente consultado, e nunca é registrada,
+ * pois o {@link GlobalExceptionHandler} converte essas exceções em respostas sem logá-las.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public abstract class TodoApiException extends RuntimeException {
+
+    /**
+     * Cria a exceção sem pilha de chamadas.
+     *
+     * @param message A mensagem, ou {@code null} se a subclasse a montar sob demanda em {@link #getMessage()}.
+     */
+    protected TodoApiException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -4,17 +4,24 @@ package br.com.mascenadev.crud.exception;
  * Exceção lançada quando uma tarefa (Todo) específica não é encontrada.
  * Esta é uma exceção de tempo de execução (unchecked exception) para evitar a propagação
  * excessiva da declaração de exceções nas assinaturas dos métodos.
+ * <p>
+ * É o caminho comum de clientes que consultam IDs inexistentes: como toda {@link TodoApiException},
+ * não captura a pilha de chamadas, e a mensagem só é montada se for lida.
+ * </p>
  *
  * @author Gilberto Dev
  * @since 1.0.0
  */
-public class TodoNaoEncontradoException extends RuntimeException {
+public class TodoNaoEncontradoException extends TodoApiException {
+
+    private final Long id;
 
     /**
      * Construtor padrão que cria uma exceção com uma mensagem genérica.
      */
     public TodoNaoEncontradoException() {
         super("Todo não encontrado");
+        this.id = null;
     }
 
     /**
@@ -23,6 +30,26 @@ public class TodoNaoEncontradoException extends RuntimeException {
      * @param id O ID da tarefa que não foi encontrada.
      */
     public TodoNaoEncontradoException(Long id) {
-        super("Todo com o ID " + id + " não foi encontrado");
+        super(null);
+        this.id = id;
+    }
+
+    /**
+     * Obtém o ID da tarefa que não foi encontrada.
+     *
+     * @return O ID, ou {@code null} se a exceção foi criada sem ele.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Monta a mensagem com o ID da tarefa, se houver.
+     *
+     * @return A mensagem da exceção.
+     */
+    @Override
+    public String getMessage() {
+        return id == null ? super.getMessage() : "Todo com o ID " + id + " não foi encontrado";
     }
 }
@@ -0,0 +1,44 @@
+package br.com.mascenadev.crud.exception;
+
+/**
+ * Exceção lançada quando uma escrita condicional ({@code If-Match}) encontra a tarefa
+ * em uma versão diferente da esperada pelo cliente, ou seja, a tarefa foi modificada
+ * por outra requisição desde a última leitura.
+ * A mensagem só é montada se for lida.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class VersaoConflitanteException extends TodoApiException {
+
+    private final Long id;
+
+    /**
+     * Construtor que cria uma exceção com uma mensagem incluindo o ID da tarefa.
+     *
+     * @param id O ID da tarefa em conflito.
+     */
+    public VersaoConflitanteException(Long id) {
+        super(null);
+        this.id = id;
+    }
+
+    /**
+     * Obtém o ID da tarefa em conflito.
+     *
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Monta a mensagem com o ID da tarefa.
+     *
+     * @return A mensagem da exceção.
+     */
+    @Override
+    public String getMessage() {
+        return "Todo com o ID " + id + " foi modificado por outra requisição";
+    }
+}
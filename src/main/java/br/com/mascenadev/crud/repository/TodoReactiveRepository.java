@@ -0,0 +1,438 @@
+package br.com.mascenadev.crud.repository;
+
+import br.com.mascenadev.crud.config.TenantSchemaConnectionProvider;
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.dtos.TodoWatermark;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contraparte reativa (R2DBC) de {@link TodoRepository}, usada pela pilha WebFlux
+ * (perfil {@code reactive}).
+ * <p>
+ * As consultas são as mesmas da pilha JPA, escritas em SQL: a página por chave (keyset) com os
+ * filtros e as colunas solicitadas, a listagem completa e a marca d'água da coleção, todas na
+ * ordenação dos índices {@code idx_todos_tenant_*}. Como aqui não há o Hibernate para acrescentar
+ * o tenant, ele é informado em cada método e entra no {@code WHERE} (e na tabela, para os tenants
+ * isolados em esquema próprio). As linhas são entregues ao assinante conforme a demanda dele, sem
+ * materializar o resultado.
+ * </p>
+ * <p>
+ * As escritas individuais seguem as da pilha JPA e participam da transação R2DBC de quem as
+ * assina: o incremento do contador de alterações do tenant, como o da
+ * {@code br.com.mascenadev.crud.service.TodoChangeSequence}, a inclusão, a alteração e a exclusão
+ * com o estado anterior da tarefa, como as de {@link TodoRepositoryCustomImpl} (tabelas delta no
+ * H2, senão a versão da tarefa conhecida ou uma leitura com bloqueio), e o registro da exclusão.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class TodoReactiveRepository {
+
+    private static final char ESCAPE = '!';
+
+    private static final String ORDER_BY = " order by tenant, prioridade desc, titulo, id";
+
+    private final DatabaseClient databaseClient;
+
+    private final Set<String> isolatedTenants;
+
+    /**
+     * Se o banco é o H2, com {@code FINAL TABLE} e {@code OLD TABLE}.
+     */
+    private final boolean h2;
+
+    private final boolean deltaTables;
+
+    /**
+     * Tenants cuja linha do contador de alterações já existe.
+     */
+    private final Set<String> counters = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param databaseClient  O cliente R2DBC.
+     * @param isolatedTenants Os tenants isolados em esquema próprio ({@code todo-api.tenancy.isolated-tenants}).
+     * @param deltaTables     Se as escritas usam as tabelas delta do banco, onde houver ({@code todo-api.database.delta-tables}).
+     */
+    public TodoReactiveRepository(DatabaseClient databaseClient,
+                                  @Value("${todo-api.tenancy.isolated-tenants:}") List<String> isolatedTenants,
+                                  @Value("${todo-api.database.delta-tables}") boolean deltaTables) {
+        this.databaseClient = databaseClient;
+        this.isolatedTenants = new HashSet<>();
+        isolatedTenants.forEach(tenant -> this.isolatedTenants.add(tenant.trim()));
+        this.h2 = "H2".equalsIgnoreCase(databaseClient.getConnectionFactory().getMetadata().getName());
+        this.deltaTables = deltaTables;
+    }
+
+    /**
+     * Busca uma tarefa do tenant pelo ID.
+     *
+     * @param tenant O tenant.
+     * @param id     O ID da tarefa.
+     * @return A tarefa, ou vazio se ela não existir no tenant.
+     */
+    public Mono<TodoResponseDTO> findById(String tenant, Long id) {
+        return databaseClient.sql("select id, titulo, descricao, realizado, prioridade, versao from " + table(tenant)
+                                  + " where tenant = :tenant and id = :id")
+                .bind("tenant", tenant)
+                .bind("id", id)
+                .map(row -> toResponse(row, TodoField.all()))
+                .one();
+    }
+
+    /**
+     * Busca uma página da listagem na ordenação padrão, como
+     * {@link TodoRepositoryCustom#findPage(TodoFilter, TodoCursor, Set, int)}.
+     *
+     * @param tenant O tenant.
+     * @param filtro Os filtros da listagem.
+     * @param after  O cursor da página anterior, ou {@code null} para a primeira página.
+     * @param campos Os campos a ler, além de {@code id}, {@code titulo} e {@code prioridade}, que compõem o cursor.
+     * @param limit  O número máximo de tarefas.
+     * @return As tarefas da página, na ordenação padrão.
+     */
+    public Flux<TodoResponseDTO> findPage(String tenant, TodoFilter filtro, TodoCursor after, Set<TodoField> campos,
+                                          int limit) {
+        StringBuilder sql = new StringBuilder("select id, titulo, prioridade");
+        for (TodoField campo : List.of(TodoField.DESCRICAO, TodoField.REALIZADO, TodoField.VERSAO)) {
+            if (campos.contains(campo)) {
+                sql.append(", ").append(campo.nome());
+            }
+        }
+        sql.append(" from ").append(table(tenant)).append(" where tenant = :tenant");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("tenant", tenant);
+        if (filtro.realizado() != null) {
+            sql.append(" and realizado = :realizado");
+            params.put("realizado", filtro.realizado());
+        }
+        if (filtro.prioridadeMin() != null) {
+            sql.append(" and prioridade >= :prioridadeMin");
+            params.put("prioridadeMin", filtro.prioridadeMin());
+        }
+        if (filtro.prioridadeMax() != null) {
+            sql.append(" and prioridade <= :prioridadeMax");
+            params.put("prioridadeMax", filtro.prioridadeMax());
+        }
+        if (filtro.tituloPrefixo() != null) {
+            sql.append(" and titulo like :tituloPrefixo escape '").append(ESCAPE).append('\'');
+            params.put("tituloPrefixo", TodoRepositoryCustomImpl.escapeLike(filtro.tituloPrefixo(), ESCAPE) + '%');
+        }
+        if (after != null) {
+            sql.append(" and prioridade <= :afterPrioridade and (prioridade < :afterPrioridade")
+                    .append(" or (prioridade = :afterPrioridade and titulo > :afterTitulo)")
+                    .append(" or (prioridade = :afterPrioridade and titulo = :afterTitulo and id > :afterId))");
+            params.put("afterPrioridade", after.prioridade());
+            params.put("afterTitulo", after.titulo());
+            params.put("afterId", after.id());
+        }
+        sql.append(filtro.realizado() != null
+                ? " order by tenant, realizado, prioridade desc, titulo, id"
+                : ORDER_BY);
+        sql.append(" limit :limit");
+        params.put("limit", limit);
+
+        return databaseClient.sql(sql.toString())
+                .bindValues(params)
+                .map(row -> toResponse(row, campos))
+                .all();
+    }
+
+    /**
+     * Percorre todas as tarefas do tenant na ordenação padrão. As linhas são lidas do banco
+     * conforme o assinante as consome.
+     *
+     * @param tenant O tenant.
+     * @return As tarefas.
+     */
+    public Flux<TodoResponseDTO> streamAll(String tenant) {
+        return databaseClient.sql("select id, titulo, descricao, realizado, prioridade, versao from " + table(tenant)
+                                  + " where tenant = :tenant" + ORDER_BY)
+                .bind("tenant", tenant)
+                .map(row -> toResponse(row, TodoField.all()))
+                .all();
+    }
+
+    /**
+     * Lê a marca d'água das tarefas do tenant, como {@link br.com.mascenadev.crud.service.TodoService#watermark()}:
+     * o contador de alterações do tenant, pela chave primária.
+     *
+     * @param tenant O tenant.
+     * @return A marca d'água, zero se o tenant ainda não tem contador.
+     */
+    public Mono<TodoWatermark> findWatermark(String tenant) {
+        return databaseClient.sql("select valor from " + table(tenant, "todo_change_counters") + " where tenant = :tenant")
+                .bind("tenant", tenant)
+                .map(row -> new TodoWatermark(longOf(row, 0)))
+                .one()
+                .defaultIfEmpty(new TodoWatermark(0));
+    }
+
+    /**
+     * Cria a linha do contador de alterações do tenant, se ainda não existir, a partir do maior
+     * número já gravado nas tarefas e exclusões dele. Deve ser assinado fora da transação da
+     * escrita, para que a criação seja confirmada antes de a escrita bloquear a linha.
+     *
+     * @param tenant O tenant.
+     * @return Um {@link Mono} que completa quando a linha existe.
+     */
+    public Mono<Void> ensureCounter(String tenant) {
+        if (counters.contains(tenant)) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("insert into " + table(tenant, "todo_change_counters") + " (tenant, valor)"
+                                  + " select :tenant, greatest("
+                                  + " coalesce((select max(t.sequencia) from " + table(tenant) + " t where t.tenant = :tenant), 0),"
+                                  + " coalesce((select max(d.sequencia) from " + table(tenant, "todo_tombstones")
+                                  + " d where d.tenant = :tenant), 0))"
+                                  + " from dual where not exists (select 1 from " + table(tenant, "todo_change_counters")
+                                  + " c where c.tenant = :tenant)")
+                .bind("tenant", tenant)
+                .fetch().rowsUpdated()
+                // Outra instância criou a linha ao mesmo tempo.
+                .onErrorResume(DataIntegrityViolationException.class, ex -> Mono.just(0L))
+                .doOnSuccess(rows -> counters.add(tenant))
+                .then();
+    }
+
+    /**
+     * Obtém o próximo número da sequência de alterações do tenant. A linha do contador fica
+     * bloqueada até o fim da transação.
+     *
+     * @param tenant O tenant, cuja linha do contador já deve existir ({@link #ensureCounter(String)}).
+     * @return O número, maior que todos os já confirmados no tenant.
+     */
+    public Mono<Long> nextSequence(String tenant) {
+        String increment = "update " + table(tenant, "todo_change_counters") + " set valor = valor + 1 where tenant = :tenant";
+        String select = "select valor from " + table(tenant, "todo_change_counters") + " where tenant = :tenant";
+        Mono<Long> valor = h2
+                ? databaseClient.sql("select valor from final table (" + increment + ")")
+                        .bind("tenant", tenant)
+                        .map(row -> longOf(row, 0))
+                        .one()
+                : databaseClient.sql(increment)
+                        .bind("tenant", tenant)
+                        .fetch().rowsUpdated()
+                        .filter(rows -> rows > 0)
+                        .flatMap(rows -> databaseClient.sql(select)
+                                .bind("tenant", tenant)
+                                .map(row -> longOf(row, 0))
+                                .one());
+        return valor.switchIfEmpty(Mono.defer(() -> {
+            counters.remove(tenant);
+            return Mono.error(new IllegalStateException("Contador de alterações ausente para o tenant " + tenant));
+        }));
+    }
+
+    /**
+     * Inclui uma tarefa, na versão 0.
+     *
+     * @param tenant    O tenant.
+     * @param id        O ID reservado para a tarefa.
+     * @param dados     Os dados da tarefa.
+     * @param sequencia O número da inclusão na sequência de alterações.
+     * @param criadoEm  O instante da inclusão.
+     * @return Um {@link Mono} que completa após a inclusão.
+     */
+    public Mono<Void> insert(String tenant, Long id, TodoRequestDTO dados, long sequencia, Instant criadoEm) {
+        return databaseClient.sql("insert into " + table(tenant) + " (id, tenant, titulo, descricao, realizado, prioridade,"
+                                  + " versao, criado_em, atualizado_em, sequencia) values (:id, :tenant, :titulo, :descricao,"
+                                  + " :realizado, :prioridade, 0, :criadoEm, :criadoEm, :sequencia)")
+                .bind("id", id)
+                .bind("tenant", tenant)
+                .bind("titulo", dados.getTitulo())
+                .bind("descricao", dados.getDescricao())
+                .bind("realizado", dados.getRealizado())
+                .bind("prioridade", dados.getPrioridade())
+                .bind("criadoEm", criadoEm)
+                .bind("sequencia", sequencia)
+                .then();
+    }
+
+    /**
+     * Atualiza uma tarefa e devolve a prioridade e o status que ela tinha, como
+     * {@link TodoRepositoryCustom#updateReturningPrevious}.
+     *
+     * @param tenant       O tenant.
+     * @param id           O ID da tarefa.
+     * @param versoes      As versões aceitas como atuais, ou {@code null} para atualizar incondicionalmente.
+     * @param dados        Os novos dados.
+     * @param sequencia    O número da alteração, que passa a ser também a versão.
+     * @param atualizadoEm O instante da alteração.
+     * @param conhecida    A tarefa conhecida pelo serviço (a do cache), ou {@code null}.
+     * @return O estado anterior, ou vazio se a tarefa não existir no tenant ou não estiver em uma das versões.
+     */
+    public Mono<TodoEstado> updateReturningPrevious(String tenant, Long id, Collection<Long> versoes, TodoRequestDTO dados,
+                                                    long sequencia, Instant atualizadoEm, TodoResponseDTO conhecida) {
+        String update = "update " + table(tenant) + " set titulo = :titulo, descricao = :descricao, realizado = :realizado,"
+                        + " prioridade = :prioridade, versao = :sequencia, sequencia = :sequencia, atualizado_em = :atualizadoEm";
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("titulo", dados.getTitulo());
+        params.put("descricao", dados.getDescricao());
+        params.put("realizado", dados.getRealizado());
+        params.put("prioridade", dados.getPrioridade());
+        params.put("sequencia", sequencia);
+        params.put("atualizadoEm", atualizadoEm);
+        return returningPrevious(tenant, update, params, id, versoes, conhecida);
+    }
+
+    /**
+     * Remove uma tarefa e devolve a prioridade e o status que ela tinha, como
+     * {@link TodoRepositoryCustom#removeReturningPrevious}.
+     *
+     * @param tenant    O tenant.
+     * @param id        O ID da tarefa.
+     * @param versoes   As versões aceitas como atuais, ou {@code null} para remover incondicionalmente.
+     * @param conhecida A tarefa conhecida pelo serviço (a do cache), ou {@code null}.
+     * @return O estado anterior, ou vazio se a tarefa não existir no tenant ou não estiver em uma das versões.
+     */
+    public Mono<TodoEstado> removeReturningPrevious(String tenant, Long id, Collection<Long> versoes,
+                                                    TodoResponseDTO conhecida) {
+        return returningPrevious(tenant, "delete from " + table(tenant), new LinkedHashMap<>(), id, versoes, conhecida);
+    }
+
+    /**
+     * Registra a exclusão de uma tarefa, como o {@code TodoTombstone} da pilha JPA.
+     *
+     * @param tenant     O tenant.
+     * @param id         O ID da tarefa removida.
+     * @param sequencia  O número da exclusão na sequência de alterações.
+     * @param removidoEm O instante da exclusão.
+     * @return Um {@link Mono} que completa após o registro.
+     */
+    public Mono<Void> insertTombstone(String tenant, Long id, long sequencia, Instant removidoEm) {
+        return databaseClient.sql("insert into " + table(tenant, "todo_tombstones")
+                                  + " (id, tenant, sequencia, removido_em) values (:id, :tenant, :sequencia, :removidoEm)")
+                .bind("id", id)
+                .bind("tenant", tenant)
+                .bind("sequencia", sequencia)
+                .bind("removidoEm", removidoEm)
+                .then();
+    }
+
+    /**
+     * Verifica se uma tarefa existe no tenant.
+     *
+     * @param tenant O tenant.
+     * @param id     O ID da tarefa.
+     * @return {@code true} se ela existir.
+     */
+    public Mono<Boolean> exists(String tenant, Long id) {
+        return databaseClient.sql("select 1 from " + table(tenant) + " where tenant = :tenant and id = :id")
+                .bind("tenant", tenant)
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .one()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Executa um UPDATE ou DELETE de uma tarefa obtendo o estado anterior dela: dentro de
+     * {@code OLD TABLE} no H2; senão, condicionado à versão da tarefa conhecida, e só sem ela, ou
+     * quando ela já não é a atual, depois de ler a tarefa com bloqueio.
+     */
+    private Mono<TodoEstado> returningPrevious(String tenant, String dml, Map<String, Object> params, Long id,
+                                               Collection<Long> versoes, TodoResponseDTO conhecida) {
+        if (h2 && deltaTables) {
+            return databaseClient.sql("select id, prioridade, realizado from old table (" + dml + where(versoes) + ")")
+                    .bindValues(params(params, tenant, id, versoes))
+                    .map(TodoReactiveRepository::toEstado)
+                    .one();
+        }
+        Long versaoConhecida = knownVersion(conhecida, versoes);
+        Mono<TodoEstado> locked = Mono.defer(() -> databaseClient.sql("select id, prioridade, realizado from " + table(tenant)
+                                                                      + where(versoes) + " for update")
+                .bindValues(params(Map.of(), tenant, id, versoes))
+                .map(TodoReactiveRepository::toEstado)
+                .one()
+                .flatMap(anterior -> databaseClient.sql(dml + where(null))
+                        .bindValues(params(params, tenant, id, null))
+                        .then()
+                        .thenReturn(anterior)));
+        if (versaoConhecida == null) {
+            return locked;
+        }
+        return databaseClient.sql(dml + where(List.of(versaoConhecida)))
+                .bindValues(params(params, tenant, id, List.of(versaoConhecida)))
+                .fetch().rowsUpdated()
+                .flatMap(rows -> rows == 1
+                        ? Mono.just(new TodoEstado(conhecida.getId(), conhecida.getPrioridade(), conhecida.getRealizado()))
+                        : locked);
+    }
+
+    private static String where(Collection<Long> versoes) {
+        return " where tenant = :tenant and id = :id" + (versoes == null ? "" : " and versao in (:versoes)");
+    }
+
+    private static Map<String, Object> params(Map<String, Object> params, String tenant, Long id, Collection<Long> versoes) {
+        Map<String, Object> all = new LinkedHashMap<>(params);
+        all.put("tenant", tenant);
+        all.put("id", id);
+        if (versoes != null) {
+            all.put("versoes", versoes);
+        }
+        return all;
+    }
+
+    /**
+     * Obtém a versão da tarefa conhecida, se ela for uma das aceitas.
+     */
+    private static Long knownVersion(TodoResponseDTO conhecida, Collection<Long> versoes) {
+        if (conhecida == null || conhecida.getVersao() == null
+            || conhecida.getPrioridade() == null || conhecida.getRealizado() == null) {
+            return null;
+        }
+        return versoes == null || versoes.contains(conhecida.getVersao()) ? conhecida.getVersao() : null;
+    }
+
+    private static TodoEstado toEstado(Readable row) {
+        return new TodoEstado(longOf(row, 0), ((Number) row.get(1)).intValue(), row.get(2, Boolean.class));
+    }
+
+    private String table(String tenant) {
+        return table(tenant, "todos");
+    }
+
+    private String table(String tenant, String nome) {
+        return isolatedTenants.contains(tenant) ? TenantSchemaConnectionProvider.schemaOf(tenant) + "." + nome : nome;
+    }
+
+    private static TodoResponseDTO toResponse(Readable row, Set<TodoField> campos) {
+        return new TodoResponseDTO(
+                row.get("id", Long.class),
+                row.get("titulo", String.class),
+                campos.contains(TodoField.DESCRICAO) ? row.get("descricao", String.class) : null,
+                campos.contains(TodoField.REALIZADO) ? row.get("realizado", Boolean.class) : null,
+                row.get("prioridade", Integer.class),
+                campos.contains(TodoField.VERSAO) ? row.get("versao", Long.class) : null);
+    }
+
+    private static Long longOf(Readable row, int index) {
+        return ((Number) row.get(index)).longValue();
+    }
+}
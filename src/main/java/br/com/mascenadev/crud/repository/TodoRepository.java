@@ -1,7 +1,92 @@
 package br.com.mascenadev.crud.repository;
 
 import br.com.mascenadev.crud.domain.Todo;
+import br.com.mascenadev.crud.dtos.TodoCount;
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoRepositoryCustom {
+
+    /**
+     * Percorre todas as tarefas na ordenação padrão como um cursor somente-leitura.
+     * Projeta diretamente para {@link TodoResponseDTO}, sem entidades gerenciadas
+     * no contexto de persistência. Deve ser consumido dentro de uma transação
+     * e fechado ao final.
+     *
+     * @return Um {@link Stream} das tarefas.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.mascenadev.crud.dtos.TodoResponseDTO(t.id, t.titulo, t.descricao, t.realizado, t.prioridade, t.versao)
+            from Todo t
+            order by t.tenant asc, t.prioridade desc, t.titulo asc, t.id asc
+            """)
+    Stream<TodoResponseDTO> streamAll();
+
+    /**
+     * Filtra, dentre os IDs informados, os que correspondem a tarefas existentes.
+     *
+     * @param ids Os IDs a verificar.
+     * @return Os IDs existentes.
+     */
+    @Query("select t.id from Todo t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca a prioridade e o status atuais das tarefas informadas que existirem.
+     *
+     * @param ids Os IDs a buscar.
+     * @return O estado de cada tarefa existente.
+     */
+    @Query("select new br.com.mascenadev.crud.dtos.TodoEstado(t.id, t.prioridade, t.realizado) from Todo t where t.id in :ids")
+    List<TodoEstado> findEstados(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca as tarefas alteradas em um intervalo da sequência de alterações, em ordem de alteração,
+     * pelo índice {@code idx_todos_tenant_sequencia}. As entidades são carregadas somente leitura.
+     *
+     * @param since O último número de alteração já conhecido pelo cliente (exclusivo).
+     * @param until O maior número de alteração a incluir (inclusivo).
+     * @param limit O número máximo de tarefas.
+     * @return As tarefas alteradas, ordenadas por {@code sequencia}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select t from Todo t where t.sequencia > :since and t.sequencia <= :until order by t.tenant, t.sequencia")
+    List<Todo> findChangedBetween(@Param("since") long since, @Param("until") long until, Limit limit);
+
+    /**
+     * Lista os tenants com ao menos uma tarefa visível na sessão: apenas o próprio, exceto
+     * para o tenant raiz, que enxerga todos.
+     *
+     * @return Os tenants.
+     */
+    @Query("select distinct t.tenant from Todo t")
+    List<String> findTenants();
+
+    /**
+     * Conta as tarefas por prioridade e status, com um único {@code COUNT ... GROUP BY},
+     * para a conferência das estatísticas mantidas em memória.
+     *
+     * @return As quantidades de cada combinação de prioridade e status com ao menos uma tarefa.
+     */
+    @Query("""
+            select new br.com.mascenadev.crud.dtos.TodoCount(t.prioridade, t.realizado, count(t))
+            from Todo t
+            group by t.prioridade, t.realizado
+            """)
+    List<TodoCount> countByPrioridadeAndRealizado();
 }
@@ -0,0 +1,72 @@
+package br.com.mascenadev.crud.repository;
+
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Consultas de {@link TodoRepository} montadas dinamicamente com a Criteria API, e as escritas
+ * individuais que devolvem o estado anterior da tarefa, cujo SQL depende do banco.
+ *
+ * @author Gilberto Dev
+ * @see TodoRepositoryCustomImpl
+ * @since 1.1.0
+ */
+public interface TodoRepositoryCustom {
+
+    /**
+     * Busca uma página da listagem na ordenação padrão (prioridade descendente,
+     * título ascendente, ID ascendente), aplicando os filtros informados e lendo do banco
+     * apenas as colunas solicitadas.
+     * <p>
+     * As colunas da chave de paginação (ID, título e prioridade) são sempre lidas, pois
+     * compõem o cursor da próxima página; as demais, quando não solicitadas, vêm nulas.
+     * </p>
+     *
+     * @param filtro Os filtros da listagem.
+     * @param after  A posição após a qual a página começa, ou {@code null} para a primeira página.
+     * @param campos Os campos solicitados.
+     * @param limit  O número máximo de tarefas.
+     * @return As tarefas da página, projetadas em {@link TodoResponseDTO}.
+     */
+    List<TodoResponseDTO> findPage(TodoFilter filtro, TodoCursor after, Set<TodoField> campos, int limit);
+
+    /**
+     * Atualiza os campos de uma tarefa sem carregá-la antes, gravando como nova versão o número
+     * da alteração, e devolve a prioridade e o status que ela tinha antes do UPDATE.
+     * <p>
+     * A tarefa conhecida (ex: a do cache) evita a leitura nos bancos sem tabelas delta: o UPDATE
+     * é condicionado à versão dela, e se ele afetar a linha o estado anterior é o conhecido.
+     * </p>
+     *
+     * @param id           O ID da tarefa a ser atualizada.
+     * @param versoes      As versões aceitas como atuais (não pode ser vazio), ou {@code null} para qualquer versão.
+     * @param dados        Os novos dados da tarefa.
+     * @param sequencia    O número da alteração na sequência de alterações, que passa a ser a versão.
+     * @param atualizadoEm O instante da alteração.
+     * @param conhecida    A última versão conhecida da tarefa, ou {@code null}.
+     * @return O estado anterior, ou vazio se a tarefa não existir ou estiver em outra versão.
+     */
+    Optional<TodoEstado> updateReturningPrevious(Long id, Collection<Long> versoes, TodoRequestDTO dados,
+                                                 long sequencia, Instant atualizadoEm, TodoResponseDTO conhecida);
+
+    /**
+     * Remove uma tarefa sem carregá-la antes e devolve a prioridade e o status que ela tinha.
+     * A tarefa conhecida é usada como em {@link #updateReturningPrevious}.
+     *
+     * @param id        O ID da tarefa a ser removida.
+     * @param versoes   As versões aceitas como atuais (não pode ser vazio), ou {@code null} para qualquer versão.
+     * @param conhecida A última versão conhecida da tarefa, ou {@code null}.
+     * @return O estado anterior, ou vazio se a tarefa não existir ou estiver em outra versão.
+     */
+    Optional<TodoEstado> removeReturningPrevious(Long id, Collection<Long> versoes, TodoResponseDTO conhecida);
+}
@@ -0,0 +1,310 @@
+package br.com.mascenadev.crud.repository;
+
+import br.com.mascenadev.crud.config.ReplicaRoutingDataSource;
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.domain.Todo;
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Implementação de {@link TodoRepositoryCustom} com a Criteria API.
+ * <p>
+ * A paginação é por chave (keyset), sem OFFSET. O predicado redundante
+ * {@code prioridade <= :prioridade} permite ao banco posicionar a leitura no índice
+ * {@code idx_todos_tenant_listagem} (ou em {@code idx_todos_tenant_realizado_listagem}, quando
+ * há filtro por status), em vez de percorrê-lo desde o início. A ordenação começa pelas colunas
+ * fixas na consulta (o tenant da sessão e o status filtrado), para que ela coincida com a do
+ * índice mesmo nos bancos que não as descartam da ordenação (ex: H2).
+ * </p>
+ * <p>
+ * As páginas ficam no cache de consultas do Hibernate, invalidado a cada escrita na tabela. Uma
+ * leitura que pode ir para a réplica ({@code todo-api.replica.enabled}) não usa o cache
+ * ({@link CacheMode#IGNORE}): a invalidação só conhece as escritas, e a página de uma réplica
+ * atrasada, gravada depois da escrita, seria servida como atual até mesmo ao cliente que escreveu.
+ * ({@link CacheMode#GET} não basta: o Hibernate 6.6 grava o resultado de uma consulta não
+ * encontrada no cache também nesse modo.)
+ * </p>
+ * <p>
+ * As escritas individuais devolvem o estado anterior da tarefa sem uma leitura a mais quando o
+ * banco tem tabelas delta de alteração (H2: {@code SELECT ... FROM OLD TABLE (UPDATE ...)}); são
+ * comandos nativos, que filtram o tenant explicitamente e agendam a mesma invalidação do cache
+ * de consultas de um UPDATE em massa. Nos demais bancos (ex: MySQL, sem {@code RETURNING}), ou com
+ * {@code todo-api.database.delta-tables} desligado, o estado anterior vem da tarefa conhecida pelo
+ * serviço (a do cache): o comando é condicionado à versão dela e, se afetar a linha, não há leitura.
+ * Só sem a tarefa conhecida, ou quando ela já não é a atual, a tarefa é lida com bloqueio
+ * ({@code SELECT ... FOR UPDATE}) antes do comando.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public class TodoRepositoryCustomImpl implements TodoRepositoryCustom {
+
+    private static final char ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${todo-api.database.delta-tables}")
+    private boolean deltaTables;
+
+    @Value("${todo-api.replica.enabled}")
+    private boolean replicaEnabled;
+
+    @Override
+    public List<TodoResponseDTO> findPage(TodoFilter filtro, TodoCursor after, Set<TodoField> campos, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoResponseDTO> query = cb.createQuery(TodoResponseDTO.class);
+        Root<Todo> todo = query.from(Todo.class);
+        Path<Long> id = todo.get("id");
+        Path<String> titulo = todo.get("titulo");
+        Path<Integer> prioridade = todo.get("prioridade");
+
+        query.select(cb.construct(TodoResponseDTO.class,
+                id,
+                titulo,
+                column(cb, todo, campos, TodoField.DESCRICAO, String.class),
+                column(cb, todo, campos, TodoField.REALIZADO, Boolean.class),
+                prioridade,
+                column(cb, todo, campos, TodoField.VERSAO, Long.class)));
+
+        List<Predicate> where = new ArrayList<>();
+        if (filtro.realizado() != null) {
+            where.add(cb.equal(todo.get("realizado"), filtro.realizado()));
+        }
+        if (filtro.prioridadeMin() != null) {
+            where.add(cb.ge(prioridade, filtro.prioridadeMin()));
+        }
+        if (filtro.prioridadeMax() != null) {
+            where.add(cb.le(prioridade, filtro.prioridadeMax()));
+        }
+        if (filtro.tituloPrefixo() != null) {
+            where.add(cb.like(titulo, escapeLike(filtro.tituloPrefixo(), ESCAPE) + '%', ESCAPE));
+        }
+        if (after != null) {
+            where.add(cb.le(prioridade, after.prioridade()));
+            where.add(cb.or(
+                    cb.lt(prioridade, after.prioridade()),
+                    cb.and(cb.equal(prioridade, after.prioridade()), cb.greaterThan(titulo, after.titulo())),
+                    cb.and(cb.equal(prioridade, after.prioridade()), cb.equal(titulo, after.titulo()), cb.gt(id, after.id()))));
+        }
+        query.where(where.toArray(Predicate[]::new));
+        List<Order> orderBy = new ArrayList<>();
+        orderBy.add(cb.asc(todo.get("tenant")));
+        if (filtro.realizado() != null) {
+            orderBy.add(cb.asc(todo.get("realizado")));
+        }
+        orderBy.addAll(List.of(cb.desc(prioridade), cb.asc(titulo), cb.asc(id)));
+        query.orderBy(orderBy);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_MODE, mayReadFromReplica() ? CacheMode.IGNORE : CacheMode.NORMAL)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<TodoEstado> updateReturningPrevious(Long id, Collection<Long> versoes, TodoRequestDTO dados,
+                                                        long sequencia, Instant atualizadoEm, TodoResponseDTO conhecida) {
+        if (supportsOldTable()) {
+            return returningPrevious("""
+                    update todos
+                    set titulo = :titulo, descricao = :descricao, realizado = :realizado, prioridade = :prioridade,
+                        versao = :sequencia, sequencia = :sequencia, atualizado_em = :atualizadoEm
+                    """, id, versoes, query -> query
+                    .setParameter("titulo", dados.getTitulo())
+                    .setParameter("descricao", dados.getDescricao())
+                    .setParameter("realizado", dados.getRealizado())
+                    .setParameter("prioridade", dados.getPrioridade())
+                    .setParameter("sequencia", sequencia)
+                    .setParameter("atualizadoEm", atualizadoEm));
+        }
+        Long versaoConhecida = knownVersion(conhecida, versoes);
+        if (versaoConhecida != null && update(id, List.of(versaoConhecida), dados, sequencia, atualizadoEm) == 1) {
+            return Optional.of(estado(conhecida));
+        }
+        Optional<TodoEstado> anterior = lockPrevious(id, versoes);
+        if (anterior.isPresent()) {
+            update(id, null, dados, sequencia, atualizadoEm);
+        }
+        return anterior;
+    }
+
+    @Override
+    public Optional<TodoEstado> removeReturningPrevious(Long id, Collection<Long> versoes, TodoResponseDTO conhecida) {
+        if (supportsOldTable()) {
+            return returningPrevious("delete from todos\n", id, versoes, query -> query);
+        }
+        Long versaoConhecida = knownVersion(conhecida, versoes);
+        if (versaoConhecida != null && remove(id, List.of(versaoConhecida)) == 1) {
+            return Optional.of(estado(conhecida));
+        }
+        Optional<TodoEstado> anterior = lockPrevious(id, versoes);
+        if (anterior.isPresent()) {
+            remove(id, null);
+        }
+        return anterior;
+    }
+
+    private int update(Long id, Collection<Long> versoes, TodoRequestDTO dados, long sequencia, Instant atualizadoEm) {
+        return byVersion(entityManager.createQuery("""
+                        update Todo t
+                        set t.titulo = :titulo, t.descricao = :descricao, t.realizado = :realizado,
+                            t.prioridade = :prioridade, t.versao = :sequencia, t.sequencia = :sequencia,
+                            t.atualizadoEm = :atualizadoEm
+                        where t.id = :id
+                        """ + (versoes == null ? "" : " and t.versao in :versoes")), versoes)
+                .setParameter("titulo", dados.getTitulo())
+                .setParameter("descricao", dados.getDescricao())
+                .setParameter("realizado", dados.getRealizado())
+                .setParameter("prioridade", dados.getPrioridade())
+                .setParameter("sequencia", sequencia)
+                .setParameter("atualizadoEm", atualizadoEm)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    private int remove(Long id, Collection<Long> versoes) {
+        return byVersion(entityManager.createQuery("delete from Todo t where t.id = :id"
+                                                   + (versoes == null ? "" : " and t.versao in :versoes")), versoes)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    private static Query byVersion(Query query, Collection<Long> versoes) {
+        return versoes == null ? query : query.setParameter("versoes", versoes);
+    }
+
+    /**
+     * Obtém a versão da tarefa conhecida, se ela for uma das aceitas.
+     */
+    private static Long knownVersion(TodoResponseDTO conhecida, Collection<Long> versoes) {
+        if (conhecida == null || conhecida.getVersao() == null
+            || conhecida.getPrioridade() == null || conhecida.getRealizado() == null) {
+            return null;
+        }
+        return versoes == null || versoes.contains(conhecida.getVersao()) ? conhecida.getVersao() : null;
+    }
+
+    private static TodoEstado estado(TodoResponseDTO todo) {
+        return new TodoEstado(todo.getId(), todo.getPrioridade(), todo.getRealizado());
+    }
+
+    private boolean supportsOldTable() {
+        return deltaTables && session().getFactory().getJdbcServices().getDialect() instanceof H2Dialect;
+    }
+
+    /**
+     * Executa um UPDATE ou DELETE de uma tarefa dentro de {@code OLD TABLE}, que devolve as linhas
+     * como estavam antes do comando.
+     */
+    private Optional<TodoEstado> returningPrevious(String dml, Long id, Collection<Long> versoes,
+                                                   UnaryOperator<NativeQuery<Object[]>> binder) {
+        SharedSessionContractImplementor session = session();
+        String tenant = (String) session.getTenantIdentifierValue();
+        boolean root = TenantContext.ROOT.equals(tenant);
+        String sql = "select id, prioridade, realizado from old table (" + dml + "where id = :id"
+                     + (versoes == null ? "" : " and versao in (:versoes)")
+                     + (root ? "" : " and tenant = :tenant") + ")";
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = (NativeQuery<Object[]>) entityManager.createNativeQuery(sql, Object[].class)
+                .unwrap(NativeQuery.class);
+        query.addSynchronizedEntityClass(Todo.class).setParameter("id", id);
+        if (versoes != null) {
+            query.setParameterList("versoes", versoes);
+        }
+        if (!root) {
+            query.setParameter("tenant", tenant);
+        }
+        List<Object[]> rows = binder.apply(query).getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        BulkOperationCleanupAction.schedule(session, session.getFactory().getMappingMetamodel().getEntityDescriptor(Todo.class));
+        Object[] row = rows.get(0);
+        return Optional.of(new TodoEstado(((Number) row[0]).longValue(), ((Number) row[1]).intValue(), (Boolean) row[2]));
+    }
+
+    private Optional<TodoEstado> lockPrevious(Long id, Collection<Long> versoes) {
+        TypedQuery<Todo> query = entityManager.createQuery("select t from Todo t where t.id = :id"
+                                                           + (versoes == null ? "" : " and t.versao in :versoes"), Todo.class)
+                .setParameter("id", id)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        if (versoes != null) {
+            query.setParameter("versoes", versoes);
+        }
+        return query.getResultStream()
+                .findFirst()
+                .map(todo -> new TodoEstado(todo.getId(), todo.getPrioridade(), todo.getRealizado()));
+    }
+
+    /**
+     * Indica se a transação atual pode ser atendida pela réplica: é somente leitura e a thread não
+     * exige o primário. O atraso da réplica não é considerado, pois pode mudar antes da conexão.
+     */
+    private boolean mayReadFromReplica() {
+        return replicaEnabled && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+               && !ReplicaRoutingDataSource.isPrimaryRequired();
+    }
+
+    private SharedSessionContractImplementor session() {
+        return entityManager.unwrap(SharedSessionContractImplementor.class);
+    }
+
+    private static <T> Expression<T> column(CriteriaBuilder cb, Root<Todo> todo, Set<TodoField> campos,
+                                            TodoField campo, Class<T> type) {
+        return campos.contains(campo) ? todo.get(campo.nome()) : cb.nullLiteral(type);
+    }
+
+    /**
+     * Escapa os curingas de LIKE ({@code %} e {@code _}) e o próprio caractere de escape.
+     *
+     * @param value  O valor a ser usado como prefixo literal.
+     * @param escape O caractere de escape declarado no {@code ESCAPE} da consulta.
+     * @return O valor escapado.
+     */
+    static String escapeLike(String value, char escape) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == escape) {
+                escaped.append(escape);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.mascenadev.crud.repository;
+
+import br.com.mascenadev.crud.domain.TodoTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repositório dos registros de exclusão de tarefas ({@link TodoTombstone}).
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    /**
+     * Busca as exclusões em um intervalo da sequência de alterações, em ordem de alteração,
+     * pelo índice {@code idx_todo_tombstones_tenant_sequencia}.
+     *
+     * @param since O último número de alteração já conhecido pelo cliente (exclusivo).
+     * @param until O maior número de alteração a incluir (inclusivo).
+     * @param limit O número máximo de exclusões.
+     * @return As exclusões, ordenadas por {@code sequencia}.
+     */
+    @Query("select t from TodoTombstone t where t.sequencia > :since and t.sequencia <= :until order by t.tenant, t.sequencia")
+    List<TodoTombstone> findBetween(@Param("since") long since, @Param("until") long until, Limit limit);
+}
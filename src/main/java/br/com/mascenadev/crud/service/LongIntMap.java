@@ -0,0 +1,113 @@
+package br.com.mascenadev.crud.service;
+
+/**
+ * Tabela hash de {@code long} (ID de tarefa) para {@code int} não negativo, com sondagem linear e
+ * remoção por deslocamento, sem objetos por entrada. Os valores são guardados somados de um, e zero
+ * marca uma posição vazia. Não é segura para uso concorrente.
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+final class LongIntMap {
+
+    private long[] keys = new long[16];
+
+    private int[] values = new int[16];
+
+    private int size;
+
+    /**
+     * Obtém o valor associado a uma chave.
+     *
+     * @param key A chave.
+     * @return O valor, ou {@code -1} se a chave não estiver presente.
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; values[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Associa um valor a uma chave, substituindo o anterior.
+     *
+     * @param key   A chave.
+     * @param value O valor, não negativo.
+     */
+    void put(long key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (values[i] != 0 && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == 0) {
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+    }
+
+    /**
+     * Remove uma chave, se presente.
+     *
+     * @param key A chave.
+     * @return O valor removido, ou {@code -1} se a chave não estava presente.
+     */
+    int remove(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != key || values[i] == 0) {
+            if (values[i] == 0) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+        int removed = values[i] - 1;
+        for (int j = (i + 1) & mask; values[j] != 0; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            boolean fica = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!fica) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        values[i] = 0;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Obtém o número de chaves.
+     *
+     * @return O número de chaves.
+     */
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                put(oldKeys[i], oldValues[i] - 1);
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.mascenadev.crud.service;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.pt.PortugueseLightStemFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+
+import java.io.IOException;
+
+/**
+ * Analisador de texto em português do Brasil para o índice de busca.
+ * <p>
+ * Converte para minúsculas, remove stopwords, reduz as palavras ao radical
+ * ({@link PortugueseLightStemFilter}) e, por último, remove os acentos, para que
+ * "ação", "acao" e "ações" casem entre si. O radical é extraído antes da remoção
+ * dos acentos, pois o stemmer depende deles; pelo mesmo motivo, plurais digitados sem
+ * til ("acoes", "maes") são restaurados ("ações", "mães") antes do stemmer.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+final class PortugueseFoldingAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer source = new StandardTokenizer();
+        TokenStream result = new LowerCaseFilter(source);
+        result = new StopFilter(result, PortugueseAnalyzer.getDefaultStopSet());
+        result = new NasalPluralFilter(result);
+        result = new PortugueseLightStemFilter(result);
+        result = new ASCIIFoldingFilter(result);
+        return new TokenStreamComponents(source, result);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+    }
+
+    /**
+     * Restaura o til dos plurais terminados em "-oes" e "-aes".
+     */
+    private static final class NasalPluralFilter extends TokenFilter {
+
+        private final CharTermAttribute term = addAttribute(CharTermAttribute.class);
+
+        NasalPluralFilter(TokenStream input) {
+            super(input);
+        }
+
+        @Override
+        public boolean incrementToken() throws IOException {
+            if (!input.incrementToken()) {
+                return false;
+            }
+            int length = term.length();
+            if (length > 4 && term.charAt(length - 2) == 'e' && term.charAt(length - 1) == 's') {
+                char[] buffer = term.buffer();
+                if (buffer[length - 3] == 'o') {
+                    buffer[length - 3] = 'õ';
+                } else if (buffer[length - 3] == 'a') {
+                    buffer[length - 3] = 'ã';
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.exception.CotaExcedidaException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cota de tarefas por tenant ({@code todo-api.tenancy.max-rows}; 0 desabilita).
+ * <p>
+ * A verificação usa o total de tarefas do tenant atual mantido em memória pelas estatísticas
+ * ({@link TodoStatsService#total()}), sem ir ao banco a cada inclusão; só a primeira verificação
+ * de um tenant o conta no banco, e nada é contado com a cota desabilitada. A cota é aproximada:
+ * inclusões simultâneas do mesmo tenant podem ultrapassá-la juntas, as de outras instâncias só
+ * entram no total na próxima conferência das estatísticas, e os envios ainda na fila da
+ * ingestão assíncrona não são contados.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Component
+public class TenantRowQuota {
+
+    private final ObjectProvider<TodoStatsService> todoStatsService;
+
+    private final long maxRows;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param todoStatsService As estatísticas, que mantêm o total de tarefas de cada tenant (obtidas
+     *                         sob demanda, pois dependem do serviço de tarefas, que usa esta cota).
+     * @param maxRows          O número máximo de tarefas por tenant; 0 para não limitar.
+     */
+    public TenantRowQuota(ObjectProvider<TodoStatsService> todoStatsService,
+                          @Value("${todo-api.tenancy.max-rows}") long maxRows) {
+        this.todoStatsService = todoStatsService;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Verifica se o tenant atual pode incluir mais tarefas.
+     *
+     * @param adding O número de tarefas a incluir.
+     * @throws CotaExcedidaException Se as inclusões levariam o tenant além da cota.
+     */
+    public void check(int adding) {
+        if (maxRows > 0 && adding > 0 && todoStatsService.getObject().total() + adding > maxRows) {
+            throw new CotaExcedidaException(TenantContext.current(), maxRows);
+        }
+    }
+}
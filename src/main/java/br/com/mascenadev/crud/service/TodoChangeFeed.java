@@ -0,0 +1,106 @@
+package br.com.mascenadev.crud.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Fluxo em memória das alterações de tarefas, para quem acompanha a coleção em tempo real
+ * (ex: {@code GET /todos/stream}).
+ * <p>
+ * Cada {@link TodoChangedEvent}, após o commit, recebe um identificador crescente e é entregue
+ * aos assinantes. As últimas {@code todo-api.stream.buffer-size} alterações ficam em um buffer
+ * circular, para que um assinante que se reconecta retome a partir do último identificador
+ * recebido. Os assinantes são chamados com o fluxo bloqueado e não devem fazer I/O.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Service
+public class TodoChangeFeed {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final TodoFeedEntry[] ring;
+
+    private final List<Consumer<TodoFeedEntry>> listeners = new CopyOnWriteArrayList<>();
+
+    private long sequence;
+
+    /**
+     * Cria o fluxo.
+     *
+     * @param bufferSize O número de alterações mantidas para retomada.
+     */
+    public TodoChangeFeed(@Value("${todo-api.stream.buffer-size}") int bufferSize) {
+        this.ring = new TodoFeedEntry[bufferSize];
+    }
+
+    /**
+     * Registra uma alteração confirmada e a entrega aos assinantes.
+     *
+     * @param event A alteração.
+     */
+    @TransactionalEventListener
+    public synchronized void onTodoChanged(TodoChangedEvent event) {
+        sequence++;
+        TodoFeedEntry entry = new TodoFeedEntry(epoch + "-" + sequence, event);
+        ring[(int) (sequence % ring.length)] = entry;
+        for (Consumer<TodoFeedEntry> listener : listeners) {
+            listener.accept(entry);
+        }
+    }
+
+    /**
+     * Inscreve um assinante, entregando antes as alterações posteriores a {@code lastEventId}.
+     * <p>
+     * Se {@code lastEventId} for de outra inicialização, inválido ou mais antigo que o buffer,
+     * não é possível retomar: nada é entregue nem inscrito, e o assinante deve recarregar
+     * a coleção antes de se inscrever sem identificador.
+     * </p>
+     *
+     * @param lastEventId O último identificador recebido, ou {@code null} para receber só as próximas alterações.
+     * @param listener    O assinante.
+     * @return {@code true} se o assinante foi inscrito; {@code false} se não foi possível retomar.
+     */
+    public synchronized boolean subscribe(String lastEventId, Consumer<TodoFeedEntry> listener) {
+        if (lastEventId != null) {
+            long after = parseSequence(lastEventId);
+            long oldest = Math.max(1, sequence - ring.length + 1);
+            if (after < 0 || after > sequence || after + 1 < oldest) {
+                return false;
+            }
+            for (long s = after + 1; s <= sequence; s++) {
+                listener.accept(ring[(int) (s % ring.length)]);
+            }
+        }
+        listeners.add(listener);
+        return true;
+    }
+
+    /**
+     * Cancela a inscrição de um assinante.
+     *
+     * @param listener O assinante.
+     */
+    public void unsubscribe(Consumer<TodoFeedEntry> listener) {
+        listeners.remove(listener);
+    }
+
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.domain.TodoChangeCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sequência de alterações da coleção: cada inclusão, alteração ou exclusão de uma tarefa recebe
+ * um número maior que todos os anteriores do seu tenant, gravado em {@code Todo.sequencia} ou no
+ * {@code TodoTombstone}. É a marca d'água de {@code GET /todos/changes}.
+ * <p>
+ * O último número de cada tenant fica no banco, na linha do tenant em {@code todo_change_counters}
+ * ({@link TodoChangeCounter}), e é incrementado pela própria transação da escrita, na conexão dela:
+ * um único comando no H2 ({@code SELECT ... FROM FINAL TABLE (UPDATE ...)}), um UPDATE seguido da
+ * leitura da linha nos demais bancos. O bloqueio da linha vai até o commit, então as escritas de
+ * um tenant são confirmadas na ordem dos seus números, em qualquer instância da aplicação, e um
+ * rollback devolve os números reservados.
+ * </p>
+ * <p>
+ * Com isso o valor confirmado do contador é uma marca segura ({@link #safeWatermark()}): tudo até
+ * ele já foi confirmado, e um cliente que avança até ela não perde alterações, sem controle em
+ * memória das transações ainda abertas. O preço é que as escritas de um mesmo tenant se
+ * serializam do número até o commit; por isso o número deve ser pedido antes de qualquer outro
+ * bloqueio da transação, o que também evita impasses entre escritas do mesmo tenant.
+ * </p>
+ * <p>
+ * A linha de um tenant é criada na primeira vez que a instância precisa dela, em uma transação
+ * própria e antes de a escrita bloquear qualquer coisa, a partir do maior número já gravado nas
+ * tarefas e exclusões do tenant.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Component
+public class TodoChangeSequence {
+
+    private static final String INCREMENT =
+            "update todo_change_counters set valor = valor + :quantidade where tenant = :tenant";
+
+    private static final String SELECT = "select valor from todo_change_counters where tenant = :tenant";
+
+    private static final String CREATE = """
+            insert into todo_change_counters (tenant, valor)
+            select :tenant, greatest(
+                coalesce((select max(t.sequencia) from todos t where t.tenant = :tenant), 0),
+                coalesce((select max(d.sequencia) from todo_tombstones d where d.tenant = :tenant), 0))
+            from dual
+            where not exists (select 1 from todo_change_counters c where c.tenant = :tenant)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate newTransaction;
+
+    /**
+     * Tenants cuja linha do contador já existe.
+     */
+    private final Set<String> created = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Cria a sequência.
+     *
+     * @param transactionManager O gerenciador de transações, usado para criar a linha de um tenant
+     *                           em uma transação própria.
+     */
+    public TodoChangeSequence(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Obtém o próximo número da sequência do tenant atual.
+     *
+     * @return O número, maior que todos os já confirmados no tenant.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        return next(1);
+    }
+
+    /**
+     * Reserva números consecutivos da sequência do tenant atual, com um único incremento do
+     * contador. A linha do contador fica bloqueada até o fim da transação.
+     *
+     * @param quantidade Os números a reservar (ao menos um).
+     * @return O primeiro número reservado; os demais são os seguintes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next(int quantidade) {
+        String tenant = TenantContext.current();
+        if (!created.contains(tenant)) {
+            ensure(tenant);
+        }
+        Long ultimo = increment(tenant, quantidade);
+        if (ultimo == null) {
+            created.remove(tenant);
+            throw new IllegalStateException("Contador de alterações ausente para o tenant " + tenant);
+        }
+        return ultimo - quantidade + 1;
+    }
+
+    /**
+     * Obtém a maior marca d'água que um cliente do tenant atual pode adotar sem perder alterações:
+     * o último número confirmado, lido pela chave primária. Com o tenant raiz
+     * ({@link TenantContext#ROOT}), a soma dos contadores do esquema padrão, que também só cresce.
+     *
+     * @return A marca d'água segura.
+     */
+    @Transactional(readOnly = true)
+    public long safeWatermark() {
+        String tenant = TenantContext.current();
+        if (TenantContext.ROOT.equals(tenant)) {
+            return ((Number) entityManager.createNativeQuery("select coalesce(sum(valor), 0) from todo_change_counters")
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(TodoChangeCounter.class)
+                    .getSingleResult()).longValue();
+        }
+        List<?> rows = nativeQuery(SELECT, tenant).getResultList();
+        return rows.isEmpty() ? ensure(tenant) : ((Number) rows.get(0)).longValue();
+    }
+
+    /**
+     * Bloqueia o contador do tenant atual até o fim da transação, esperando o commit das escritas
+     * que já reservaram números. Enquanto o bloqueio durar, nenhuma escrita do tenant é confirmada,
+     * e o que a transação ler reflete exatamente as alterações até o número devolvido.
+     *
+     * @return O último número confirmado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long lock() {
+        String tenant = TenantContext.current();
+        if (!created.contains(tenant)) {
+            ensure(tenant);
+        }
+        return ((Number) nativeQuery(SELECT + " for update", tenant).getSingleResult()).longValue();
+    }
+
+    private Long increment(String tenant, int quantidade) {
+        if (session().getFactory().getJdbcServices().getDialect() instanceof H2Dialect) {
+            List<?> rows = nativeQuery("select valor from final table (" + INCREMENT + ")", tenant)
+                    .setParameter("quantidade", quantidade)
+                    .getResultList();
+            return rows.isEmpty() ? null : ((Number) rows.get(0)).longValue();
+        }
+        int updated = nativeQuery(INCREMENT, tenant)
+                .setParameter("quantidade", quantidade)
+                .executeUpdate();
+        return updated == 0 ? null : ((Number) nativeQuery(SELECT, tenant).getSingleResult()).longValue();
+    }
+
+    /**
+     * Cria a linha do tenant, se ainda não existir, e devolve o valor confirmado dela.
+     */
+    private long ensure(String tenant) {
+        Long valor;
+        try {
+            valor = newTransaction.execute(status -> {
+                nativeQuery(CREATE, tenant).executeUpdate();
+                return ((Number) nativeQuery(SELECT, tenant).getSingleResult()).longValue();
+            });
+        } catch (PersistenceException ex) {
+            // Outra instância criou a linha ao mesmo tempo.
+            valor = newTransaction.execute(status -> ((Number) nativeQuery(SELECT, tenant).getSingleResult()).longValue());
+        }
+        created.add(tenant);
+        return valor;
+    }
+
+    /**
+     * Cria um comando nativo sobre o contador, que só sincroniza (e invalida no cache de
+     * consultas) a tabela dele.
+     */
+    private NativeQuery<?> nativeQuery(String sql, String tenant) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(TodoChangeCounter.class)
+                .setParameter("tenant", tenant);
+    }
+
+    private SharedSessionContractImplementor session() {
+        return entityManager.unwrap(SharedSessionContractImplementor.class);
+    }
+}
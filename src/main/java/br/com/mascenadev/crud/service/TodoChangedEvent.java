@@ -0,0 +1,84 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Evento publicado pelo {@link TodoService} a cada tarefa criada, alterada ou removida.
+ * <p>
+ * É publicado dentro da transação da escrita; os interessados devem escutá-lo com
+ * {@link org.springframework.transaction.event.TransactionalEventListener}, para só
+ * reagir depois do commit.
+ * </p>
+ * <p>
+ * O tenant é o da thread que publica o evento ({@link TenantContext#current()}), o mesmo
+ * da sessão que fez a escrita.
+ * </p>
+ * <p>
+ * Alterações e exclusões trazem a prioridade e o status anteriores da tarefa, devolvidos pelo
+ * próprio comando que a escreveu: quem mantém contagens aplica a diferença de cada evento sem
+ * guardar o estado de cada tarefa e sem depender da ordem de entrega. O estado anterior não faz
+ * parte do JSON entregue em {@code GET /todos/stream}.
+ * </p>
+ * <p>
+ * O evento traz também o número da alteração na {@link TodoChangeSequence}, com o qual quem mantém
+ * uma cópia da coleção acompanha a marca d'água dela sem ir ao banco. Também fica fora do JSON.
+ * </p>
+ *
+ * @param type      O tipo da alteração.
+ * @param tenant    O tenant dono da tarefa.
+ * @param id        O ID da tarefa.
+ * @param todo      O estado da tarefa após a alteração, ou {@code null} se ela foi removida.
+ * @param anterior  A prioridade e o status antes da alteração, ou {@code null} se ela foi criada.
+ * @param sequencia O número da alteração na sequência de alterações do tenant.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoChangedEvent(Type type, String tenant, Long id, TodoResponseDTO todo,
+                               @JsonIgnore TodoEstado anterior, @JsonIgnore long sequencia) {
+
+    /**
+     * Os tipos de alteração de uma tarefa.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Cria o evento de uma tarefa criada.
+     *
+     * @param todo      A tarefa criada.
+     * @param sequencia O número da inclusão na sequência de alterações.
+     * @return O evento.
+     */
+    public static TodoChangedEvent created(TodoResponseDTO todo, long sequencia) {
+        return new TodoChangedEvent(Type.CREATED, TenantContext.current(), todo.getId(), todo, null, sequencia);
+    }
+
+    /**
+     * Cria o evento de uma tarefa alterada.
+     *
+     * @param todo      A tarefa com seus novos dados.
+     * @param anterior  A prioridade e o status da tarefa antes da alteração.
+     * @param sequencia O número da alteração na sequência de alterações.
+     * @return O evento.
+     */
+    public static TodoChangedEvent updated(TodoResponseDTO todo, TodoEstado anterior, long sequencia) {
+        return new TodoChangedEvent(Type.UPDATED, TenantContext.current(), todo.getId(), todo, anterior, sequencia);
+    }
+
+    /**
+     * Cria o evento de uma tarefa removida.
+     *
+     * @param anterior  O ID, a prioridade e o status da tarefa removida.
+     * @param sequencia O número da exclusão na sequência de alterações.
+     * @return O evento.
+     */
+    public static TodoChangedEvent deleted(TodoEstado anterior, long sequencia) {
+        return new TodoChangedEvent(Type.DELETED, TenantContext.current(), anterior.id(), null, anterior, sequencia);
+    }
+}
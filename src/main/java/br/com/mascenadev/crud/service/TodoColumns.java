@@ -0,0 +1,454 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Cópia em memória das tarefas de um tenant, em colunas de tipos primitivos.
+ * <p>
+ * Cada tarefa ocupa uma posição (slot) nas colunas {@code ids}, {@code versoes} ({@code long[]}),
+ * {@code prioridades} ({@code byte[]}), {@code titulos} e {@code descricoes} (esta em UTF-8,
+ * decodificada só quando lida); o status fica em dois {@link BitSet}s, um para cada valor. Os slots de tarefas removidas
+ * são reaproveitados. A busca por ID usa um {@link LongIntMap}, sem objetos por entrada.
+ * </p>
+ * <p>
+ * Os IDs removidos ficam em outro {@link LongIntMap} até a próxima carga: como os IDs nunca são
+ * reutilizados, uma inclusão ou alteração de um ID já removido é um evento atrasado e é ignorada.
+ * Uma alteração com versão mais antiga que a armazenada também.
+ * </p>
+ * <p>
+ * O índice {@code ordem} guarda os slots na ordenação da listagem (prioridade decrescente, título e
+ * ID), mantido por busca binária a cada escrita. Como a prioridade é o primeiro critério e o título
+ * o segundo, o intervalo de prioridades e o prefixo do título viram buscas binárias, e a página
+ * começa direto no cursor. Com o filtro de status, a interseção do {@link BitSet} da prioridade
+ * com o do status descarta de uma vez as prioridades sem nenhuma tarefa no status pedido; os mesmos
+ * índices atendem às contagens.
+ * </p>
+ * <p>
+ * Os títulos são comparados por {@link String#compareTo(String)}, a mesma ordenação do H2; em um
+ * banco com outra collation, a ordem entre títulos de mesma prioridade pode diferir da do banco.
+ * Leituras e escritas são protegidas por um {@link ReentrantReadWriteLock}.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public final class TodoColumns {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final byte[] SEM_DESCRICAO = new byte[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private long[] versoes = new long[INITIAL_CAPACITY];
+
+    private byte[] prioridades = new byte[INITIAL_CAPACITY];
+
+    private String[] titulos = new String[INITIAL_CAPACITY];
+
+    private byte[][] descricoes = new byte[INITIAL_CAPACITY][];
+
+    private BitSet realizados = new BitSet();
+
+    private BitSet pendentes = new BitSet();
+
+    private BitSet[] porPrioridade = new BitSet[0];
+
+    private int[] ordem = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    private int slotsUsados;
+
+    private int[] slotsLivres = new int[0];
+
+    private int quantidadeLivres;
+
+    private LongIntMap slots = new LongIntMap();
+
+    private LongIntMap removidos = new LongIntMap();
+
+    /**
+     * Substitui todo o conteúdo pelas tarefas entregues pela origem, em uma única carga:
+     * as tarefas são anexadas às colunas e o índice de ordenação é montado uma vez ao final.
+     * Leituras aguardam o fim da carga.
+     *
+     * @param origem Recebe o consumidor das tarefas e entrega a ele cada tarefa a carregar.
+     */
+    public void replaceAll(Consumer<Consumer<TodoResponseDTO>> origem) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            origem.accept(todo -> {
+                if (slots.get(todo.getId()) < 0) {
+                    int slot = store(allocate(), todo);
+                    ordem[size++] = slot;
+                }
+            });
+            sortOrdem();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insere uma tarefa ou aplica uma alteração. Uma versão mais antiga que a já armazenada, ou uma
+     * tarefa já removida (evento entregue fora de ordem), é ignorada.
+     *
+     * @param todo A tarefa, com todos os campos.
+     */
+    public void upsert(TodoResponseDTO todo) {
+        lock.writeLock().lock();
+        try {
+            if (removidos.get(todo.getId()) >= 0) {
+                return;
+            }
+            int slot = slots.get(todo.getId());
+            if (slot < 0) {
+                slot = store(allocate(), todo);
+                insertOrdem(slot);
+                return;
+            }
+            if (todo.getVersao() < versoes[slot]) {
+                return;
+            }
+            boolean reordena = prioridades[slot] != todo.getPrioridade() || !titulos[slot].equals(todo.getTitulo());
+            if (reordena) {
+                removeOrdem(slot);
+            }
+            unindex(slot);
+            store(slot, todo);
+            if (reordena) {
+                insertOrdem(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove uma tarefa, se presente, e registra o ID como removido.
+     *
+     * @param id O ID da tarefa.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removidos.put(id, 0);
+            int slot = slots.get(id);
+            if (slot < 0) {
+                return;
+            }
+            removeOrdem(slot);
+            unindex(slot);
+            slots.remove(id);
+            titulos[slot] = null;
+            descricoes[slot] = null;
+            if (quantidadeLivres == slotsLivres.length) {
+                slotsLivres = Arrays.copyOf(slotsLivres, Math.max(16, quantidadeLivres * 2));
+            }
+            slotsLivres[quantidadeLivres++] = slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca uma tarefa pelo ID.
+     *
+     * @param id O ID da tarefa.
+     * @return A tarefa, ou {@code null} se ela não existir.
+     */
+    public TodoResponseDTO get(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            return slot < 0 ? null : toResponse(slot, TodoField.all());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lista as tarefas que atendem aos filtros, na ordenação padrão, a partir do cursor.
+     * Mesma semântica da consulta do banco: o cursor aponta para a última tarefa já entregue, e os
+     * campos da ordenação (ID, título e prioridade) são sempre incluídos, para compor o próximo cursor.
+     *
+     * @param filtro Os filtros da listagem.
+     * @param after  O cursor da página anterior, ou {@code null} para começar do início.
+     * @param campos Os campos a incluir em cada tarefa, além dos da ordenação.
+     * @param limit  O número máximo de tarefas.
+     * @return As tarefas, no máximo {@code limit}.
+     */
+    public List<TodoResponseDTO> page(TodoFilter filtro, TodoCursor after, Set<TodoField> campos, int limit) {
+        String prefixo = filtro.tituloPrefixo();
+        BitSet status = filtro.realizado() == null ? null : filtro.realizado() ? realizados : pendentes;
+        Set<TodoField> lidos = EnumSet.of(TodoField.ID, TodoField.TITULO, TodoField.PRIORIDADE);
+        lidos.addAll(campos);
+        List<TodoResponseDTO> todos = new ArrayList<>(Math.min(limit, 256));
+        lock.readLock().lock();
+        try {
+            int pos = after == null ? 0 : upperBound(after.prioridade(), after.titulo(), after.id());
+            if (filtro.prioridadeMax() != null) {
+                pos = Math.max(pos, firstAtMost(filtro.prioridadeMax()));
+            }
+            int end = filtro.prioridadeMin() == null ? size : firstAtMost(filtro.prioridadeMin() - 1);
+            while (pos < end && todos.size() < limit) {
+                int prioridade = prioridades[ordem[pos]];
+                int grupoFim = Math.min(end, firstAtMost(prioridade - 1));
+                if (status != null && !porPrioridade[prioridade].intersects(status)) {
+                    pos = grupoFim;
+                    continue;
+                }
+                if (prefixo != null) {
+                    pos = firstTituloAtLeast(pos, grupoFim, prefixo);
+                }
+                for (; pos < grupoFim && todos.size() < limit; pos++) {
+                    int slot = ordem[pos];
+                    if (prefixo != null && !titulos[slot].startsWith(prefixo)) {
+                        pos = grupoFim;
+                        break;
+                    }
+                    if (status == null || status.get(slot)) {
+                        todos.add(toResponse(slot, lidos));
+                    }
+                }
+            }
+            return todos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conta as tarefas de uma prioridade, opcionalmente restritas a um status, pelos índices de bits.
+     *
+     * @param prioridade A prioridade.
+     * @param realizado  O status, ou {@code null} para ambos.
+     * @return A quantidade de tarefas.
+     */
+    public int count(int prioridade, Boolean realizado) {
+        lock.readLock().lock();
+        try {
+            if (prioridade < 0 || prioridade >= porPrioridade.length) {
+                return 0;
+            }
+            BitSet bits = porPrioridade[prioridade];
+            if (realizado == null) {
+                return bits.cardinality();
+            }
+            BitSet combinado = (BitSet) bits.clone();
+            combinado.and(realizado ? realizados : pendentes);
+            return combinado.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtém o número de tarefas.
+     *
+     * @return O número de tarefas.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        ids = new long[INITIAL_CAPACITY];
+        versoes = new long[INITIAL_CAPACITY];
+        prioridades = new byte[INITIAL_CAPACITY];
+        titulos = new String[INITIAL_CAPACITY];
+        descricoes = new byte[INITIAL_CAPACITY][];
+        realizados = new BitSet();
+        pendentes = new BitSet();
+        porPrioridade = new BitSet[0];
+        ordem = new int[INITIAL_CAPACITY];
+        size = 0;
+        slotsUsados = 0;
+        slotsLivres = new int[0];
+        quantidadeLivres = 0;
+        slots = new LongIntMap();
+        removidos = new LongIntMap();
+    }
+
+    private int allocate() {
+        if (quantidadeLivres > 0) {
+            return slotsLivres[--quantidadeLivres];
+        }
+        if (slotsUsados == ids.length) {
+            int capacidade = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacidade);
+            versoes = Arrays.copyOf(versoes, capacidade);
+            prioridades = Arrays.copyOf(prioridades, capacidade);
+            titulos = Arrays.copyOf(titulos, capacidade);
+            descricoes = Arrays.copyOf(descricoes, capacidade);
+            ordem = Arrays.copyOf(ordem, capacidade);
+        }
+        return slotsUsados++;
+    }
+
+    private int store(int slot, TodoResponseDTO todo) {
+        int prioridade = todo.getPrioridade();
+        if (prioridade < 0 || prioridade > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Prioridade fora do intervalo suportado: " + prioridade);
+        }
+        long id = todo.getId();
+        ids[slot] = id;
+        versoes[slot] = todo.getVersao();
+        prioridades[slot] = (byte) prioridade;
+        titulos[slot] = todo.getTitulo();
+        descricoes[slot] = todo.getDescricao() == null ? null : todo.getDescricao().isEmpty()
+                ? SEM_DESCRICAO : todo.getDescricao().getBytes(StandardCharsets.UTF_8);
+        (Boolean.TRUE.equals(todo.getRealizado()) ? realizados : pendentes).set(slot);
+        if (prioridade >= porPrioridade.length) {
+            int anterior = porPrioridade.length;
+            porPrioridade = Arrays.copyOf(porPrioridade, prioridade + 1);
+            for (int p = anterior; p <= prioridade; p++) {
+                porPrioridade[p] = new BitSet();
+            }
+        }
+        porPrioridade[prioridade].set(slot);
+        slots.put(id, slot);
+        return slot;
+    }
+
+    private void unindex(int slot) {
+        porPrioridade[prioridades[slot]].clear(slot);
+        realizados.clear(slot);
+        pendentes.clear(slot);
+    }
+
+    private TodoResponseDTO toResponse(int slot, Set<TodoField> campos) {
+        byte[] descricao = descricoes[slot];
+        return new TodoResponseDTO(
+                campos.contains(TodoField.ID) ? ids[slot] : null,
+                campos.contains(TodoField.TITULO) ? titulos[slot] : null,
+                campos.contains(TodoField.DESCRICAO) && descricao != null
+                        ? new String(descricao, StandardCharsets.UTF_8) : null,
+                campos.contains(TodoField.REALIZADO) ? realizados.get(slot) : null,
+                campos.contains(TodoField.PRIORIDADE) ? (int) prioridades[slot] : null,
+                campos.contains(TodoField.VERSAO) ? versoes[slot] : null);
+    }
+
+    private void sortOrdem() {
+        Integer[] ordenados = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            ordenados[i] = ordem[i];
+        }
+        Arrays.sort(ordenados, (a, b) -> compare(a, prioridades[b], titulos[b], ids[b]));
+        for (int i = 0; i < size; i++) {
+            ordem[i] = ordenados[i];
+        }
+    }
+
+    private void insertOrdem(int slot) {
+        int pos = upperBound(prioridades[slot], titulos[slot], ids[slot]);
+        System.arraycopy(ordem, pos, ordem, pos + 1, size - pos);
+        ordem[pos] = slot;
+        size++;
+    }
+
+    private void removeOrdem(int slot) {
+        int pos = lowerBound(prioridades[slot], titulos[slot], ids[slot]);
+        System.arraycopy(ordem, pos + 1, ordem, pos, size - pos - 1);
+        size--;
+    }
+
+    /**
+     * Compara a tarefa de um slot com uma chave da ordenação; negativo se a tarefa vem antes.
+     */
+    private int compare(int slot, int prioridade, String titulo, long id) {
+        int c = Integer.compare(prioridade, prioridades[slot]);
+        if (c == 0) {
+            c = titulos[slot].compareTo(titulo);
+        }
+        return c != 0 ? c : Long.compare(ids[slot], id);
+    }
+
+    /**
+     * Primeira posição da ordenação cuja tarefa não vem antes da chave.
+     */
+    private int lowerBound(int prioridade, String titulo, long id) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(ordem[mid], prioridade, titulo, id) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Primeira posição da ordenação cuja tarefa vem depois da chave.
+     */
+    private int upperBound(int prioridade, String titulo, long id) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(ordem[mid], prioridade, titulo, id) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Primeira posição da ordenação com prioridade menor ou igual à informada.
+     */
+    private int firstAtMost(int prioridade) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prioridades[ordem[mid]] > prioridade) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Primeira posição em {@code [lo, hi)}, trecho de uma só prioridade, com título maior ou igual ao informado.
+     */
+    private int firstTituloAtLeast(int lo, int hi, String titulo) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (titulos[ordem[mid]].compareTo(titulo) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
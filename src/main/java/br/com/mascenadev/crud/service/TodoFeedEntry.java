@@ -0,0 +1,13 @@
+package br.com.mascenadev.crud.service;
+
+/**
+ * Uma alteração registrada no {@link TodoChangeFeed}.
+ *
+ * @param id    O identificador do registro, no formato {@code <época>-<sequência>}; a época
+ *              muda a cada inicialização, e a sequência cresce a cada alteração.
+ * @param event A alteração.
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+public record TodoFeedEntry(String id, TodoChangedEvent event) {
+}
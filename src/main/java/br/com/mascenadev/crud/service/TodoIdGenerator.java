@@ -0,0 +1,54 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.domain.Todo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reserva IDs de tarefas fora de uma inclusão pelo JPA, com o mesmo gerador da entidade
+ * {@link Todo}: a sequência {@code todos_seq} reserva blocos de {@link Todo#ID_ALLOCATION_SIZE}
+ * IDs, então só um pedido a cada bloco vai ao banco, e os IDs nunca coincidem com os das
+ * inclusões feitas pelo Hibernate.
+ * <p>
+ * Usado por quem grava tarefas sem passar pelo {@code EntityManager}: a ingestão assíncrona,
+ * que devolve o ID antes de gravar, e as escritas R2DBC da pilha reativa. Como o pedido ao banco
+ * é JDBC, quem roda em um event loop deve chamá-lo fora dele.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Component
+public class TodoIdGenerator {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final BeforeExecutionGenerator idGenerator;
+
+    /**
+     * Obtém o gerador de IDs da entidade.
+     *
+     * @param entityManagerFactory A fábrica de {@code EntityManager}, da qual vem o gerador.
+     */
+    public TodoIdGenerator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.idGenerator = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Todo.class).getGenerator();
+    }
+
+    /**
+     * Reserva o próximo ID.
+     *
+     * @return O ID, ainda não usado por nenhuma tarefa.
+     */
+    public Long next() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) idGenerator.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT);
+        }
+    }
+}
@@ -0,0 +1,608 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.domain.Todo;
+import br.com.mascenadev.crud.dtos.TodoIngestStatusDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.exception.FilaCheiaException;
+import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import br.com.mascenadev.crud.repository.TodoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Ingestão assíncrona (write-behind) de novas tarefas, para absorver rajadas de criação.
+ * <p>
+ * Habilitada por {@code todo-api.ingest.enabled}. Cada tarefa aceita recebe imediatamente um ID
+ * do mesmo gerador da entidade {@link Todo} ({@link TodoIdGenerator}; quase nenhum envio vai ao
+ * banco), é gravada no journal
+ * local ({@code todo-api.ingest.journal}, um JSON por linha) e entra em uma fila limitada a
+ * {@code todo-api.ingest.queue-capacity} itens. Com a fila cheia, o envio é recusado com
+ * {@link FilaCheiaException}.
+ * </p>
+ * <p>
+ * O envio só retorna depois do {@code fsync} da sua linha, feito fora do bloqueio do journal e em
+ * grupo: enquanto um {@code fsync} está em andamento, os envios seguintes gravam as suas linhas e
+ * esperam, e o próximo {@code fsync} confirma todas elas de uma vez.
+ * </p>
+ * <p>
+ * Um único gravador em segundo plano esvazia a fila em lotes de até {@code todo-api.ingest.batch-size}
+ * tarefas, cada lote um único INSERT de várias linhas em sua própria transação, e publica um
+ * {@link TodoChangedEvent} por tarefa, como o {@link TodoService}. Um lote recusado é repetido
+ * algumas vezes e depois gravado item a item, para isolar as tarefas que o banco rejeita.
+ * Quando a fila fica vazia, o journal é truncado. Sob carga contínua a fila pode não esvaziar:
+ * quando o journal passa de {@code todo-api.ingest.journal-max-size}, ele é fechado e renomeado
+ * com o sufixo {@value #SEALED_SUFFIX}, e um novo é aberto; o fechado é apagado assim que o
+ * gravador termina a sua última tarefa. Assim o journal não cresce além de cerca de duas vezes
+ * esse tamanho.
+ * </p>
+ * <p>
+ * Cada envio guarda o tenant da requisição, e o gravador grava as tarefas de cada tenant em
+ * sessões abertas como esse tenant, o que também as direciona ao esquema dos tenants isolados.
+ * </p>
+ * <p>
+ * Na inicialização, as tarefas ainda no journal, fechado ou atual (envios aceitos antes de um
+ * desligamento abrupto), e ausentes do banco são gravadas antes de novos envios serem aceitos. No desligamento,
+ * a fila é esvaziada antes de o contexto ser fechado.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Service
+@ConditionalOnProperty(name = "todo-api.ingest.enabled", havingValue = "true")
+public class TodoIngestService implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoIngestService.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(1);
+
+    private static final String INSERT = "insert into todos (id, tenant, titulo, descricao, realizado, prioridade, versao, criado_em, atualizado_em, sequencia) values ";
+
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    /**
+     * Sufixo do journal fechado, cujas tarefas o gravador ainda não terminou.
+     */
+    static final String SEALED_SUFFIX = ".1";
+
+    private final TodoRepository todoRepository;
+
+    private final TodoChangeSequence changeSequence;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper;
+
+    private final TodoIdGenerator idGenerator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int queueCapacity;
+
+    private final int batchSize;
+
+    private final Path journalPath;
+
+    private final Path sealedPath;
+
+    private final long journalMaxSize;
+
+    private final BlockingQueue<JournalEntry> queue;
+
+    private final TenantRowQuota rowQuota;
+
+    /**
+     * Envios pendentes e com falha, pela chave {@link TenantContext#key(String, Long)}.
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final Cache<String, String> failed = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    /**
+     * Protege o journal e a fila: um envio é gravado no journal e enfileirado atomicamente,
+     * e o journal só é truncado com a fila vazia.
+     */
+    private final ReentrantLock journalLock = new ReentrantLock();
+
+    /**
+     * Serializa os {@code fsync} do journal. Quem também precisa do {@link #journalLock} o obtém
+     * depois deste.
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private volatile FileChannel journal;
+
+    /**
+     * Linhas gravadas no journal desde a inicialização; a posição de cada envio, na ordem da fila.
+     */
+    private volatile long appended;
+
+    /**
+     * Linhas com {@code fsync} confirmado, de {@link #appended}.
+     */
+    private volatile long synced;
+
+    /**
+     * Tarefas da fila que o gravador já terminou (gravadas ou recusadas), na mesma contagem.
+     * Usado só pelo gravador.
+     */
+    private long processed;
+
+    /**
+     * Última linha do journal fechado, ou zero se não houver um.
+     */
+    private long sealedUpTo;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param todoRepository       O repositório de tarefas, usado para consultar a situação de um envio.
+     * @param changeSequence       A sequência de alterações, que numera cada tarefa gravada.
+     * @param rowQuota             A cota de tarefas por tenant, verificada a cada envio.
+     * @param idGenerator          O gerador de IDs da entidade.
+     * @param transactionTemplate  O template das transações de cada lote.
+     * @param eventPublisher       O publicador dos {@link TodoChangedEvent}.
+     * @param objectMapper         O {@link ObjectMapper} usado para gravar e ler o journal.
+     * @param queueCapacity        A capacidade máxima da fila.
+     * @param batchSize            O número máximo de tarefas gravadas por transação.
+     * @param journalPath          O arquivo do journal.
+     * @param journalMaxSize       O tamanho a partir do qual o journal é fechado e outro é aberto.
+     */
+    public TodoIngestService(TodoRepository todoRepository, TodoChangeSequence changeSequence,
+                             TenantRowQuota rowQuota, TodoIdGenerator idGenerator,
+                             TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             @Value("${todo-api.ingest.queue-capacity}") int queueCapacity,
+                             @Value("${todo-api.ingest.batch-size}") int batchSize,
+                             @Value("${todo-api.ingest.journal}") Path journalPath,
+                             @Value("${todo-api.ingest.journal-max-size}") DataSize journalMaxSize) {
+        this.todoRepository = todoRepository;
+        this.changeSequence = changeSequence;
+        this.rowQuota = rowQuota;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.idGenerator = idGenerator;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.journalPath = journalPath;
+        this.sealedPath = journalPath.resolveSibling(journalPath.getFileName() + SEALED_SUFFIX);
+        this.journalMaxSize = journalMaxSize.toBytes();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Aceita uma nova tarefa do tenant atual para gravação assíncrona.
+     * O DTO já deve ter sido validado.
+     *
+     * @param request O DTO com os dados da nova tarefa.
+     * @return O ID reservado para a tarefa.
+     * @throws FilaCheiaException Se a fila estiver cheia ou o serviço estiver parando.
+     * @throws br.com.mascenadev.crud.exception.CotaExcedidaException Se o tenant já atingiu a cota de tarefas.
+     */
+    public Long submit(TodoRequestDTO request) {
+        rowQuota.check(1);
+        Long id = idGenerator.next();
+        String tenant = TenantContext.current();
+        JournalEntry entry = new JournalEntry(id, tenant, request.getTitulo(), request.getDescricao(),
+                request.getRealizado(), request.getPrioridade());
+        ByteBuffer line = toLine(entry);
+        long position;
+        journalLock.lock();
+        try {
+            if (!running || queue.remainingCapacity() == 0) {
+                throw new FilaCheiaException(queueCapacity);
+            }
+            append(line);
+            position = ++appended;
+            pending.add(TenantContext.key(tenant, id));
+            queue.add(entry);
+        } finally {
+            journalLock.unlock();
+        }
+        sync(position);
+        return id;
+    }
+
+    /**
+     * Consulta a situação de uma tarefa enviada pelo tenant atual.
+     *
+     * @param id O ID devolvido no envio.
+     * @return A situação da tarefa.
+     * @throws TodoNaoEncontradoException Se o ID não for de um envio pendente, com falha ou já gravado.
+     */
+    public TodoIngestStatusDTO status(Long id) {
+        String key = TenantContext.key(id);
+        if (pending.contains(key)) {
+            return TodoIngestStatusDTO.pending(id);
+        }
+        String error = failed.getIfPresent(key);
+        if (error != null) {
+            return TodoIngestStatusDTO.failed(id, error);
+        }
+        if (todoRepository.existsById(id)) {
+            return TodoIngestStatusDTO.persisted(id);
+        }
+        throw new TodoNaoEncontradoException(id);
+    }
+
+    /**
+     * Abre o journal, grava as tarefas pendentes de uma execução anterior e inicia o gravador.
+     */
+    @Override
+    public void start() {
+        try {
+            Path parent = journalPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            journal = open();
+            replay();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível abrir o journal de ingestão " + journalPath, ex);
+        }
+        running = true;
+        writer = new Thread(this::drain, "todo-ingest-writer");
+        writer.start();
+    }
+
+    /**
+     * Recusa novos envios, espera o gravador esvaziar a fila e fecha o journal.
+     */
+    @Override
+    public void stop() {
+        journalLock.lock();
+        try {
+            running = false;
+        } finally {
+            journalLock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException ex) {
+            log.warn("Falha ao fechar o journal de ingestão", ex);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Inicia antes e para depois do servidor web, para que nenhuma requisição chegue
+     * com o gravador parado.
+     *
+     * @return A fase do ciclo de vida.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Registra o tamanho da fila como a métrica {@code todo.ingest.queue.size}.
+     *
+     * @param registry O registro de métricas.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todo.ingest.queue.size", queue, BlockingQueue::size)
+                .description("Tarefas aceitas e ainda não gravadas no banco")
+                .register(registry);
+    }
+
+    private void drain() {
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            JournalEntry first;
+            try {
+                first = queue.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            persistByTenant(batch);
+            processed += batch.size();
+            batch.clear();
+            compactJournal();
+        }
+    }
+
+    /**
+     * Descarta do journal as tarefas que o gravador já terminou: todo ele, se a fila está vazia;
+     * senão, o journal fechado, se já terminou a sua última tarefa, e fecha o atual se passou do
+     * tamanho máximo.
+     */
+    private void compactJournal() {
+        syncLock.lock();
+        journalLock.lock();
+        try {
+            if (queue.isEmpty()) {
+                truncateJournal();
+                deleteSealed();
+                return;
+            }
+            if (sealedUpTo > 0 && processed >= sealedUpTo) {
+                deleteSealed();
+            }
+            if (sealedUpTo == 0 && journal.size() >= journalMaxSize) {
+                journal.force(false);
+                synced = appended;
+                journal.close();
+                Files.move(journalPath, sealedPath);
+                journal = open();
+                sealedUpTo = appended;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao fechar o journal de ingestão " + journalPath, ex);
+        } finally {
+            journalLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    private void persistByTenant(List<JournalEntry> batch) {
+        batch.stream()
+                .collect(Collectors.groupingBy(JournalEntry::tenant, LinkedHashMap::new, Collectors.toList()))
+                .forEach((tenant, entries) -> TenantContext.runAs(tenant, () -> persist(entries)));
+    }
+
+    private void persist(List<JournalEntry> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                insert(batch);
+                batch.forEach(entry -> pending.remove(entry.key()));
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao gravar lote de {} tarefas (tentativa {} de {})", batch.size(), attempt, MAX_ATTEMPTS, ex);
+            }
+            if (attempt < MAX_ATTEMPTS) {
+                try {
+                    Thread.sleep(RETRY_BACKOFF.toMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        for (JournalEntry entry : batch) {
+            try {
+                insert(List.of(entry));
+            } catch (RuntimeException ex) {
+                log.error("Tarefa {} recusada pelo banco e descartada da ingestão", entry.id(), ex);
+                failed.put(entry.key(), "Tarefa recusada pelo banco");
+            } finally {
+                pending.remove(entry.key());
+            }
+        }
+    }
+
+    private void insert(List<JournalEntry> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            StringBuilder sql = new StringBuilder(INSERT.length() + batch.size() * (INSERT_ROW.length() + 2)).append(INSERT);
+            for (int i = 0; i < batch.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append(INSERT_ROW);
+            }
+            NativeQuery<?> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+            // Invalida o cache de consultas, como um INSERT do Hibernate.
+            query.addSynchronizedEntityClass(Todo.class);
+            Instant now = Instant.now();
+            long primeira = changeSequence.next(batch.size());
+            long sequencia = primeira;
+            int position = 1;
+            for (JournalEntry entry : batch) {
+                query.setParameter(position++, entry.id());
+                query.setParameter(position++, entry.tenant());
+                query.setParameter(position++, entry.titulo());
+                query.setParameter(position++, entry.descricao());
+                query.setParameter(position++, entry.realizado());
+                query.setParameter(position++, entry.prioridade());
+                query.setParameter(position++, now);
+                query.setParameter(position++, now);
+                query.setParameter(position++, sequencia++);
+            }
+            query.executeUpdate();
+            for (int i = 0; i < batch.size(); i++) {
+                eventPublisher.publishEvent(TodoChangedEvent.created(batch.get(i).toResponse(), primeira + i));
+            }
+        });
+    }
+
+    private void replay() throws IOException {
+        Map<String, JournalEntry> entries = new LinkedHashMap<>();
+        if (Files.exists(sealedPath)) {
+            read(sealedPath, entries);
+        }
+        read(journalPath, entries);
+        if (!entries.isEmpty()) {
+            Map<String, List<JournalEntry>> byTenant = entries.values().stream()
+                    .collect(Collectors.groupingBy(JournalEntry::tenant, LinkedHashMap::new, Collectors.toList()));
+            int replayed = 0;
+            for (Map.Entry<String, List<JournalEntry>> tenantEntries : byTenant.entrySet()) {
+                replayed += TenantContext.callAs(tenantEntries.getKey(), () -> replayTenant(tenantEntries.getValue()));
+            }
+            log.info("Journal de ingestão reaplicado: {} tarefas gravadas de {} registradas", replayed, entries.size());
+        }
+        truncateJournal();
+        deleteSealed();
+    }
+
+    private void read(Path path, Map<String, JournalEntry> entries) throws IOException {
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                JournalEntry entry = objectMapper.readValue(line, JournalEntry.class);
+                entries.put(entry.key(), entry);
+            } catch (JsonProcessingException ex) {
+                log.warn("Linha inválida ignorada no journal de ingestão (provável gravação interrompida)");
+            }
+        }
+    }
+
+    private int replayTenant(List<JournalEntry> all) {
+        int replayed = 0;
+        for (int from = 0; from < all.size(); from += batchSize) {
+            List<JournalEntry> chunk = all.subList(from, Math.min(from + batchSize, all.size()));
+            Set<Long> existing = new HashSet<>(todoRepository.findExistingIds(
+                    chunk.stream().map(JournalEntry::id).toList()));
+            List<JournalEntry> missing = chunk.stream().filter(entry -> !existing.contains(entry.id())).toList();
+            if (!missing.isEmpty()) {
+                persist(new ArrayList<>(missing));
+                replayed += missing.size();
+            }
+        }
+        return replayed;
+    }
+
+    private ByteBuffer toLine(JournalEntry entry) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(entry);
+            return ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void append(ByteBuffer line) {
+        try {
+            while (line.hasRemaining()) {
+                journal.write(line);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gravar no journal de ingestão", ex);
+        }
+    }
+
+    /**
+     * Espera o {@code fsync} da linha na posição indicada. Quem obtém o bloqueio confirma todas
+     * as linhas gravadas até então, e os que esperavam por elas retornam sem um novo
+     * {@code fsync}.
+     */
+    private void sync(long position) {
+        if (synced >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= position) {
+                return;
+            }
+            long target = appended;
+            journal.force(false);
+            synced = target;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao gravar no journal de ingestão", ex);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void truncateJournal() {
+        try {
+            journal.truncate(0);
+            journal.force(false);
+            synced = appended;
+        } catch (IOException ex) {
+            log.warn("Falha ao truncar o journal de ingestão", ex);
+        }
+    }
+
+    private void deleteSealed() {
+        try {
+            Files.deleteIfExists(sealedPath);
+            sealedUpTo = 0;
+        } catch (IOException ex) {
+            log.warn("Falha ao apagar o journal de ingestão fechado {}", sealedPath, ex);
+        }
+    }
+
+    /**
+     * Uma tarefa aceita, como gravada no journal. Registros anteriores à separação por tenant,
+     * sem o tenant, pertencem ao tenant padrão.
+     */
+    record JournalEntry(Long id, String tenant, String titulo, String descricao, Boolean realizado,
+                        Integer prioridade) {
+
+        JournalEntry {
+            tenant = tenant == null ? TenantContext.DEFAULT_TENANT : tenant;
+        }
+
+        String key() {
+            return TenantContext.key(tenant, id);
+        }
+
+        TodoResponseDTO toResponse() {
+            return new TodoResponseDTO(id, titulo, descricao, realizado, prioridade, 0L);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoMapper;
+import br.com.mascenadev.crud.dtos.TodoPageDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.dtos.TodoWatermark;
+import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Modelo de leitura em memória das tarefas, que atende às leituras de {@code /todos} sem ir ao banco.
+ * <p>
+ * Habilitado por {@code todo-api.mirror.enabled}. Na inicialização, as tarefas de cada tenant
+ * (os do esquema padrão e os isolados) são carregadas em um {@link TodoColumns}; a partir daí,
+ * cada {@link TodoChangedEvent}, após o commit, é aplicado ao tenant correspondente. Como o evento
+ * é tratado na própria thread da escrita, antes da resposta, quem escreve lê a própria escrita.
+ * Enquanto a carga não termina, {@link #isReady()} é falso e as leituras continuam no banco.
+ * </p>
+ * <p>
+ * A marca d'água de cada tenant parte da lida no banco antes da carga e avança com o número de
+ * cada evento, depois de aplicada a alteração: a listagem nunca é servida com uma marca mais nova
+ * que o conteúdo.
+ * </p>
+ * <p>
+ * Assim como o índice de busca, o modelo só enxerga as escritas feitas por esta instância;
+ * com várias instâncias sobre o mesmo banco, ele não deve ser habilitado.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Service
+@ConditionalOnProperty(name = "todo-api.mirror.enabled", havingValue = "true")
+public class TodoMirror implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoMirror.class);
+
+    /**
+     * Tarefas copiadas por vez em {@link #streamAll(Consumer)}, com a leitura bloqueada.
+     */
+    private static final int STREAM_BATCH = 1000;
+
+    private static final TodoColumns EMPTY = new TodoColumns();
+
+    private final Map<String, TodoColumns> tenants = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> watermarks = new ConcurrentHashMap<>();
+
+    private final TodoService todoService;
+
+    private final List<String> isolatedTenants;
+
+    private volatile boolean ready;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param todoService     O serviço de tarefas, usado na carga inicial.
+     * @param isolatedTenants Os tenants isolados em esquema próprio, carregados à parte.
+     */
+    public TodoMirror(TodoService todoService,
+                      @Value("${todo-api.tenancy.isolated-tenants:}") List<String> isolatedTenants) {
+        this.todoService = todoService;
+        this.isolatedTenants = isolatedTenants;
+    }
+
+    /**
+     * Carrega as tarefas de todos os tenants. Cada tenant é carregado com as escritas dele
+     * bloqueadas no modelo; as alterações confirmadas durante a carga são aplicadas em seguida.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        Set<String> todos = new TreeSet<>(TenantContext.callAs(TenantContext.ROOT, todoService::tenants));
+        todos.addAll(isolatedTenants);
+        for (String tenant : todos) {
+            advance(tenant, TenantContext.callAs(tenant, todoService::watermark).sequencia());
+            columns(tenant).replaceAll(sink -> TenantContext.runAs(tenant, () -> todoService.streamAll(sink)));
+        }
+        ready = true;
+        log.info("Modelo de leitura em memória carregado com {} tarefas de {} tenants em {} ms",
+                size(), todos.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Aplica uma tarefa criada, alterada ou removida ao tenant dela, após o commit da transação.
+     *
+     * @param event O evento da alteração.
+     */
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.type() == TodoChangedEvent.Type.DELETED) {
+            columns(event.tenant()).remove(event.id());
+        } else {
+            columns(event.tenant()).upsert(event.todo());
+        }
+        advance(event.tenant(), event.sequencia());
+    }
+
+    /**
+     * Indica se a carga inicial terminou e as leituras podem ser atendidas pelo modelo.
+     *
+     * @return {@code true} se o modelo está pronto.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Lista uma página de tarefas do tenant atual, como {@link TodoService#listPage(String, int, TodoFilter, Set)}.
+     *
+     * @param cursor O cursor opaco da página anterior, ou {@code null} para a primeira página.
+     * @param size   O número máximo de tarefas da página.
+     * @param filtro Os filtros da listagem.
+     * @param campos Os campos a incluir em cada tarefa.
+     * @return A página de DTOs de resposta, com o cursor da próxima página, se houver.
+     * @throws br.com.mascenadev.crud.exception.CursorInvalidoException Se o cursor não for válido.
+     */
+    public TodoPageDTO listPage(String cursor, int size, TodoFilter filtro, Set<TodoField> campos) {
+        TodoCursor after = cursor == null || cursor.isBlank() ? null : TodoCursor.decode(cursor);
+        List<TodoResponseDTO> todos = current().page(filtro, after, campos, size + 1);
+
+        String nextCursor = todos.size() > size
+                ? TodoCursor.after(todos.get(size - 1)).encode()
+                : null;
+        List<TodoResponseDTO> content = todos.stream()
+                .limit(size)
+                .map(todo -> TodoMapper.toResponse(todo, campos))
+                .toList();
+        return new TodoPageDTO(content, nextCursor);
+    }
+
+    /**
+     * Percorre todas as tarefas do tenant atual na ordenação padrão, como {@link TodoService#streamAll(Consumer)}.
+     * As tarefas são copiadas em blocos, e o consumidor é chamado fora do bloqueio de leitura,
+     * de modo que um cliente lento não atrasa as escritas.
+     *
+     * @param consumer O consumidor que recebe cada DTO de resposta.
+     */
+    public void streamAll(Consumer<TodoResponseDTO> consumer) {
+        TodoColumns columns = current();
+        TodoFilter filtro = TodoFilter.empty();
+        Set<TodoField> campos = TodoField.all();
+        TodoCursor after = null;
+        List<TodoResponseDTO> batch;
+        do {
+            batch = columns.page(filtro, after, campos, STREAM_BATCH);
+            batch.forEach(consumer);
+            after = batch.isEmpty() ? null : TodoCursor.after(batch.get(batch.size() - 1));
+        } while (batch.size() == STREAM_BATCH);
+    }
+
+    /**
+     * Busca uma tarefa do tenant atual pelo seu ID, como {@link TodoService#findById(Long)}.
+     *
+     * @param id O ID da tarefa.
+     * @return O DTO de resposta da tarefa.
+     * @throws TodoNaoEncontradoException Se a tarefa não existir.
+     */
+    public TodoResponseDTO findById(Long id) {
+        TodoResponseDTO todo = current().get(id);
+        if (todo == null) {
+            throw new TodoNaoEncontradoException(id);
+        }
+        return todo;
+    }
+
+    /**
+     * Obtém a marca d'água das tarefas do tenant atual, igual à de {@link TodoService#watermark()}
+     * para as escritas feitas por esta instância.
+     *
+     * @return A marca d'água.
+     */
+    public TodoWatermark watermark() {
+        AtomicLong sequencia = watermarks.get(TenantContext.current());
+        return new TodoWatermark(sequencia == null ? 0 : sequencia.get());
+    }
+
+    /**
+     * Obtém o número de tarefas em memória, somados todos os tenants.
+     *
+     * @return O número de tarefas.
+     */
+    public long size() {
+        long size = 0;
+        for (TodoColumns columns : tenants.values()) {
+            size += columns.size();
+        }
+        return size;
+    }
+
+    /**
+     * Registra o número de tarefas em memória como a métrica {@code todo.mirror.size}.
+     *
+     * @param registry O registro de métricas.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todo.mirror.size", this, TodoMirror::size)
+                .description("Tarefas no modelo de leitura em memória")
+                .register(registry);
+    }
+
+    private void advance(String tenant, long sequencia) {
+        watermarks.computeIfAbsent(tenant, t -> new AtomicLong()).accumulateAndGet(sequencia, Math::max);
+    }
+
+    private TodoColumns current() {
+        return tenants.getOrDefault(TenantContext.current(), EMPTY);
+    }
+
+    private TodoColumns columns(String tenant) {
+        return tenants.computeIfAbsent(tenant, t -> new TodoColumns());
+    }
+}
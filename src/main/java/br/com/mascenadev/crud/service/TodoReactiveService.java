@@ -0,0 +1,358 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.CacheConfig;
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoBatchResultDTO;
+import br.com.mascenadev.crud.dtos.TodoBatchUpdateDTO;
+import br.com.mascenadev.crud.dtos.TodoChangesDTO;
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoMapper;
+import br.com.mascenadev.crud.dtos.TodoPageDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.dtos.TodoStatsDTO;
+import br.com.mascenadev.crud.dtos.TodoWatermark;
+import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import br.com.mascenadev.crud.exception.VersaoConflitanteException;
+import br.com.mascenadev.crud.repository.TodoReactiveRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Serviço da pilha reativa (perfil {@code reactive}), com as mesmas operações de {@link TodoService}.
+ * <p>
+ * As leituras são não bloqueantes, pelo {@link TodoReactiveRepository} (R2DBC): nenhuma thread
+ * fica parada esperando o banco, e uma conexão só é ocupada enquanto a consulta é executada e
+ * consumida. A busca por ID consulta antes o mesmo cache de {@code GET /todos/{id}} da pilha
+ * MVC, que as escritas mantêm atualizado.
+ * </p>
+ * <p>
+ * As escritas individuais também são R2DBC, com as mesmas regras do {@link TodoService}, em uma
+ * transação reativa ({@link TransactionalOperator}): o número da sequência de alterações do
+ * tenant, que passa a ser a versão da tarefa, o comando que devolve o estado anterior, o registro
+ * da exclusão e o {@link TodoChangedEvent}, publicado por um {@link TransactionalEventPublisher}
+ * para que os mesmos {@code @TransactionalEventListener} (estatísticas, índice de busca, fluxo de
+ * alterações) só o recebam depois do commit. Em seguida, a tarefa escrita é gravada no cache de
+ * {@code GET /todos/{id}}, ou removida dele. Só a reserva do ID ({@link TodoIdGenerator}), que vai
+ * ao banco por JDBC uma vez a cada bloco de IDs, e a cota do tenant, que carrega as estatísticas
+ * na primeira verificação, rodam no {@link Schedulers#boundedElastic()}.
+ * </p>
+ * <p>
+ * As operações em lote continuam delegadas ao {@link TodoService}, sobre JPA. Como são
+ * bloqueantes, rodam no {@code boundedElastic}, como o tenant da requisição, e nunca nas threads
+ * do event loop. O mesmo vale para a sincronização incremental, que reserva números da sequência
+ * de alterações, para as estatísticas, carregadas do banco na primeira consulta do tenant, e para
+ * a busca textual (Lucene); essas rotas ocupam uma thread e uma conexão JDBC enquanto executam.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class TodoReactiveService {
+
+    private final TodoReactiveRepository todoReactiveRepository;
+
+    private final TodoService todoService;
+
+    private final TodoSearchService todoSearchService;
+
+    private final TodoStatsService todoStatsService;
+
+    private final TodoIdGenerator idGenerator;
+
+    private final TenantRowQuota rowQuota;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final TransactionalEventPublisher eventPublisher;
+
+    private final Cache todosCache;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param todoReactiveRepository O repositório R2DBC, usado nas leituras e nas escritas individuais.
+     * @param todoService            O serviço de Todo, usado nas operações em lote e na sincronização.
+     * @param todoSearchService      O serviço de busca textual.
+     * @param todoStatsService       O serviço das estatísticas.
+     * @param idGenerator            O gerador de IDs das tarefas incluídas.
+     * @param rowQuota               A cota de tarefas por tenant, verificada nas inclusões.
+     * @param transactionalOperator  O operador das transações R2DBC.
+     * @param eventPublisher         O publicador dos {@link TodoChangedEvent} de cada escrita.
+     * @param cacheManager           O gerenciador de caches, do qual vem o cache de {@code GET /todos/{id}}.
+     */
+    public TodoReactiveService(TodoReactiveRepository todoReactiveRepository, TodoService todoService,
+                               TodoSearchService todoSearchService, TodoStatsService todoStatsService,
+                               TodoIdGenerator idGenerator, TenantRowQuota rowQuota,
+                               TransactionalOperator transactionalOperator, ApplicationEventPublisher eventPublisher,
+                               CacheManager cacheManager) {
+        this.todoReactiveRepository = todoReactiveRepository;
+        this.todoService = todoService;
+        this.todoSearchService = todoSearchService;
+        this.todoStatsService = todoStatsService;
+        this.idGenerator = idGenerator;
+        this.rowQuota = rowQuota;
+        this.transactionalOperator = transactionalOperator;
+        this.eventPublisher = new TransactionalEventPublisher(eventPublisher);
+        this.todosCache = cacheManager.getCache(CacheConfig.TODOS_CACHE);
+    }
+
+    /**
+     * Cria uma nova tarefa, como {@link TodoService#create(TodoRequestDTO)}.
+     *
+     * @param tenant     O tenant da requisição.
+     * @param requestDTO O DTO de requisição com os dados da nova tarefa.
+     * @return O DTO de resposta da tarefa criada.
+     */
+    public Mono<TodoResponseDTO> create(String tenant, TodoRequestDTO requestDTO) {
+        return blocking(tenant, () -> {
+            rowQuota.check(1);
+            return idGenerator.next();
+        }).flatMap(id -> write(tenant, sequencia -> {
+            TodoResponseDTO created = TodoMapper.toResponse(id, requestDTO, 0L);
+            return todoReactiveRepository.insert(tenant, id, requestDTO, sequencia, Instant.now())
+                    .then(publish(tenant, () -> TodoChangedEvent.created(created, sequencia)))
+                    .thenReturn(created);
+        })).doOnNext(created -> todosCache.put(TenantContext.key(tenant, created.getId()), created));
+    }
+
+    /**
+     * Lista uma página de tarefas, como {@link TodoService#listPage(String, int, TodoFilter, Set)}.
+     *
+     * @param tenant O tenant da requisição.
+     * @param cursor O cursor opaco da página anterior, ou {@code null} para a primeira página.
+     * @param size   O número máximo de tarefas da página.
+     * @param filtro Os filtros da listagem.
+     * @param campos Os campos a incluir em cada tarefa.
+     * @return A página de DTOs de resposta, com o cursor da próxima página, se houver.
+     * @throws br.com.mascenadev.crud.exception.CursorInvalidoException Se o cursor não for válido.
+     */
+    public Mono<TodoPageDTO> listPage(String tenant, String cursor, int size, TodoFilter filtro,
+                                      Set<TodoField> campos) {
+        return Mono.defer(() -> {
+            TodoCursor after = cursor == null || cursor.isBlank() ? null : TodoCursor.decode(cursor);
+            return todoReactiveRepository.findPage(tenant, filtro, after, campos, size + 1).collectList();
+        }).map(todos -> {
+            String nextCursor = todos.size() > size
+                    ? TodoCursor.after(todos.get(size - 1)).encode()
+                    : null;
+            List<TodoResponseDTO> content = todos.stream()
+                    .limit(size)
+                    .map(todo -> TodoMapper.toResponse(todo, campos))
+                    .toList();
+            return new TodoPageDTO(content, nextCursor);
+        });
+    }
+
+    /**
+     * Percorre todas as tarefas do tenant na ordenação padrão. As tarefas são lidas do banco
+     * à medida que o assinante as solicita: um cliente lento desacelera a leitura, em vez de
+     * acumular a listagem em memória.
+     *
+     * @param tenant O tenant da requisição.
+     * @return As tarefas.
+     */
+    public Flux<TodoResponseDTO> streamAll(String tenant) {
+        return todoReactiveRepository.streamAll(tenant);
+    }
+
+    /**
+     * Busca uma tarefa pelo seu ID, primeiro no cache de {@code GET /todos/{id}}.
+     *
+     * @param tenant O tenant da requisição.
+     * @param id     O ID da tarefa.
+     * @return O DTO de resposta da tarefa, ou um erro {@link TodoNaoEncontradoException} se ela não existir.
+     */
+    public Mono<TodoResponseDTO> findById(String tenant, Long id) {
+        String key = TenantContext.key(tenant, id);
+        return Mono.defer(() -> Mono.justOrEmpty(todosCache.get(key, TodoResponseDTO.class)))
+                .switchIfEmpty(todoReactiveRepository.findById(tenant, id)
+                        .doOnNext(todo -> todosCache.put(key, todo)))
+                .switchIfEmpty(Mono.error(() -> new TodoNaoEncontradoException(id)));
+    }
+
+    /**
+     * Atualiza uma tarefa, como {@link TodoService#update(Long, TodoRequestDTO, Collection)}.
+     *
+     * @param tenant           O tenant da requisição.
+     * @param id               O ID da tarefa.
+     * @param requestDTO       O DTO de requisição com os dados atualizados.
+     * @param versoesEsperadas As versões aceitas como atuais, ou {@code null} para atualizar incondicionalmente.
+     * @return O DTO de resposta da tarefa atualizada.
+     */
+    public Mono<TodoResponseDTO> update(String tenant, Long id, TodoRequestDTO requestDTO,
+                                        Collection<Long> versoesEsperadas) {
+        if (versoesEsperadas != null && versoesEsperadas.isEmpty()) {
+            return conflictOrNotFound(tenant, id);
+        }
+        String key = TenantContext.key(tenant, id);
+        return write(tenant, sequencia -> todoReactiveRepository
+                .updateReturningPrevious(tenant, id, versoesEsperadas, requestDTO, sequencia, Instant.now(),
+                        todosCache.get(key, TodoResponseDTO.class))
+                .switchIfEmpty(notWritten(tenant, id, versoesEsperadas))
+                .flatMap(anterior -> {
+                    TodoResponseDTO updated = TodoMapper.toResponse(id, requestDTO, sequencia);
+                    return publish(tenant, () -> TodoChangedEvent.updated(updated, anterior, sequencia))
+                            .thenReturn(updated);
+                })).doOnNext(updated -> todosCache.put(key, updated));
+    }
+
+    /**
+     * Deleta uma tarefa, como {@link TodoService#delete(Long, Collection)}.
+     *
+     * @param tenant           O tenant da requisição.
+     * @param id               O ID da tarefa.
+     * @param versoesEsperadas As versões aceitas como atuais, ou {@code null} para deletar incondicionalmente.
+     * @return Um {@link Mono} que completa após a exclusão.
+     */
+    public Mono<Void> delete(String tenant, Long id, Collection<Long> versoesEsperadas) {
+        if (versoesEsperadas != null && versoesEsperadas.isEmpty()) {
+            return conflictOrNotFound(tenant, id);
+        }
+        String key = TenantContext.key(tenant, id);
+        return write(tenant, sequencia -> todoReactiveRepository
+                .removeReturningPrevious(tenant, id, versoesEsperadas, todosCache.get(key, TodoResponseDTO.class))
+                .switchIfEmpty(notWritten(tenant, id, versoesEsperadas))
+                .flatMap(anterior -> todoReactiveRepository.insertTombstone(tenant, id, sequencia, Instant.now())
+                        .then(publish(tenant, () -> TodoChangedEvent.deleted(anterior, sequencia)))))
+                .then(Mono.fromRunnable(() -> todosCache.evict(key)));
+    }
+
+    /**
+     * Obtém a marca d'água das tarefas do tenant, como {@link TodoService#watermark()}.
+     *
+     * @param tenant O tenant da requisição.
+     * @return A marca d'água.
+     */
+    public Mono<TodoWatermark> watermark(String tenant) {
+        return todoReactiveRepository.findWatermark(tenant);
+    }
+
+    /**
+     * Lista as alterações posteriores a uma marca d'água, como {@link TodoService#changesSince(long, int)}.
+     *
+     * @param tenant O tenant da requisição.
+     * @param since  A marca d'água da última sincronização.
+     * @param size   O número máximo de alterações.
+     * @return As alterações e a nova marca d'água.
+     */
+    public Mono<TodoChangesDTO> changesSince(String tenant, long since, int size) {
+        return blocking(tenant, () -> todoService.changesSince(since, size));
+    }
+
+    /**
+     * Obtém as estatísticas das tarefas do tenant, como {@link TodoStatsService#stats()}. Como a
+     * primeira consulta de um tenant o carrega do banco, roda fora do event loop.
+     *
+     * @param tenant O tenant da requisição.
+     * @return As estatísticas.
+     */
+    public Mono<TodoStatsDTO> stats(String tenant) {
+        return blocking(tenant, todoStatsService::stats);
+    }
+
+    /**
+     * Busca tarefas por palavras-chave, como {@link TodoSearchService#search(String, String, int)}.
+     *
+     * @param tenant O tenant da requisição.
+     * @param q      O texto da busca.
+     * @param cursor O cursor opaco da página anterior, ou {@code null} para a primeira página.
+     * @param size   O número máximo de tarefas da página.
+     * @return A página de resultados, por relevância.
+     */
+    public Mono<TodoPageDTO> search(String tenant, String q, String cursor, int size) {
+        return blocking(tenant, () -> todoSearchService.search(q, cursor, size));
+    }
+
+    /**
+     * Cria várias tarefas, como {@link TodoService#createBatch(List)}.
+     *
+     * @param tenant   O tenant da requisição.
+     * @param requests Os DTOs de requisição.
+     * @return O resultado de cada item.
+     */
+    public Mono<List<TodoBatchResultDTO>> createBatch(String tenant, List<TodoRequestDTO> requests) {
+        return blocking(tenant, () -> todoService.createBatch(requests));
+    }
+
+    /**
+     * Atualiza várias tarefas, como {@link TodoService#updateBatch(List)}.
+     *
+     * @param tenant   O tenant da requisição.
+     * @param requests Os DTOs com os IDs e os dados atualizados.
+     * @return O resultado de cada item.
+     */
+    public Mono<List<TodoBatchResultDTO>> updateBatch(String tenant, List<TodoBatchUpdateDTO> requests) {
+        return blocking(tenant, () -> todoService.updateBatch(requests));
+    }
+
+    /**
+     * Deleta várias tarefas, como {@link TodoService#deleteBatch(List)}.
+     *
+     * @param tenant O tenant da requisição.
+     * @param ids    Os IDs das tarefas.
+     * @return O resultado de cada item.
+     */
+    public Mono<List<TodoBatchResultDTO>> deleteBatch(String tenant, List<Long> ids) {
+        return blocking(tenant, () -> todoService.deleteBatch(ids));
+    }
+
+    /**
+     * Executa uma escrita em uma transação R2DBC, com o próximo número da sequência de alterações
+     * do tenant. A linha do contador é criada antes, se preciso, fora da transação.
+     */
+    private <T> Mono<T> write(String tenant, LongFunction<Mono<T>> action) {
+        return todoReactiveRepository.ensureCounter(tenant)
+                .then(transactionalOperator.transactional(
+                        todoReactiveRepository.nextSequence(tenant).flatMap(action::apply)));
+    }
+
+    /**
+     * Publica o evento de uma escrita na transação R2DBC em andamento. O evento é criado como o
+     * tenant da requisição, do qual ele registra o tenant.
+     */
+    private Mono<Void> publish(String tenant, Supplier<TodoChangedEvent> event) {
+        return eventPublisher.publishEvent(TenantContext.callAs(tenant, event));
+    }
+
+    /**
+     * Distingue, quando uma escrita não afetou a tarefa, a ausência dela de uma versão diferente
+     * das esperadas.
+     */
+    private <T> Mono<T> notWritten(String tenant, Long id, Collection<Long> versoesEsperadas) {
+        return Mono.defer(() -> versoesEsperadas == null
+                ? Mono.error(new TodoNaoEncontradoException(id))
+                : conflictOrNotFound(tenant, id));
+    }
+
+    private <T> Mono<T> conflictOrNotFound(String tenant, Long id) {
+        return todoReactiveRepository.exists(tenant, id)
+                .flatMap(exists -> Mono.error(exists
+                        ? new VersaoConflitanteException(id)
+                        : new TodoNaoEncontradoException(id)));
+    }
+
+    private static <T> Mono<T> blocking(String tenant, Supplier<T> action) {
+        return Mono.fromSupplier(() -> TenantContext.callAs(tenant, action))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,437 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.domain.Todo;
+import br.com.mascenadev.crud.dtos.TodoMapper;
+import br.com.mascenadev.crud.dtos.TodoPageDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.dtos.TodoSearchCursor;
+import br.com.mascenadev.crud.repository.TodoRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de busca textual sobre o título e a descrição das tarefas.
+ * <p>
+ * Mantém um índice invertido Lucene embarcado, gravado em {@code todo-api.search.index-dir}
+ * e analisado em português ({@link PortugueseFoldingAnalyzer}). O índice é atualizado de forma
+ * incremental a cada {@link TodoChangedEvent}, somente após o commit da transação, e as
+ * alterações ficam visíveis à busca sem um commit do Lucene (near-real-time).
+ * </p>
+ * <p>
+ * O commit do índice grava a marca d'água da coleção ({@link br.com.mascenadev.crud.dtos.TodoWatermark}).
+ * Na inicialização, se ela não corresponder à do banco (índice perdido, desligamento abrupto
+ * ou banco recriado), o índice é reconstruído. A reconstrução também pode ser solicitada
+ * a qualquer momento por {@link #rebuild()}.
+ * </p>
+ * <p>
+ * A reconstrução corre junto com as escritas: os eventos recebidos durante ela continuam sendo
+ * aplicados, e as tarefas que eles alteraram são puladas pela leitura do banco, que pode ter
+ * visto um estado anterior ao do evento. A verificação e a gravação de cada tarefa lida são
+ * atômicas em relação aos eventos ({@link #indexLock}).
+ * </p>
+ * <p>
+ * O índice reúne as tarefas de todos os tenants: cada documento guarda o tenant, a busca
+ * filtra pelo tenant atual, e a chave de atualização é {@link TenantContext#key(String, Long)},
+ * pois tenants isolados em esquema próprio ({@code todo-api.tenancy.isolated-tenants}) têm
+ * sequências de IDs próprias. A reconstrução percorre os tenants um a um.
+ * </p>
+ * <p>
+ * Se o diretório já estiver em uso por outra instância, o índice é mantido em memória
+ * e reconstruído a partir do banco.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Service
+public class TodoSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchService.class);
+
+    private static final String ID = "id";
+    private static final String CHAVE = "chave";
+    private static final String TENANT = "tenant";
+    private static final String TITULO = "titulo";
+    private static final String DESCRICAO = "descricao";
+    private static final String WATERMARK = "watermark";
+
+    /**
+     * Peso de uma ocorrência no título em relação a uma na descrição.
+     */
+    private static final float TITULO_BOOST = 2.0f;
+
+    private static final Sort RELEVANCIA = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG));
+
+    private final TodoService todoService;
+
+    private final TodoRepository todoRepository;
+
+    private final Analyzer analyzer = new PortugueseFoldingAnalyzer();
+
+    private final Directory directory;
+
+    private final IndexWriter writer;
+
+    private final SearcherManager searcherManager;
+
+    private final List<String> isolatedTenants;
+
+    /**
+     * Os eventos aplicam as suas alterações com o bloqueio de leitura, concorrentemente; a
+     * reconstrução usa o de escrita para começar e para gravar cada tarefa lida do banco.
+     */
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    /**
+     * Chaves das tarefas alteradas por eventos desde o início da reconstrução em andamento,
+     * ou {@code null} fora dela.
+     */
+    private Set<String> changedDuringRebuild;
+
+    /**
+     * Abre (ou cria) o índice no diretório configurado.
+     *
+     * @param todoService     O serviço de tarefas, usado para percorrer a coleção na reconstrução.
+     * @param todoRepository  O repositório de tarefas, usado para carregar os resultados da busca.
+     * @param indexDir        O diretório do índice.
+     * @param isolatedTenants Os tenants isolados em esquema próprio, percorridos à parte na reconstrução.
+     * @throws IOException Se o índice não puder ser aberto.
+     */
+    public TodoSearchService(TodoService todoService, TodoRepository todoRepository,
+                             @Value("${todo-api.search.index-dir}") Path indexDir,
+                             @Value("${todo-api.tenancy.isolated-tenants:}") List<String> isolatedTenants)
+            throws IOException {
+        this.todoService = todoService;
+        this.todoRepository = todoRepository;
+        this.isolatedTenants = isolatedTenants;
+        Directory fsDirectory = FSDirectory.open(indexDir);
+        IndexWriter fsWriter;
+        try {
+            fsWriter = new IndexWriter(fsDirectory, new IndexWriterConfig(analyzer));
+        } catch (LockObtainFailedException ex) {
+            log.warn("Índice de busca em {} já está em uso; usando um índice em memória", indexDir);
+            fsDirectory.close();
+            fsDirectory = new ByteBuffersDirectory();
+            fsWriter = new IndexWriter(fsDirectory, new IndexWriterConfig(analyzer));
+        }
+        this.directory = fsDirectory;
+        this.writer = fsWriter;
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Reconstrói o índice na inicialização se ele não corresponder ao estado atual do banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncOnStartup() {
+        String indexed = null;
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (WATERMARK.equals(entry.getKey())) {
+                indexed = entry.getValue();
+            }
+        }
+        if (!watermark().equals(indexed)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Aplica ao índice uma tarefa criada, alterada ou removida, após o commit da transação.
+     * Uma falha aqui não desfaz a escrita já confirmada; ela é registrada em log e o índice
+     * será corrigido na próxima reconstrução.
+     *
+     * @param event O evento da alteração.
+     */
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        String key = TenantContext.key(event.tenant(), event.id());
+        indexLock.readLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(key);
+            }
+            Term chave = new Term(CHAVE, key);
+            if (event.type() == TodoChangedEvent.Type.DELETED) {
+                writer.deleteDocuments(chave);
+            } else {
+                writer.updateDocument(chave, toDocument(event.tenant(), event.todo()));
+            }
+        } catch (IOException ex) {
+            log.error("Falha ao atualizar o índice de busca para a tarefa {}", event.id(), ex);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta o índice e o recria a partir de todas as tarefas do banco, de todos os tenants.
+     *
+     * @return O número de tarefas indexadas.
+     */
+    public synchronized long rebuild() {
+        try {
+            String watermark = watermark();
+            indexLock.writeLock().lock();
+            try {
+                writer.deleteAll();
+                changedDuringRebuild = ConcurrentHashMap.newKeySet();
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            long[] indexed = {0};
+            try {
+                for (String tenant : tenants()) {
+                    TenantContext.runAs(tenant, () -> todoService.streamAll(todo -> {
+                        if (index(tenant, todo)) {
+                            indexed[0]++;
+                        }
+                    }));
+                }
+            } finally {
+                indexLock.writeLock().lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    indexLock.writeLock().unlock();
+                }
+            }
+            commit(watermark);
+            searcherManager.maybeRefresh();
+            log.info("Índice de busca reconstruído com {} tarefas", indexed[0]);
+            return indexed[0];
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Obtém o número de tarefas atualmente visíveis no índice.
+     *
+     * @return O número de documentos do índice.
+     */
+    public int indexedCount() {
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.getIndexReader().numDocs();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Busca as tarefas do tenant atual cujo título ou descrição contenham os termos informados,
+     * ordenadas por relevância, com paginação por cursor.
+     * <p>
+     * Os termos são combinados com "ou"; ocorrências no título pesam mais. As tarefas
+     * encontradas são carregadas do banco com uma única consulta, de modo que a resposta
+     * reflete sempre o estado confirmado. Como a relevância depende das estatísticas do índice,
+     * alterações entre uma página e outra podem deslocar resultados.
+     * </p>
+     *
+     * @param q      O texto da busca.
+     * @param cursor O cursor opaco da página anterior, ou {@code null} para a primeira página.
+     * @param size   O número máximo de tarefas da página.
+     * @return A página de DTOs de resposta, com o cursor da próxima página, se houver.
+     * @throws br.com.mascenadev.crud.exception.CursorInvalidoException Se o cursor não for válido.
+     */
+    public TodoPageDTO search(String q, String cursor, int size) {
+        Query query = parse(q);
+        if (query == null) {
+            return new TodoPageDTO(List.of(), null);
+        }
+        TodoSearchCursor after = cursor == null || cursor.isBlank() ? null : TodoSearchCursor.decode(cursor);
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopFieldDocs top = after == null
+                        ? searcher.search(query, size + 1, RELEVANCIA, true)
+                        : searcher.searchAfter(position(searcher, after), query, size + 1, RELEVANCIA, true);
+                return toPage(top.scoreDocs, size);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Grava as alterações pendentes com a marca d'água atual e fecha o índice.
+     *
+     * @throws IOException Se o índice não puder ser gravado.
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        try {
+            commit(watermark());
+        } finally {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+
+    /**
+     * Grava no índice uma tarefa lida pela reconstrução, a menos que um evento já a tenha
+     * alterado depois do início dela.
+     */
+    private boolean index(String tenant, TodoResponseDTO todo) {
+        String key = TenantContext.key(tenant, todo.getId());
+        indexLock.writeLock().lock();
+        try {
+            if (changedDuringRebuild.contains(key)) {
+                return false;
+            }
+            writer.updateDocument(new Term(CHAVE, key), toDocument(tenant, todo));
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private TodoPageDTO toPage(ScoreDoc[] hits, int size) {
+        int count = Math.min(hits.length, size);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add((Long) ((FieldDoc) hits[i]).fields[1]);
+        }
+        Map<Long, Todo> todos = todoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        List<TodoResponseDTO> content = new ArrayList<>(count);
+        for (Long id : ids) {
+            Todo todo = todos.get(id);
+            if (todo != null) {
+                content.add(TodoMapper.toResponse(todo));
+            }
+        }
+        String nextCursor = null;
+        if (hits.length > size) {
+            FieldDoc last = (FieldDoc) hits[size - 1];
+            nextCursor = new TodoSearchCursor((Float) last.fields[0], (Long) last.fields[1]).encode();
+        }
+        return new TodoPageDTO(content, nextCursor);
+    }
+
+    /**
+     * Converte o cursor na posição de {@link IndexSearcher#searchAfter}. Como o ID desempata
+     * a ordenação, o número do documento só é comparado para a própria tarefa do cursor;
+     * o maior número possível garante que ela não seja repetida.
+     */
+    private static FieldDoc position(IndexSearcher searcher, TodoSearchCursor after) {
+        int lastDoc = searcher.getIndexReader().maxDoc() - 1;
+        return new FieldDoc(lastDoc, after.score(), new Object[]{after.score(), after.id()});
+    }
+
+    private Query parse(String q) {
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        Query titulo = builder.createBooleanQuery(TITULO, q);
+        Query descricao = builder.createBooleanQuery(DESCRICAO, q);
+        if (titulo == null && descricao == null) {
+            return null;
+        }
+        BooleanQuery.Builder terms = new BooleanQuery.Builder();
+        if (titulo != null) {
+            terms.add(new BoostQuery(titulo, TITULO_BOOST), BooleanClause.Occur.SHOULD);
+        }
+        if (descricao != null) {
+            terms.add(descricao, BooleanClause.Occur.SHOULD);
+        }
+        return new BooleanQuery.Builder()
+                .add(terms.build(), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(TENANT, TenantContext.current())), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    /**
+     * Lista os tenants com tarefas: os do esquema padrão, lidos como tenant raiz, e os isolados.
+     */
+    private Set<String> tenants() {
+        Set<String> tenants = new TreeSet<>(TenantContext.callAs(TenantContext.ROOT, todoService::tenants));
+        tenants.addAll(isolatedTenants);
+        return tenants;
+    }
+
+    /**
+     * Combina a marca d'água do esquema padrão (todos os tenants, lida como tenant raiz)
+     * com a de cada tenant isolado.
+     */
+    private String watermark() {
+        StringBuilder watermark = new StringBuilder(
+                TenantContext.callAs(TenantContext.ROOT, todoService::watermark).token());
+        for (String tenant : isolatedTenants) {
+            watermark.append('|').append(tenant).append('=')
+                    .append(TenantContext.callAs(tenant, todoService::watermark).token());
+        }
+        return watermark.toString();
+    }
+
+    private void commit(String watermark) throws IOException {
+        writer.setLiveCommitData(Map.of(WATERMARK, watermark).entrySet());
+        writer.commit();
+    }
+
+    private static Document toDocument(String tenant, TodoResponseDTO todo) {
+        Document document = new Document();
+        document.add(new StringField(CHAVE, TenantContext.key(tenant, todo.getId()), Field.Store.NO));
+        document.add(new StringField(TENANT, tenant, Field.Store.NO));
+        document.add(new NumericDocValuesField(ID, todo.getId()));
+        document.add(new TextField(TITULO, todo.getTitulo(), Field.Store.NO));
+        document.add(new TextField(DESCRICAO, todo.getDescricao(), Field.Store.NO));
+        return document;
+    }
+}
@@ -1,21 +1,85 @@
 package br.com.mascenadev.crud.service;
 
+import br.com.mascenadev.crud.config.CacheConfig;
+import br.com.mascenadev.crud.config.TenantContext;
 import br.com.mascenadev.crud.domain.Todo;
+import br.com.mascenadev.crud.domain.TodoTombstone;
+import br.com.mascenadev.crud.dtos.TodoBatchResultDTO;
+import br.com.mascenadev.crud.dtos.TodoBatchUpdateDTO;
+import br.com.mascenadev.crud.dtos.TodoChangesDTO;
+import br.com.mascenadev.crud.dtos.TodoCounts;
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoMapper;
+import br.com.mascenadev.crud.dtos.TodoPageDTO;
 import br.com.mascenadev.crud.dtos.TodoRequestDTO;
 import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.dtos.TodoWatermark;
+import br.com.mascenadev.crud.exception.LoteInvalidoException;
 import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import br.com.mascenadev.crud.exception.VersaoConflitanteException;
 import br.com.mascenadev.crud.repository.TodoRepository;
-import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Sort;
+import br.com.mascenadev.crud.repository.TodoTombstoneRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pela lógica de negócio das operações CRUD para a entidade {@link Todo}.
  * Gerencia a comunicação entre o controlador e o repositório,
  * aplicando regras de negócio e tratamento de exceções.
+ * <p>
+ * A busca por ID passa pelo cache {@link CacheConfig#TODOS_CACHE}; criações e atualizações
+ * o atualizam e exclusões o invalidam, sempre após o commit da transação.
+ * </p>
+ * <p>
+ * As operações em lote validam cada item individualmente e persistem os itens válidos
+ * em uma única transação, com os comandos agrupados em lotes JDBC.
+ * </p>
+ * <p>
+ * Cada tarefa criada, alterada ou removida gera um {@link TodoChangedEvent}, consumido após
+ * o commit por quem mantém projeções da coleção (ex: o índice de busca textual).
+ * </p>
+ * <p>
+ * As tarefas são sempre as do tenant atual ({@link TenantContext}): o Hibernate restringe a ele
+ * as consultas e escritas, e as chaves do cache incluem o tenant. As inclusões respeitam a cota
+ * de tarefas do tenant ({@link TenantRowQuota}).
+ * </p>
+ * <p>
+ * Toda escrita recebe um número da {@link TodoChangeSequence} e o instante da alteração, e as
+ * exclusões deixam um {@link TodoTombstone}; com isso {@link #changesSince} entrega apenas o que
+ * mudou desde a última sincronização de um cliente.
+ * </p>
+ * <p>
+ * As leituras são transações somente leitura, que podem ser atendidas por uma réplica
+ * quando {@code todo-api.replica.enabled} está ativo
+ * ({@link br.com.mascenadev.crud.config.ReplicaDataSourceConfig}).
+ * </p>
  *
  * @author Gilberto Dev
  * @see br.com.mascenadev.crud.domain.Todo
@@ -30,13 +94,42 @@ public class TodoService {
 
     private final TodoRepository todoRepository;
 
+    private final TodoTombstoneRepository tombstoneRepository;
+
+    private final TodoChangeSequence changeSequence;
+
+    private final Validator validator;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TenantRowQuota rowQuota;
+
+    @Value("${todo-api.batch.max-items}")
+    private int maxBatchItems;
+
     /**
      * Construtor para injeção de dependência do repositório de Todo.
      *
-     * @param todoRepository O repositório de Todo.
+     * @param todoRepository      O repositório de Todo.
+     * @param tombstoneRepository O repositório dos registros de exclusão.
+     * @param changeSequence      A sequência de alterações, que numera cada escrita.
+     * @param validator           O validador de Bean Validation usado nos itens das operações em lote.
+     * @param cacheManager        O gerenciador de cache, usado para manter o cache coerente nas operações em lote.
+     * @param eventPublisher      O publicador dos eventos {@link TodoChangedEvent} de cada escrita.
+     * @param rowQuota            A cota de tarefas por tenant, verificada nas inclusões.
      */
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(TodoRepository todoRepository, TodoTombstoneRepository tombstoneRepository,
+                       TodoChangeSequence changeSequence, Validator validator, CacheManager cacheManager,
+                       ApplicationEventPublisher eventPublisher, TenantRowQuota rowQuota) {
         this.todoRepository = todoRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeSequence = changeSequence;
+        this.validator = validator;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.rowQuota = rowQuota;
     }
 
 
@@ -47,26 +140,64 @@ public class TodoService {
      *
      * @param requestDTO O DTO de requisição contendo os dados da nova tarefa.
      * @return O DTO de resposta da tarefa criada.
+     * @throws br.com.mascenadev.crud.exception.CotaExcedidaException Se o tenant já atingiu a cota de tarefas.
      */
     @Transactional
+    @CachePut(cacheNames = CacheConfig.TODOS_CACHE, key = "T(br.com.mascenadev.crud.config.TenantContext).key(#result.id)")
     public TodoResponseDTO create(TodoRequestDTO requestDTO) {
-        Todo todo = requestDTO.toEntity();
+        rowQuota.check(1);
+        Todo todo = TodoMapper.toEntity(requestDTO);
+        stampCreated(todo, Instant.now(), changeSequence.next());
         Todo savedTodo = todoRepository.save(todo);
-        return new TodoResponseDTO(savedTodo);
+        TodoResponseDTO created = TodoMapper.toResponse(savedTodo);
+        eventPublisher.publishEvent(TodoChangedEvent.created(created, savedTodo.getSequencia()));
+        return created;
     }
 
     /**
-     * Lista todas as tarefas existentes, ordenadas por prioridade (descendente) e título (ascendente).
-     * Converte as entidades {@link Todo} para {@link TodoResponseDTO}.
+     * Lista uma página de tarefas, ordenadas por prioridade (descendente) e título (ascendente),
+     * usando paginação por chave (keyset) a partir do cursor informado.
+     * Busca um registro a mais que o tamanho da página para saber se existe uma próxima.
+     * <p>
+     * Apenas as tarefas que atendem ao filtro são lidas, e apenas as colunas dos campos
+     * solicitados, além das que compõem o cursor. O cursor só é válido com os mesmos filtros
+     * da página que o gerou.
+     * </p>
      *
-     * @return Uma lista de DTOs de resposta de tarefas.
+     * @param cursor O cursor opaco da página anterior, ou {@code null} para a primeira página.
+     * @param size   O número máximo de tarefas da página.
+     * @param filtro Os filtros da listagem.
+     * @param campos Os campos a incluir em cada tarefa.
+     * @return A página de DTOs de resposta, com o cursor da próxima página, se houver.
+     * @throws br.com.mascenadev.crud.exception.CursorInvalidoException Se o cursor não for válido.
      */
-    public List<TodoResponseDTO> listAll() {
-        Sort sort = Sort.by("prioridade")
-                .descending()
-                .and(Sort.by("titulo").ascending());
-        return todoRepository.findAll(sort).stream().map(TodoResponseDTO::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TodoPageDTO listPage(String cursor, int size, TodoFilter filtro, Set<TodoField> campos) {
+        TodoCursor after = cursor == null || cursor.isBlank() ? null : TodoCursor.decode(cursor);
+        List<TodoResponseDTO> todos = todoRepository.findPage(filtro, after, campos, size + 1);
+
+        String nextCursor = todos.size() > size
+                ? TodoCursor.after(todos.get(size - 1)).encode()
+                : null;
+        List<TodoResponseDTO> content = todos.stream()
+                .limit(size)
+                .map(todo -> TodoMapper.toResponse(todo, campos))
+                .toList();
+        return new TodoPageDTO(content, nextCursor);
+    }
+
+    /**
+     * Percorre todas as tarefas na ordenação padrão, entregando cada uma ao consumidor
+     * assim que é lida do banco de dados, sem acumular a listagem em memória.
+     * A transação permanece aberta até o fim da leitura.
+     *
+     * @param consumer O consumidor que recebe cada DTO de resposta.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<TodoResponseDTO> consumer) {
+        try (Stream<TodoResponseDTO> todos = todoRepository.streamAll()) {
+            todos.forEach(consumer);
+        }
     }
 
     /**
@@ -76,47 +207,374 @@ public class TodoService {
      * @return O DTO de resposta da tarefa encontrada.
      * @throws TodoNaoEncontradoException Se a tarefa com o ID fornecido não for encontrada.
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.TODOS_CACHE, key = "T(br.com.mascenadev.crud.config.TenantContext).key(#id)")
     public TodoResponseDTO findById(Long id) {
         Todo todo = todoRepository.findById(id)
                 .orElseThrow(() -> new TodoNaoEncontradoException(id));
-        return new TodoResponseDTO(todo);
+        return TodoMapper.toResponse(todo);
     }
 
     /**
      * Atualiza uma tarefa existente.
      * Recebe o ID da tarefa e um DTO de requisição com os dados atualizados.
-     * Lança {@link TodoNaoEncontradoException} se a tarefa não existir.
+     * A atualização é feita com um único UPDATE; a ausência da tarefa é detectada
+     * pelo número de linhas afetadas, sem uma consulta prévia. O mesmo comando devolve a prioridade
+     * e o status anteriores da tarefa, publicados no {@link TodoChangedEvent}; nos bancos sem tabelas
+     * delta, eles vêm da tarefa no cache, com o UPDATE condicionado à versão dela.
+     * <p>
+     * Quando {@code versoesEsperadas} é informado (cabeçalho {@code If-Match}), o UPDATE só é
+     * aplicado se a versão atual da tarefa estiver entre elas. A nova versão é o número da
+     * alteração na {@link TodoChangeSequence}, gravado pelo próprio UPDATE, e por isso a resposta
+     * não depende de uma leitura posterior.
+     * </p>
      *
-     * @param id         O ID da tarefa a ser atualizada.
-     * @param requestDTO O DTO de requisição com os dados para atualização.
-     * @return O DTO de resposta da tarefa atualizada.
+     * @param id               O ID da tarefa a ser atualizada.
+     * @param requestDTO       O DTO de requisição com os dados para atualização.
+     * @param versoesEsperadas As versões aceitas como atuais, ou {@code null} para atualizar incondicionalmente.
+     * @return O DTO de resposta da tarefa atualizada, com a nova versão.
      * @throws TodoNaoEncontradoException Se a tarefa com o ID fornecido não for encontrada.
+     * @throws VersaoConflitanteException Se a tarefa estiver em uma versão diferente das esperadas.
      */
     @Transactional
-    public TodoResponseDTO update(Long id, TodoRequestDTO requestDTO) {
-        Todo existingTodo = todoRepository.findById(id)
-                .orElseThrow(() -> new TodoNaoEncontradoException(id));
-        existingTodo.setTitulo(requestDTO.getTitulo());
-        existingTodo.setDescricao(requestDTO.getDescricao());
-        existingTodo.setRealizado(requestDTO.getRealizado());
-        existingTodo.setPrioridade(requestDTO.getPrioridade());
-
-        Todo updatedTodo = todoRepository.save(existingTodo);
-        return new TodoResponseDTO(updatedTodo);
+    @CachePut(cacheNames = CacheConfig.TODOS_CACHE, key = "T(br.com.mascenadev.crud.config.TenantContext).key(#id)")
+    public TodoResponseDTO update(Long id, TodoRequestDTO requestDTO, Collection<Long> versoesEsperadas) {
+        if (versoesEsperadas != null && versoesEsperadas.isEmpty()) {
+            throw conflictOrNotFound(id);
+        }
+        long sequencia = changeSequence.next();
+        TodoEstado anterior = todoRepository
+                .updateReturningPrevious(id, versoesEsperadas, requestDTO, sequencia, Instant.now(), cached(id))
+                .orElseThrow(() -> versoesEsperadas == null ? new TodoNaoEncontradoException(id) : conflictOrNotFound(id));
+        TodoResponseDTO updated = TodoMapper.toResponse(id, requestDTO, sequencia);
+        eventPublisher.publishEvent(TodoChangedEvent.updated(updated, anterior, sequencia));
+        return updated;
     }
 
     /**
      * Deleta uma tarefa pelo seu ID.
-     * Lança {@link TodoNaoEncontradoException} se a tarefa não existir.
+     * A exclusão é feita com um único DELETE; a ausência da tarefa é detectada
+     * pelo número de linhas afetadas. Uma exclusão efetiva grava também o {@link TodoTombstone}.
+     * O estado anterior vem como na atualização ({@link #update}).
+     * Quando {@code versoesEsperadas} é informado (cabeçalho {@code If-Match}), o DELETE só é
+     * aplicado se a versão atual da tarefa estiver entre elas.
      *
-     * @param id O ID da tarefa a ser deletada.
+     * @param id               O ID da tarefa a ser deletada.
+     * @param versoesEsperadas As versões aceitas como atuais, ou {@code null} para deletar incondicionalmente.
      * @throws TodoNaoEncontradoException Se a tarefa com o ID fornecido não for encontrada.
+     * @throws VersaoConflitanteException Se a tarefa estiver em uma versão diferente das esperadas.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TODOS_CACHE, key = "T(br.com.mascenadev.crud.config.TenantContext).key(#id)")
+    public void delete(Long id, Collection<Long> versoesEsperadas) {
+        if (versoesEsperadas != null && versoesEsperadas.isEmpty()) {
+            throw conflictOrNotFound(id);
+        }
+        long sequencia = changeSequence.next();
+        TodoEstado anterior = todoRepository.removeReturningPrevious(id, versoesEsperadas, cached(id))
+                .orElseThrow(() -> versoesEsperadas == null ? new TodoNaoEncontradoException(id) : conflictOrNotFound(id));
+        tombstoneRepository.save(new TodoTombstone(id, sequencia, Instant.now()));
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(anterior, sequencia));
+    }
+
+    /**
+     * Obtém a marca d'água atual da coleção de tarefas, que muda a cada inclusão,
+     * alteração ou exclusão. Usada como versão da listagem.
+     * <p>
+     * É o contador da {@link TodoChangeSequence}, lido pela chave primária: o custo não depende
+     * do número de tarefas do tenant.
+     * </p>
+     *
+     * @return A marca d'água da coleção.
+     */
+    @Transactional(readOnly = true)
+    public TodoWatermark watermark() {
+        return new TodoWatermark(changeSequence.safeWatermark());
+    }
+
+    /**
+     * Lista os tenants com tarefas visíveis na sessão. Com o tenant raiz
+     * ({@link TenantContext#ROOT}), todos os tenants do esquema padrão.
+     *
+     * @return Os tenants.
+     */
+    @Transactional(readOnly = true)
+    public List<String> tenants() {
+        return todoRepository.findTenants();
+    }
+
+    /**
+     * Conta as tarefas do tenant atual por prioridade e status.
+     * <p>
+     * A leitura é feita no primário, como em {@link #changesSince(long, int)}: a contagem serve
+     * para conferir as estatísticas mantidas pelas escritas já confirmadas, que uma réplica
+     * atrasada ainda poderia não refletir.
+     * </p>
+     * <p>
+     * Antes de contar, bloqueia o contador da {@link TodoChangeSequence}: as escritas em andamento
+     * são confirmadas antes, as seguintes esperam o fim da contagem, e o número devolvido separa
+     * as alterações contadas das que não foram. Com o tenant raiz, que não tem contador próprio,
+     * o número é zero.
+     * </p>
+     *
+     * @return As quantidades de cada combinação de prioridade e status com ao menos uma tarefa, e
+     * o número da última alteração contada.
+     */
+    @Transactional
+    public TodoCounts counts() {
+        long sequencia = TenantContext.ROOT.equals(TenantContext.current()) ? 0 : changeSequence.lock();
+        return new TodoCounts(todoRepository.countByPrioridadeAndRealizado(), sequencia);
+    }
+
+    /**
+     * Lista as alterações da coleção posteriores a uma marca d'água, para a sincronização
+     * incremental de clientes.
+     * <p>
+     * Lê até {@code size + 1} tarefas e exclusões com número de alteração entre {@code since} e a
+     * marca segura da {@link TodoChangeSequence}, pelos índices de {@code sequencia}, e entrega as
+     * {@code size} primeiras em ordem de alteração. A nova marca d'água é o número da última
+     * alteração entregue, ou a marca segura se não houver mais nada.
+     * </p>
+     * <p>
+     * A leitura é feita no primário: uma réplica atrasada poderia ainda não ter uma alteração
+     * abaixo da marca segura, e o cliente a perderia ao avançar.
+     * </p>
+     *
+     * @param since O número da última alteração conhecida pelo cliente (0 para todas).
+     * @param size  O número máximo de alterações da página.
+     * @return As alterações, com a próxima marca d'água.
+     */
+    @Transactional
+    public TodoChangesDTO changesSince(long since, int size) {
+        long until = changeSequence.safeWatermark();
+        if (until <= since) {
+            return new TodoChangesDTO(List.of(), List.of(), since, false);
+        }
+        List<Todo> upserted = todoRepository.findChangedBetween(since, until, Limit.of(size + 1));
+        List<TodoTombstone> deleted = tombstoneRepository.findBetween(since, until, Limit.of(size + 1));
+
+        List<TodoResponseDTO> upsertedPage = new ArrayList<>();
+        List<Long> deletedPage = new ArrayList<>();
+        int u = 0;
+        int d = 0;
+        long watermark = since;
+        while (upsertedPage.size() + deletedPage.size() < size && (u < upserted.size() || d < deleted.size())) {
+            if (d == deleted.size() || (u < upserted.size()
+                                        && upserted.get(u).getSequencia() < deleted.get(d).getSequencia())) {
+                Todo todo = upserted.get(u++);
+                upsertedPage.add(TodoMapper.toResponse(todo));
+                watermark = todo.getSequencia();
+            } else {
+                TodoTombstone tombstone = deleted.get(d++);
+                deletedPage.add(tombstone.getId());
+                watermark = tombstone.getSequencia();
+            }
+        }
+        boolean hasMore = u < upserted.size() || d < deleted.size();
+        return new TodoChangesDTO(upsertedPage, deletedPage, hasMore ? watermark : until, hasMore);
+    }
+
+    /**
+     * Cria várias tarefas em uma única transação.
+     * Cada item é validado individualmente; os inválidos são reportados com status 400
+     * e os válidos são inseridos juntos, em lotes JDBC.
+     *
+     * @param requests Os DTOs de requisição das novas tarefas.
+     * @return O resultado de cada item, na ordem da requisição.
+     * @throws LoteInvalidoException Se a lista estiver vazia ou exceder o tamanho máximo do lote.
+     * @throws br.com.mascenadev.crud.exception.CotaExcedidaException Se os itens válidos levariam o tenant além da cota.
+     */
+    @Transactional
+    public List<TodoBatchResultDTO> createBatch(List<TodoRequestDTO> requests) {
+        checkBatchSize(requests);
+        List<TodoBatchResultDTO> results = new ArrayList<>(requests.size());
+        List<Todo> todos = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                todos.add(TodoMapper.toEntity(requests.get(i)));
+                results.add(null);
+            } else {
+                todos.add(null);
+                results.add(TodoBatchResultDTO.failure(i, HttpStatus.BAD_REQUEST.value(), null, errors));
+            }
+        }
+
+        Instant now = Instant.now();
+        List<Todo> valid = todos.stream().filter(Objects::nonNull).toList();
+        rowQuota.check(valid.size());
+        long sequencia = valid.isEmpty() ? 0 : changeSequence.next(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            stampCreated(valid.get(i), now, sequencia + i);
+        }
+        todoRepository.saveAll(valid);
+
+        Cache cache = todoCache();
+        for (int i = 0; i < todos.size(); i++) {
+            if (todos.get(i) != null) {
+                TodoResponseDTO created = TodoMapper.toResponse(todos.get(i));
+                cache.put(TenantContext.key(created.getId()), created);
+                eventPublisher.publishEvent(TodoChangedEvent.created(created, todos.get(i).getSequencia()));
+                results.set(i, TodoBatchResultDTO.success(i, HttpStatus.CREATED.value(), created));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Atualiza várias tarefas em uma única transação.
+     * Cada item é validado individualmente; as tarefas existentes são carregadas com uma
+     * única consulta e os UPDATEs são enviados em lotes JDBC antes de montar a resposta,
+     * que assim já traz a nova versão de cada tarefa.
+     *
+     * @param requests Os DTOs de atualização, cada um com o ID da tarefa.
+     * @return O resultado de cada item (200, 400 ou 404), na ordem da requisição.
+     * @throws LoteInvalidoException Se a lista estiver vazia ou exceder o tamanho máximo do lote.
+     */
+    @Transactional
+    public List<TodoBatchResultDTO> updateBatch(List<TodoBatchUpdateDTO> requests) {
+        checkBatchSize(requests);
+        Set<Long> ids = new HashSet<>();
+        List<Map<String, String>> errorsByItem = new ArrayList<>(requests.size());
+        for (TodoBatchUpdateDTO request : requests) {
+            Map<String, String> errors = validate(request);
+            errorsByItem.add(errors);
+            if (errors.isEmpty()) {
+                ids.add(request.getId());
+            }
+        }
+        Map<Long, Todo> existing = new HashMap<>();
+        Map<Long, TodoEstado> anteriores = new HashMap<>();
+        todoRepository.findAllById(ids).forEach(todo -> {
+            existing.put(todo.getId(), todo);
+            anteriores.put(todo.getId(), new TodoEstado(todo.getId(), todo.getPrioridade(), todo.getRealizado()));
+        });
+
+        List<TodoBatchResultDTO> results = new ArrayList<>(requests.size());
+        List<Todo> changed = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TodoBatchUpdateDTO request = requests.get(i);
+            Todo todo = existing.get(request.getId());
+            if (!errorsByItem.get(i).isEmpty()) {
+                results.add(TodoBatchResultDTO.failure(i, HttpStatus.BAD_REQUEST.value(), request.getId(), errorsByItem.get(i)));
+            } else if (todo == null) {
+                results.add(notFound(i, request.getId()));
+            } else {
+                TodoMapper.applyTo(request, todo);
+                changed.add(todo);
+                results.add(null);
+            }
+        }
+        Instant now = Instant.now();
+        long sequencia = changed.isEmpty() ? 0 : changeSequence.next(changed.size());
+        for (int i = 0; i < changed.size(); i++) {
+            changed.get(i).setSequencia(sequencia + i);
+            changed.get(i).setAtualizadoEm(now);
+        }
+
+        todoRepository.flush();
+        Cache cache = todoCache();
+        Map<Long, TodoResponseDTO> updatedById = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results.get(i) == null) {
+                TodoResponseDTO updated = TodoMapper.toResponse(existing.get(requests.get(i).getId()));
+                cache.put(TenantContext.key(updated.getId()), updated);
+                updatedById.put(updated.getId(), updated);
+                results.set(i, TodoBatchResultDTO.success(i, HttpStatus.OK.value(), updated));
+            }
+        }
+        updatedById.values().forEach(updated -> eventPublisher.publishEvent(TodoChangedEvent.updated(
+                updated, anteriores.get(updated.getId()), existing.get(updated.getId()).getSequencia())));
+        return results;
+    }
+
+    /**
+     * Deleta várias tarefas em uma única transação.
+     * Os IDs existentes são identificados com uma consulta, que traz também o estado publicado
+     * em cada {@link TodoChangedEvent}, e removidos com um único DELETE;
+     * os {@link TodoTombstone}s são inseridos em lotes JDBC.
+     *
+     * @param ids Os IDs das tarefas a serem deletadas.
+     * @return O resultado de cada item (204, 400 ou 404), na ordem da requisição.
+     * @throws LoteInvalidoException Se a lista estiver vazia ou exceder o tamanho máximo do lote.
      */
     @Transactional
-    public void delete(Long id) {
-        if (!todoRepository.existsById(id)) {
-            throw new TodoNaoEncontradoException(id);
+    public List<TodoBatchResultDTO> deleteBatch(List<Long> ids) {
+        checkBatchSize(ids);
+        Set<Long> requested = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        List<TodoEstado> anteriores = requested.isEmpty() ? List.of() : todoRepository.findEstados(requested);
+        Set<Long> existing = anteriores.stream().map(TodoEstado::id).collect(Collectors.toSet());
+        long sequencia = existing.isEmpty() ? 0 : changeSequence.next(existing.size());
+        todoRepository.deleteAllByIdInBatch(existing);
+        Instant now = Instant.now();
+        List<TodoTombstone> tombstones = new ArrayList<>(anteriores.size());
+        for (TodoEstado anterior : anteriores) {
+            tombstones.add(new TodoTombstone(anterior.id(), sequencia + tombstones.size(), now));
+        }
+        tombstoneRepository.saveAll(tombstones);
+
+        List<TodoBatchResultDTO> results = new ArrayList<>(ids.size());
+        Cache cache = todoCache();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(TodoBatchResultDTO.failure(i, HttpStatus.BAD_REQUEST.value(), null,
+                        Map.of("id", "ID é obrigatório")));
+            } else if (!existing.contains(id)) {
+                results.add(notFound(i, id));
+            } else {
+                cache.evict(TenantContext.key(id));
+                results.add(TodoBatchResultDTO.success(i, HttpStatus.NO_CONTENT.value(), id));
+            }
+        }
+        for (int i = 0; i < anteriores.size(); i++) {
+            eventPublisher.publishEvent(TodoChangedEvent.deleted(anteriores.get(i), tombstones.get(i).getSequencia()));
         }
-        todoRepository.deleteById(id);
+        return results;
+    }
+
+    private void stampCreated(Todo todo, Instant now, long sequencia) {
+        todo.setCriadoEm(now);
+        todo.setAtualizadoEm(now);
+        todo.setSequencia(sequencia);
+    }
+
+    private RuntimeException conflictOrNotFound(Long id) {
+        return todoRepository.existsById(id)
+                ? new VersaoConflitanteException(id)
+                : new TodoNaoEncontradoException(id);
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new LoteInvalidoException("O lote deve conter ao menos um item");
+        }
+        if (items.size() > maxBatchItems) {
+            throw new LoteInvalidoException("O lote deve conter no máximo " + maxBatchItems + " itens");
+        }
+    }
+
+    private Map<String, String> validate(Object request) {
+        if (request == null) {
+            return Map.of("item", "Item é obrigatório");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        return violations.stream().collect(Collectors.toMap(
+                violation -> violation.getPropertyPath().toString(),
+                ConstraintViolation::getMessage,
+                (first, second) -> first));
+    }
+
+    private TodoBatchResultDTO notFound(int index, Long id) {
+        return TodoBatchResultDTO.failure(index, HttpStatus.NOT_FOUND.value(), id,
+                Map.of("id", new TodoNaoEncontradoException(id).getMessage()));
+    }
+
+    private TodoResponseDTO cached(Long id) {
+        return todoCache().get(TenantContext.key(id), TodoResponseDTO.class);
+    }
+
+    private Cache todoCache() {
+        return cacheManager.getCache(CacheConfig.TODOS_CACHE);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,359 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoCount;
+import br.com.mascenadev.crud.dtos.TodoCounts;
+import br.com.mascenadev.crud.dtos.TodoStatsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Estatísticas das tarefas de cada tenant ({@code GET /todos/stats}): quantidades por status e
+ * por prioridade, mantidas em memória a partir das escritas, de modo que a leitura custa o mesmo
+ * qualquer que seja o tamanho da tabela.
+ * <p>
+ * Cada combinação de prioridade (0 a 5) e status tem um {@link LongAdder}. Os eventos de alteração
+ * e remoção ({@link TodoChangedEvent}) trazem a combinação anterior da tarefa, devolvida pelo próprio
+ * comando de escrita: cada evento desconta a anterior e soma a nova, sem estado por tarefa. Como as
+ * diferenças se somam em qualquer ordem, eventos entregues fora da ordem das escritas chegam às
+ * mesmas contagens.
+ * </p>
+ * <p>
+ * Um tenant é carregado na primeira consulta às suas estatísticas, com um {@code COUNT ... GROUP BY}
+ * no primário. A cada {@code todo-api.stats.reconcile-interval}, as contagens dos tenants carregados
+ * são comparadas com a mesma contagem; se divergirem (escritas de outra instância ou eventos
+ * perdidos), as contagens do banco substituem as da memória.
+ * </p>
+ * <p>
+ * A contagem vale até um número da sequência de alterações ({@link TodoService#counts()}), e os
+ * eventos trazem o número da sua escrita. Os eventos que chegam enquanto o banco conta ficam
+ * guardados; ao fim, os de número maior que o da contagem são somados a ela, e, depois de uma
+ * carga ou substituição, os eventos de número até o da contagem são ignorados, porque ela já os
+ * reflete. Assim uma escrita confirmada durante a contagem não é contada duas vezes nem perdida.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Service
+public class TodoStatsService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoStatsService.class);
+
+    /**
+     * Número de prioridades, de 0 a 5.
+     */
+    private static final int PRIORIDADES = 6;
+
+    private final Map<String, TenantStats> tenants = new ConcurrentHashMap<>();
+
+    private final TodoService todoService;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder reconciliations = new LongAdder();
+
+    /**
+     * Cria o serviço e agenda a conferência periódica.
+     *
+     * @param todoService       O serviço de tarefas, usado na carga e na conferência.
+     * @param reconcileInterval O intervalo entre as conferências com o banco.
+     */
+    public TodoStatsService(TodoService todoService,
+                            @Value("${todo-api.stats.reconcile-interval}") Duration reconcileInterval) {
+        this.todoService = todoService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcile, reconcileInterval.toMillis(), reconcileInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtém as estatísticas do tenant atual, carregando-o do banco na primeira consulta.
+     *
+     * @return As estatísticas.
+     */
+    public TodoStatsDTO stats() {
+        return load().snapshot();
+    }
+
+    /**
+     * Obtém o número de tarefas do tenant atual, carregando-o do banco na primeira consulta.
+     *
+     * @return O número de tarefas.
+     */
+    public long total() {
+        return load().total();
+    }
+
+    private TenantStats load() {
+        String tenant = TenantContext.current();
+        TenantStats stats = tenants.computeIfAbsent(tenant, t -> new TenantStats());
+        if (!stats.loaded) {
+            stats.refresh(tenant, true);
+        }
+        return stats;
+    }
+
+    /**
+     * Aplica às contagens uma tarefa criada, alterada ou removida, após o commit da transação.
+     * Tenants ainda não carregados são ignorados: a carga lerá o estado já confirmado.
+     *
+     * @param event O evento da alteração.
+     */
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        TenantStats stats = tenants.get(event.tenant());
+        if (stats != null) {
+            stats.apply(event.sequencia(), event.anterior() == null ? -1 : index(event.anterior().prioridade(), event.anterior().realizado()),
+                    event.todo() == null ? -1 : index(event.todo().getPrioridade(), event.todo().getRealizado()));
+        }
+    }
+
+    /**
+     * Compara as contagens de cada tenant carregado com as do banco e recarrega os que divergirem.
+     *
+     * @return O número de tenants recarregados.
+     */
+    public int reconcile() {
+        int reloaded = 0;
+        for (Map.Entry<String, TenantStats> entry : tenants.entrySet()) {
+            String tenant = entry.getKey();
+            TenantStats stats = entry.getValue();
+            try {
+                if (stats.loaded && stats.refresh(tenant, false)) {
+                    log.warn("Estatísticas do tenant {} divergiram da contagem do banco; recarregadas", tenant);
+                    reconciliations.increment();
+                    reloaded++;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao conferir as estatísticas do tenant {}", tenant, ex);
+            }
+        }
+        return reloaded;
+    }
+
+    /**
+     * Registra o número de recargas por divergência como a métrica {@code todo.stats.reconciliations}.
+     *
+     * @param registry O registro de métricas.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("todo.stats.reconciliations", reconciliations, LongAdder::sum)
+                .description("Recargas das estatísticas de um tenant por divergência da contagem do banco")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static long[] toArray(TodoCounts counts) {
+        long[] array = new long[PRIORIDADES * 2];
+        for (TodoCount count : counts.counts()) {
+            int index = index(count.prioridade(), count.realizado());
+            if (index >= 0) {
+                array[index] = count.count();
+            }
+        }
+        return array;
+    }
+
+    private static int index(Integer prioridade, Boolean realizado) {
+        if (prioridade == null || prioridade < 0 || prioridade >= PRIORIDADES) {
+            return -1;
+        }
+        return prioridade * 2 + (Boolean.TRUE.equals(realizado) ? 1 : 0);
+    }
+
+    /**
+     * Contagens das tarefas de um tenant. Os eventos são aplicados com o bloqueio de leitura, em
+     * paralelo; o início e o fim de uma contagem no banco usam o de escrita, apenas pelo tempo de
+     * copiar as doze contagens.
+     */
+    private final class TenantStats {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final LongAdder[] counters = new LongAdder[PRIORIDADES * 2];
+
+        private volatile boolean loaded;
+
+        /**
+         * Número da sequência até o qual as contagens vêm do banco: eventos até ele são ignorados.
+         */
+        private volatile long base;
+
+        /**
+         * Eventos recebidos durante a contagem em andamento no banco, ou {@code null} fora dela.
+         */
+        private Queue<Delta> pending;
+
+        private TenantStats() {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Conta as tarefas no banco e, na carga ou se a contagem divergir da memória, a adota.
+         * Uma contagem por vez em cada tenant.
+         *
+         * @param tenant O tenant.
+         * @param carga  Se é a carga do tenant, e não a conferência de um tenant já carregado.
+         * @return Se as contagens da memória foram substituídas na conferência.
+         */
+        private synchronized boolean refresh(String tenant, boolean carga) {
+            if (carga == loaded) {
+                return false;
+            }
+            fence(new ConcurrentLinkedQueue<>());
+            TodoCounts counts;
+            try {
+                counts = TenantContext.callAs(tenant, todoService::counts);
+            } catch (RuntimeException ex) {
+                fence(null);
+                throw ex;
+            }
+            lock.writeLock().lock();
+            try {
+                long[] expected = toArray(counts);
+                for (Delta delta : pending) {
+                    if (delta.sequencia() > counts.sequencia()) {
+                        delta.applyTo(expected);
+                    }
+                }
+                pending = null;
+                if (loaded && Arrays.equals(expected, counts())) {
+                    return false;
+                }
+                set(expected, counts.sequencia());
+                return !carga;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void fence(Queue<Delta> queue) {
+            lock.writeLock().lock();
+            try {
+                pending = queue;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void set(long[] counts, long sequencia) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i].reset();
+                counters[i].add(counts[i]);
+            }
+            base = sequencia;
+            loaded = true;
+        }
+
+        private void apply(long sequencia, int previous, int index) {
+            lock.readLock().lock();
+            try {
+                if (pending != null) {
+                    pending.add(new Delta(sequencia, previous, index));
+                }
+                if (!loaded || sequencia <= base) {
+                    return;
+                }
+                if (previous >= 0) {
+                    counters[previous].decrement();
+                }
+                if (index >= 0) {
+                    counters[index].increment();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private long[] counts() {
+            lock.readLock().lock();
+            try {
+                long[] counts = new long[counters.length];
+                for (int i = 0; i < counters.length; i++) {
+                    counts[i] = counters[i].sum();
+                }
+                return counts;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private long total() {
+            lock.readLock().lock();
+            try {
+                long total = 0;
+                for (LongAdder counter : counters) {
+                    total += counter.sum();
+                }
+                return total;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private TodoStatsDTO snapshot() {
+            long[] counts = counts();
+            List<TodoStatsDTO.PorPrioridade> prioridades = new ArrayList<>(PRIORIDADES);
+            long realizadas = 0;
+            long pendentes = 0;
+            for (int prioridade = 0; prioridade < PRIORIDADES; prioridade++) {
+                long pendentesDaPrioridade = counts[prioridade * 2];
+                long realizadasDaPrioridade = counts[prioridade * 2 + 1];
+                prioridades.add(new TodoStatsDTO.PorPrioridade(prioridade,
+                        pendentesDaPrioridade + realizadasDaPrioridade, realizadasDaPrioridade, pendentesDaPrioridade));
+                realizadas += realizadasDaPrioridade;
+                pendentes += pendentesDaPrioridade;
+            }
+            return new TodoStatsDTO(realizadas + pendentes, realizadas, pendentes, prioridades);
+        }
+    }
+
+    /**
+     * Diferença que um evento aplica às contagens: desconta a combinação anterior e soma a nova
+     * (-1 quando não há).
+     */
+    private record Delta(long sequencia, int previous, int index) {
+
+        private void applyTo(long[] counts) {
+            if (previous >= 0) {
+                counts[previous]--;
+            }
+            if (index >= 0) {
+                counts[index]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.dtos.TodoBatchResultDTO;
+import br.com.mascenadev.crud.dtos.TodoImportProgressDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.exception.CotaExcedidaException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Importação e exportação das tarefas do tenant atual em NDJSON (um objeto JSON por linha) ou CSV,
+ * lidas e escritas em streaming, com uso de memória constante qualquer que seja o tamanho da coleção.
+ * <p>
+ * A importação lê o corpo um registro por vez. Cada registro é convertido em um
+ * {@link TodoRequestDTO}; os que não puderem ser lidos são rejeitados ali mesmo, e os demais são
+ * acumulados em lotes de {@code todo-api.import.batch-size}, cada um inserido por
+ * {@link TodoService#createBatch(List)} em sua própria transação, com as mesmas validações, cota,
+ * cache e eventos das criações em lote. Após cada lote é emitida uma linha de progresso
+ * ({@link TodoImportProgressDTO}) com o offset já confirmado, usado para retomar a importação.
+ * </p>
+ * <p>
+ * A exportação percorre as tarefas com o cursor somente-leitura de {@link TodoService#streamAll(Consumer)}
+ * e escreve cada linha assim que ela é lida.
+ * </p>
+ *
+ * @author Gilberto Dev
+ * @since 1.1.0
+ */
+@Service
+public class TodoTransferService {
+
+    /**
+     * Tipo de mídia do CSV (RFC 4180).
+     */
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final Logger log = LoggerFactory.getLogger(TodoTransferService.class);
+
+    /**
+     * Colunas do CSV exportado, na ordem. A importação reconhece as colunas pelo nome do cabeçalho
+     * e ignora as que não são campos de {@link TodoRequestDTO}, como {@code id} e {@code versao}.
+     */
+    private static final CsvSchema EXPORT_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("titulo")
+            .addColumn("descricao")
+            .addColumn("realizado")
+            .addColumn("prioridade")
+            .addColumn("versao")
+            .setUseHeader(true)
+            .build();
+
+    private final TodoService todoService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectReader requestReader;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    private final int batchSize;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param todoService  O serviço de tarefas, que insere cada lote.
+     * @param objectMapper O {@link ObjectMapper} da aplicação, usado no NDJSON.
+     * @param batchSize    O número de tarefas inseridas por transação.
+     * @param maxItems     O tamanho máximo de um lote, que limita {@code batchSize}.
+     */
+    public TodoTransferService(TodoService todoService, ObjectMapper objectMapper,
+                               @Value("${todo-api.import.batch-size}") int batchSize,
+                               @Value("${todo-api.batch.max-items}") int maxItems) {
+        this.todoService = todoService;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(TodoRequestDTO.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.batchSize = Math.max(1, Math.min(batchSize, maxItems));
+    }
+
+    /**
+     * Importa tarefas de um corpo NDJSON. Linhas em branco são ignoradas e não contam no offset.
+     *
+     * @param body     O corpo da requisição.
+     * @param offset   O número de registros iniciais a pular, já importados em uma tentativa anterior.
+     * @param progress O consumidor das linhas de progresso.
+     * @return A última linha de progresso emitida.
+     */
+    public TodoImportProgressDTO importNdjson(InputStream body, long offset, Consumer<TodoImportProgressDTO> progress) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return importRecords(() -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line;
+        }, this::parseJson, offset, progress);
+    }
+
+    /**
+     * Importa tarefas de um corpo CSV cuja primeira linha é o cabeçalho com os nomes das colunas
+     * ({@code titulo}, {@code descricao}, {@code realizado} e {@code prioridade}, em qualquer ordem).
+     * O cabeçalho não conta no offset.
+     *
+     * @param body     O corpo da requisição.
+     * @param offset   O número de registros iniciais a pular, já importados em uma tentativa anterior.
+     * @param progress O consumidor das linhas de progresso.
+     * @return A última linha de progresso emitida.
+     */
+    public TodoImportProgressDTO importCsv(InputStream body, long offset, Consumer<TodoImportProgressDTO> progress) {
+        Map<String, Integer> columns = new HashMap<>();
+        return importRecords(new RecordReader<String[]>() {
+
+            private MappingIterator<String[]> rows;
+
+            @Override
+            public String[] next() throws IOException {
+                if (rows == null) {
+                    rows = csvMapper.readerForArrayOf(String.class)
+                            .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                            .readValues(new InputStreamReader(body, StandardCharsets.UTF_8));
+                    if (rows.hasNextValue()) {
+                        String[] header = rows.nextValue();
+                        for (int i = 0; i < header.length; i++) {
+                            columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+                        }
+                    }
+                }
+                return rows.hasNextValue() ? rows.nextValue() : null;
+            }
+        }, row -> parseCsv(row, columns), offset, progress);
+    }
+
+    /**
+     * Exporta as tarefas do tenant atual em NDJSON, na ordenação padrão.
+     *
+     * @param out O destino, fechado ao final.
+     * @throws IOException Se a escrita falhar.
+     */
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            todoService.streamAll(todo -> {
+                try {
+                    generator.writeObject(todo);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    /**
+     * Exporta as tarefas do tenant atual em CSV, com cabeçalho, na ordenação padrão.
+     * O arquivo gerado pode ser reimportado por {@link #importCsv(InputStream, long, Consumer)}.
+     *
+     * @param out O destino, fechado ao final.
+     * @throws IOException Se a escrita falhar.
+     */
+    public void exportCsv(OutputStream out) throws IOException {
+        try (SequenceWriter writer = csvMapper.writerFor(TodoResponseDTO.class).with(EXPORT_SCHEMA).writeValues(out)) {
+            todoService.streamAll(todo -> {
+                try {
+                    writer.write(todo);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    /**
+     * Lê os registros, pula os anteriores ao offset e insere os demais em lotes. Os rejeitados
+     * (por leitura ou validação) entram no lote corrente para efeito de tamanho, de modo que
+     * cada linha de progresso traz no máximo {@code batchSize} erros.
+     * <p>
+     * Se a leitura do corpo falhar ou a cota do tenant for atingida, a importação para e a última
+     * linha traz o erro e o offset do último lote confirmado.
+     * </p>
+     */
+    private <R> TodoImportProgressDTO importRecords(RecordReader<R> reader, Function<R, Parsed> parser,
+                                                    long offset, Consumer<TodoImportProgressDTO> progress) {
+        Lote lote = new Lote(offset);
+        long position = 0;
+        TodoImportProgressDTO last;
+        try {
+            R record;
+            while ((record = reader.next()) != null) {
+                long index = position++;
+                if (index < offset) {
+                    continue;
+                }
+                Parsed parsed = parser.apply(record);
+                if (parsed.errors().isEmpty()) {
+                    lote.add(index, parsed.request());
+                } else {
+                    lote.reject(index, parsed.errors());
+                }
+                if (lote.size() >= batchSize) {
+                    progress.accept(lote.commit(position, false));
+                }
+            }
+            last = lote.commit(Math.max(position, offset), true);
+        } catch (IOException | CotaExcedidaException ex) {
+            log.warn("Importação interrompida após o offset {}: {}", lote.offset, ex.getMessage());
+            last = new TodoImportProgressDTO(lote.offset, lote.importados, lote.rejeitados, null, false,
+                    ex instanceof JsonProcessingException json ? json.getOriginalMessage() : ex.getMessage());
+        }
+        progress.accept(last);
+        return last;
+    }
+
+    private Parsed parseJson(String line) {
+        try {
+            return Parsed.valid(requestReader.readValue(line));
+        } catch (JsonProcessingException ex) {
+            return Parsed.invalid(Map.of("item", "Registro inválido: " + ex.getOriginalMessage()));
+        }
+    }
+
+    private static Parsed parseCsv(String[] row, Map<String, Integer> columns) {
+        TodoRequestDTO request = new TodoRequestDTO();
+        Map<String, String> errors = new LinkedHashMap<>();
+        request.setTitulo(cell(row, columns, "titulo"));
+        request.setDescricao(cell(row, columns, "descricao"));
+        String realizado = cell(row, columns, "realizado");
+        if (realizado != null && !realizado.isEmpty()) {
+            if (realizado.equalsIgnoreCase("true") || realizado.equalsIgnoreCase("false")) {
+                request.setRealizado(Boolean.parseBoolean(realizado));
+            } else {
+                errors.put("realizado", "Realizado deve ser true ou false");
+            }
+        }
+        String prioridade = cell(row, columns, "prioridade");
+        if (prioridade != null && !prioridade.isEmpty()) {
+            try {
+                request.setPrioridade(Integer.valueOf(prioridade.trim()));
+            } catch (NumberFormatException ex) {
+                errors.put("prioridade", "Prioridade deve ser um número inteiro");
+            }
+        }
+        return errors.isEmpty() ? Parsed.valid(request) : Parsed.invalid(errors);
+    }
+
+    private static String cell(String[] row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= row.length ? null : row[index];
+    }
+
+    /**
+     * Fonte dos registros do corpo, lidos um por vez.
+     */
+    @FunctionalInterface
+    private interface RecordReader<R> {
+
+        /**
+         * Lê o próximo registro.
+         *
+         * @return O registro, ou {@code null} no fim do corpo.
+         * @throws IOException Se a leitura falhar ou o corpo estiver malformado.
+         */
+        R next() throws IOException;
+    }
+
+    /**
+     * Um registro convertido em DTO, ou os erros que impediram a conversão.
+     */
+    private record Parsed(TodoRequestDTO request, Map<String, String> errors) {
+
+        private static Parsed valid(TodoRequestDTO request) {
+            return new Parsed(request, Map.of());
+        }
+
+        private static Parsed invalid(Map<String, String> errors) {
+            return new Parsed(null, errors);
+        }
+    }
+
+    /**
+     * O lote corrente da importação e os totais já confirmados.
+     */
+    private final class Lote {
+
+        private final List<TodoRequestDTO> requests = new ArrayList<>(batchSize);
+
+        private final long[] positions = new long[batchSize];
+
+        private List<TodoBatchResultDTO> erros = new ArrayList<>();
+
+        private long offset;
+
+        private long importados;
+
+        private long rejeitados;
+
+        private Lote(long offset) {
+            this.offset = offset;
+        }
+
+        private int size() {
+            return requests.size() + erros.size();
+        }
+
+        private void add(long position, TodoRequestDTO request) {
+            positions[requests.size()] = position;
+            requests.add(request);
+        }
+
+        private void reject(long position, Map<String, String> errors) {
+            erros.add(TodoBatchResultDTO.failure((int) position, HttpStatus.BAD_REQUEST.value(), null, errors));
+        }
+
+        /**
+         * Insere o lote, atualiza os totais e inicia um novo lote.
+         *
+         * @param position  O número de registros do corpo lidos até aqui, o novo offset.
+         * @param concluido Indica se este é o último lote.
+         * @return A linha de progresso do lote.
+         */
+        private TodoImportProgressDTO commit(long position, boolean concluido) {
+            if (!requests.isEmpty()) {
+                for (TodoBatchResultDTO result : todoService.createBatch(requests)) {
+                    if (result.status() == HttpStatus.CREATED.value()) {
+                        importados++;
+                    } else {
+                        erros.add(TodoBatchResultDTO.failure((int) positions[result.index()], result.status(), null,
+                                result.errors()));
+                    }
+                }
+                requests.clear();
+            }
+            erros.sort(Comparator.comparingInt(TodoBatchResultDTO::index));
+            rejeitados += erros.size();
+            offset = position;
+            TodoImportProgressDTO linha = new TodoImportProgressDTO(offset, importados, rejeitados, erros, concluido, null);
+            erros = new ArrayList<>();
+            return linha;
+        }
+    }
+}
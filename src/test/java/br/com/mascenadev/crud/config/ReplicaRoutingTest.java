@@ -0,0 +1,161 @@
+package br.com.mascenadev.crud.config;
+
+import br.com.mascenadev.crud.service.TodoService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica o roteamento de leituras com duas instâncias H2 independentes, uma como primário
+ * e outra como réplica (sem replicação entre elas, o que torna visível qual delas atendeu
+ * cada leitura). Os caches são desligados ou limpos para que toda leitura chegue ao banco, exceto
+ * nos testes com o cache de consultas ligado ({@link WithQueryCache}).
+ */
+@SpringBootTest(properties = {
+        "todo-api.replica.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "todo-api.replica.datasource.jdbc-url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "todo-api.replica.datasource.username=sa",
+        "todo-api.replica.lag-query=select seconds from replica_lag",
+        "todo-api.replica.max-lag=5s",
+        "todo-api.replica.check-interval=1h",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    private static final long REPLICA_ONLY_ID = 900_001L;
+
+    private static final String BODY = """
+            {"titulo":"Escrita no primário","descricao":"Ainda não replicada","realizado":false,"prioridade":3}
+            """;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("drop all objects");
+        new JdbcTemplate(primaryDataSource).queryForList("script nodata", String.class).forEach(replica::execute);
+        replica.execute("create table replica_lag (seconds int)");
+        replica.update("insert into replica_lag values (0)");
+        replica.update("insert into todos (id, titulo, descricao, realizado, prioridade, versao, criado_em, atualizado_em, sequencia)"
+                       + " values (?, ?, ?, ?, ?, 0, current_timestamp, current_timestamp, 0)",
+                REPLICA_ONLY_ID, "Só na réplica", "Lida da réplica", false, 1);
+        replicaLagMonitor.check();
+        clearCache();
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByTheReplica() {
+        assertThat(replicaLagMonitor.isHealthy()).isTrue();
+        assertThat(todoService.findById(REPLICA_ONLY_ID).getTitulo()).isEqualTo("Só na réplica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaLags() throws Exception {
+        replica.update("update replica_lag set seconds = 120");
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isHealthy()).isFalse();
+        mockMvc.perform(get("/todos/{id}", REPLICA_ONLY_ID)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() throws Exception {
+        MvcResult created = mockMvc.perform(post("/todos").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String location = created.getResponse().getHeader("Location");
+        Cookie sticky = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        assertThat(sticky).isNotNull();
+        clearCache();
+        mockMvc.perform(get(location).cookie(sticky)).andExpect(status().isOk());
+        clearCache();
+        mockMvc.perform(get(location)).andExpect(status().isNotFound());
+    }
+
+    /**
+     * Com o cache de consultas ligado, verifica que uma página lida da réplica não é guardada e
+     * servida depois a quem lê do primário. O contexto é outro, com os próprios beans; os dados
+     * da réplica são os preparados por {@link #setUp()}.
+     */
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+            "spring.jpa.properties.hibernate.cache.use_query_cache=true"})
+    class WithQueryCache {
+
+        @Autowired
+        private ReplicaLagMonitor replicaLagMonitor;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @BeforeEach
+        void checkReplica() {
+            replicaLagMonitor.check();
+        }
+
+        @Test
+        void writerDoesNotSeeAPageCachedFromTheLaggingReplica() throws Exception {
+            MvcResult created = mockMvc.perform(post("/todos").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            Cookie sticky = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+            mockMvc.perform(get("/todos"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].titulo").value(contains("Só na réplica")));
+            mockMvc.perform(get("/todos").cookie(sticky))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].titulo").value(hasItem("Escrita no primário")));
+        }
+    }
+
+    private void clearCache() {
+        cacheManager.getCache(CacheConfig.TODOS_CACHE).clear();
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.mascenadev.crud.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica a separação das tarefas por tenant ({@value TenantContext#HEADER}): isolamento das
+ * leituras, validação do cabeçalho, cota de tarefas, limite de requisições e o esquema próprio
+ * dos tenants isolados.
+ */
+@SpringBootTest(properties = {
+        "todo-api.tenancy.max-rows=3",
+        "todo-api.tenancy.rate-limit.requests-per-second=0.01",
+        "todo-api.tenancy.rate-limit.burst=10",
+        "todo-api.tenancy.isolated-tenants=acme"
+})
+@AutoConfigureMockMvc
+class TenancyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tenantsOnlySeeTheirOwnTodos() throws Exception {
+        long id = idOf(create("alfa", "Tarefa do alfa"));
+
+        mockMvc.perform(get("/todos/{id}", id).header(TenantContext.HEADER, "alfa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titulo").value("Tarefa do alfa"));
+        mockMvc.perform(get("/todos/{id}", id).header(TenantContext.HEADER, "beta"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/todos/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/todos").header(TenantContext.HEADER, "beta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + id + ")]").isEmpty());
+    }
+
+    @Test
+    void invalidTenantIsRejected() throws Exception {
+        for (String tenant : new String[]{"Maiúsculas", TenantContext.ROOT, "com espaço"}) {
+            mockMvc.perform(get("/todos").header(TenantContext.HEADER, tenant))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.type").value("urn:todo-api:erro:tenant-invalido"));
+        }
+    }
+
+    @Test
+    void rowQuotaRejectsTodosBeyondTheLimit() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            create("cota", "Tarefa " + i).andExpect(status().isCreated());
+        }
+
+        create("cota", "Tarefa 3")
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.type").value("urn:todo-api:erro:cota-excedida"));
+        create("outro", "Tarefa 0").andExpect(status().isCreated());
+    }
+
+    @Test
+    void rateLimitAnswers429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/todos").header(TenantContext.HEADER, "taxa")).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/todos").header(TenantContext.HEADER, "taxa"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.type").value("urn:todo-api:erro:taxa-excedida"));
+        mockMvc.perform(get("/todos").header(TenantContext.HEADER, "sem-taxa")).andExpect(status().isOk());
+    }
+
+    @Test
+    void isolatedTenantIsStoredInItsOwnSchema() throws Exception {
+        long id = idOf(create("acme", "Tarefa da acme"));
+
+        mockMvc.perform(get("/todos/{id}", id).header(TenantContext.HEADER, "acme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titulo").value("Tarefa da acme"));
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from tenant_acme.todos where titulo = 'Tarefa da acme'", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from todos where tenant = 'acme'", Long.class)).isZero();
+    }
+
+    private ResultActions create(String tenant, String titulo) throws Exception {
+        String body = "{\"titulo\":\"" + titulo + "\",\"descricao\":\"Descrição\",\"realizado\":false,\"prioridade\":3}";
+        return mockMvc.perform(post("/todos").header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private long idOf(ResultActions actions) throws Exception {
+        MvcResult result = actions.andExpect(status().isCreated()).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.mascenadev.crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que o limite de concorrência do modo com threads virtuais envolve apenas os pools
+ * Hikari, e não o {@code DataSource} que roteia entre primário e réplica, de modo que cada
+ * conexão consome uma única permissão.
+ */
+class VirtualThreadConfigTest {
+
+    @Test
+    void onlyHikariPoolsAreLimited() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("todo-api.database.max-concurrency", "4")
+                .withProperty("todo-api.database.acquire-timeout", "1s");
+        environment.setConversionService(new ApplicationConversionService());
+        BeanPostProcessor postProcessor = VirtualThreadConfig.concurrencyLimitingDataSourcePostProcessor(environment);
+
+        try (HikariDataSource primary = new HikariDataSource(); HikariDataSource replica = new HikariDataSource()) {
+            Object limitedPrimary = postProcessor.postProcessAfterInitialization(primary, "primaryDataSource");
+            Object limitedReplica = postProcessor.postProcessAfterInitialization(replica, "replicaDataSource");
+            LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+
+            assertThat(limitedPrimary).isInstanceOf(ConcurrencyLimitingDataSource.class);
+            assertThat(limitedReplica).isInstanceOf(ConcurrencyLimitingDataSource.class);
+            assertThat(((ConcurrencyLimitingDataSource) limitedPrimary).availablePermits()).isEqualTo(4);
+            assertThat(postProcessor.postProcessAfterInitialization(routing, "dataSource")).isSameAs(routing);
+            assertThat(postProcessor.postProcessAfterInitialization(limitedPrimary, "primaryDataSource"))
+                    .isSameAs(limitedPrimary);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package br.com.mascenadev.crud.controller;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contrato HTTP de {@code /todos}, verificado contra o servidor real em cada pilha: Spring MVC
+ * ({@link ServletTodoApiContractTest}) e WebFlux + R2DBC ({@link ReactiveTodoApiContractTest}).
+ * Cada teste usa um tenant próprio, de modo que as listagens só contêm as tarefas que ele criou.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+abstract class AbstractTodoApiContractTest {
+
+    private static final AtomicInteger TENANTS = new AtomicInteger();
+
+    @Autowired
+    private WebTestClient client;
+
+    private String tenant;
+
+    @BeforeEach
+    void newTenant() {
+        tenant = "contrato-" + getClass().getSimpleName().toLowerCase().charAt(0) + TENANTS.incrementAndGet();
+    }
+
+    @Test
+    void createReturnsLocationAndETagAndReadHonorsIfNoneMatch() {
+        EntityExchangeResult<Todo> created = create("Comprar pão", 3);
+        String location = created.getResponseHeaders().getLocation().toString();
+        String etag = created.getResponseHeaders().getETag();
+        assertThat(location).isEqualTo("/todos/" + created.getResponseBody().id());
+        assertThat(etag).isEqualTo("\"" + created.getResponseBody().versao() + "\"");
+
+        client.get().uri(location).header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody()
+                .jsonPath("$.titulo").isEqualTo("Comprar pão")
+                .jsonPath("$.prioridade").isEqualTo(3);
+        client.get().uri(location).header(TenantContext.HEADER, tenant).header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void missingTodoIsProblemDetail() {
+        client.get().uri("/todos/{id}", Long.MAX_VALUE).header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.type").isEqualTo("urn:todo-api:erro:todo-nao-encontrado")
+                .jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    void invalidBodyListsFieldErrors() {
+        client.post().uri("/todos").header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"titulo\":\"\",\"descricao\":\"Descrição\",\"realizado\":false,\"prioridade\":9}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.type").isEqualTo("urn:todo-api:erro:validacao")
+                .jsonPath("$.campos.titulo").exists()
+                .jsonPath("$.campos.prioridade").isEqualTo("Prioridade máxima é 5");
+    }
+
+    @Test
+    void updateRequiresCurrentVersionInIfMatch() {
+        EntityExchangeResult<Todo> created = create("Versão", 2);
+        String location = created.getResponseHeaders().getLocation().toString();
+        String etag = created.getResponseHeaders().getETag();
+        String body = body("Versão 2", 4);
+
+        client.put().uri(location).header(TenantContext.HEADER, tenant).header(HttpHeaders.IF_MATCH, "\"999999\"")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(body).exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody().jsonPath("$.type").isEqualTo("urn:todo-api:erro:versao-conflitante");
+        String newEtag = client.put().uri(location).header(TenantContext.HEADER, tenant).header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(body).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.titulo").isEqualTo("Versão 2")
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        client.get().uri(location).header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, newEtag)
+                .expectBody().jsonPath("$.prioridade").isEqualTo(4);
+    }
+
+    @Test
+    void deleteRemovesTodo() {
+        String location = create("Remover", 1).getResponseHeaders().getLocation().toString();
+
+        client.delete().uri(location).header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isNoContent();
+        client.get().uri(location).header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void listPagesByCursorWithFiltersAndFields() {
+        for (int prioridade = 1; prioridade <= 5; prioridade++) {
+            create("Tarefa " + prioridade, prioridade);
+        }
+
+        List<Integer> prioridades = new ArrayList<>();
+        String cursor = null;
+        do {
+            Optional<String> current = Optional.ofNullable(cursor);
+            EntityExchangeResult<List<Todo>> page = client.get()
+                    .uri(builder -> builder.path("/todos").queryParam("size", 2).queryParam("fields", "id,titulo,prioridade")
+                            .queryParamIfPresent("cursor", current).build())
+                    .header(TenantContext.HEADER, tenant)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(Todo.class).returnResult();
+            page.getResponseBody().forEach(todo -> {
+                assertThat(todo.descricao()).isNull();
+                prioridades.add(todo.prioridade());
+            });
+            cursor = page.getResponseHeaders().getFirst(TodoController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        assertThat(prioridades).containsExactly(5, 4, 3, 2, 1);
+
+        client.get().uri("/todos?prioridadeMin=2&prioridadeMax=3&titulo=Tarefa").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].prioridade").isEqualTo(3)
+                .jsonPath("$[1].prioridade").isEqualTo(2);
+        client.get().uri("/todos?cursor=invalido").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.type").isEqualTo("urn:todo-api:erro:cursor-invalido");
+        client.get().uri("/todos?fields=inexistente").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.type").isEqualTo("urn:todo-api:erro:filtro-invalido");
+    }
+
+    @Test
+    void listETagChangesWithTheCollection() {
+        create("Primeira", 1);
+        String etag = client.get().uri("/todos").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+
+        client.get().uri("/todos").header(TenantContext.HEADER, tenant).header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isNotModified();
+        create("Segunda", 1);
+        client.get().uri("/todos").header(TenantContext.HEADER, tenant).header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void streamListsEveryTodoInOrder() {
+        for (int i = 0; i < 3; i++) {
+            create("Stream " + i, i);
+        }
+
+        client.get().uri("/todos?stream=true").header(TenantContext.HEADER, tenant).accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].titulo").isEqualTo("Stream 2")
+                .jsonPath("$[2].titulo").isEqualTo("Stream 0");
+    }
+
+    @Test
+    void tenantsDoNotSeeEachOthersTodos() {
+        String location = create("Privada", 1).getResponseHeaders().getLocation().toString();
+
+        client.get().uri(location).header(TenantContext.HEADER, tenant + "-outro").exchange()
+                .expectStatus().isNotFound();
+        client.get().uri("/todos").header(TenantContext.HEADER, tenant + "-outro").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(0);
+        client.get().uri("/todos").header(TenantContext.HEADER, "Inválido").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.type").isEqualTo("urn:todo-api:erro:tenant-invalido");
+    }
+
+    @Test
+    void batchCreateReportsEachItem() {
+        client.post().uri("/todos/batch").header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + body("Lote 1", 1) + "," + body("", 1) + "]")
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(201)
+                .jsonPath("$[1].status").isEqualTo(400);
+        client.get().uri("/todos").header(TenantContext.HEADER, tenant).exchange()
+                .expectBody().jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void statsCountByStatusAndPriority() {
+        create("Pendente", 1);
+        String location = create("Realizada", 3).getResponseHeaders().getLocation().toString();
+        client.put().uri(location).header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"titulo\":\"Realizada\",\"descricao\":\"Descrição\",\"realizado\":true,\"prioridade\":5}")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/todos/stats").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(2)
+                .jsonPath("$.realizadas").isEqualTo(1)
+                .jsonPath("$.pendentes").isEqualTo(1)
+                .jsonPath("$.prioridades.length()").isEqualTo(6)
+                .jsonPath("$.prioridades[3].total").isEqualTo(0)
+                .jsonPath("$.prioridades[5].realizadas").isEqualTo(1)
+                .jsonPath("$.prioridades[1].pendentes").isEqualTo(1);
+    }
+
+    private EntityExchangeResult<Todo> create(String titulo, int prioridade) {
+        return client.post().uri("/todos").header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body(titulo, prioridade))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Todo.class).returnResult();
+    }
+
+    /**
+     * Tarefa como lida pelo cliente; os campos ausentes da resposta ficam {@code null}.
+     */
+    record Todo(Long id, String titulo, String descricao, Boolean realizado, Integer prioridade, Long versao) {
+    }
+
+    private static String body(String titulo, int prioridade) {
+        return "{\"titulo\":\"" + titulo + "\",\"descricao\":\"Descrição\",\"realizado\":false,\"prioridade\":" + prioridade + "}";
+    }
+}
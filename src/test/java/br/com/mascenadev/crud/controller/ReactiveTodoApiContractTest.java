@@ -0,0 +1,77 @@
+package br.com.mascenadev.crud.controller;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Contrato de {@code /todos} na pilha reativa (perfil {@code reactive}): WebFlux (Netty) com
+ * leituras e escritas individuais por R2DBC.
+ */
+@ActiveProfiles("reactive")
+class ReactiveTodoApiContractTest extends AbstractTodoApiContractTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void r2dbcWritesReachStatsChangesCacheAndSearch() {
+        String tenant = "contrato-reativo-escritas";
+        client.get().uri("/todos/stats").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.total").isEqualTo(0);
+
+        String mantida = location(client.post().uri("/todos").header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"titulo\":\"Manter\",\"descricao\":\"Descrição\",\"realizado\":false,\"prioridade\":2}")
+                .exchange());
+        String removida = location(client.post().uri("/todos").header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"titulo\":\"Remover\",\"descricao\":\"Descrição\",\"realizado\":false,\"prioridade\":1}")
+                .exchange());
+        String etag = client.put().uri(mantida).header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"titulo\":\"Mantida e revisada\",\"descricao\":\"Descrição\",\"realizado\":true,\"prioridade\":4}")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+        client.delete().uri(removida).header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isNoContent();
+
+        client.get().uri("/todos/stats").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(1)
+                .jsonPath("$.realizadas").isEqualTo(1)
+                .jsonPath("$.prioridades[4].realizadas").isEqualTo(1);
+        client.get().uri("/todos/changes?since=0").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.upserted.length()").isEqualTo(1)
+                .jsonPath("$.upserted[0].titulo").isEqualTo("Mantida e revisada")
+                .jsonPath("$.deleted[0]").isEqualTo(Long.parseLong(removida.substring(removida.lastIndexOf('/') + 1)))
+                .jsonPath("$.watermark").isEqualTo(4);
+        client.get().uri(mantida).header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", etag)
+                .expectBody().jsonPath("$.titulo").isEqualTo("Mantida e revisada");
+        client.get().uri(removida).header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isNotFound();
+        client.get().uri("/todos/search?q=revisada").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(1);
+        client.put().uri(removida).header(TenantContext.HEADER, tenant).header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"titulo\":\"Remover\",\"descricao\":\"Descrição\",\"realizado\":false,\"prioridade\":1}")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private static String location(WebTestClient.ResponseSpec created) {
+        return created.expectStatus().isCreated()
+                .returnResult(String.class).getResponseHeaders().getLocation().toString();
+    }
+}
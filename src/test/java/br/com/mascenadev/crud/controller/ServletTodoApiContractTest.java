@@ -0,0 +1,134 @@
+package br.com.mascenadev.crud.controller;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contrato de {@code /todos} na pilha padrão: Spring MVC (Tomcat) + JPA, incluindo a importação e
+ * a exportação em streaming e os formatos binários, que só existem nesta pilha.
+ */
+class ServletTodoApiContractTest extends AbstractTodoApiContractTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private WebTestClient client;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void importStreamsProgressAndExportNegotiatesFormat() {
+        String tenant = "contrato-importacao";
+        client.post().uri("/todos/import?offset=1").header(TenantContext.HEADER, tenant)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"titulo":"Pulada","descricao":"Descrição","realizado":false,"prioridade":1}
+                        {"titulo":"Importada","descricao":"Descrição","realizado":false,"prioridade":2}
+                        {"titulo":"X","descricao":"Descrição","realizado":false,"prioridade":2}
+                        {"titulo":"Outra","descricao":"Descrição","realizado":true,"prioridade":3}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertThat(body.lines().reduce((first, second) -> second).orElseThrow())
+                        .contains("\"offset\":4", "\"importados\":2", "\"rejeitados\":1", "\"concluido\":true"));
+
+        client.get().uri("/todos/export").header(TenantContext.HEADER, tenant).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertThat(body.lines()).hasSize(2).allMatch(line -> line.startsWith("{\"id\":")));
+        client.get().uri("/todos/export").header(TenantContext.HEADER, tenant).accept(TEXT_CSV).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(TEXT_CSV)
+                .expectBody(String.class)
+                .value(body -> assertThat(body.lines().toList()).hasSize(3)
+                        .startsWith("id,titulo,descricao,realizado,prioridade,versao")
+                        .element(1).asString().contains(",Outra,Descrição,true,3,"));
+    }
+
+    @Test
+    void smileAndCborRoundTripWithVaryAccept() throws IOException {
+        String tenant = "contrato-binario";
+        Map<MediaType, ObjectMapper> formats = Map.of(
+                SMILE, new ObjectMapper(new SmileFactory()),
+                CBOR, new ObjectMapper(new CBORFactory()));
+        for (Map.Entry<MediaType, ObjectMapper> format : formats.entrySet()) {
+            MediaType mediaType = format.getKey();
+            ObjectMapper mapper = format.getValue();
+            byte[] body = mapper.writeValueAsBytes(Map.of(
+                    "titulo", "Em " + mediaType.getSubtype(), "descricao", "Descrição", "realizado", false, "prioridade", 4));
+
+            byte[] created = client.post().uri("/todos").header(TenantContext.HEADER, tenant)
+                    .contentType(mediaType).accept(mediaType).bodyValue(body).exchange()
+                    .expectStatus().isCreated()
+                    .expectHeader().contentTypeCompatibleWith(mediaType)
+                    .expectHeader().values(HttpHeaders.VARY, vary -> assertThat(vary).contains(HttpHeaders.ACCEPT))
+                    .expectBody(byte[].class).returnResult().getResponseBody();
+            Todo todo = mapper.readValue(created, Todo.class);
+            assertThat(todo.titulo()).isEqualTo("Em " + mediaType.getSubtype());
+            assertThat(todo.prioridade()).isEqualTo(4);
+
+            byte[] read = client.get().uri("/todos/{id}", todo.id()).header(TenantContext.HEADER, tenant)
+                    .accept(mediaType).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(mediaType)
+                    .expectHeader().values(HttpHeaders.VARY, vary -> assertThat(vary).contains(HttpHeaders.ACCEPT))
+                    .expectBody(byte[].class).returnResult().getResponseBody();
+            assertThat(mapper.readValue(read, Todo.class)).isEqualTo(todo);
+        }
+    }
+
+    @Test
+    void largeListIsGzipped() throws IOException, InterruptedException {
+        String tenant = "contrato-compressao";
+        for (int i = 0; i < 40; i++) {
+            client.post().uri("/todos").header(TenantContext.HEADER, tenant)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"titulo\":\"Tarefa " + i + "\",\"descricao\":\"Uma descrição longa o bastante para a "
+                               + "listagem passar do tamanho mínimo de compressão\",\"realizado\":false,\"prioridade\":2}")
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        // O WebTestClient descomprime a resposta e remove o Content-Encoding; o HttpClient do JDK não.
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/todos?size=100"))
+                .header(TenantContext.HEADER, tenant)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            List<?> todos = new ObjectMapper().readValue(body, List.class);
+            assertThat(todos).hasSize(40);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.mascenadev.crud.controller;
+
+import br.com.mascenadev.crud.exception.ConexoesEsgotadasException;
+import br.com.mascenadev.crud.service.TodoChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que o {@link TodoEventStreamer} recusa conexões acima de
+ * {@code todo-api.stream.max-subscribers}.
+ */
+class TodoEventStreamerTest {
+
+    private final TodoEventStreamer streamer = new TodoEventStreamer(new TodoChangeFeed(4), Duration.ofMinutes(1), 8,
+            Duration.ofHours(1), 1, 2);
+
+    @AfterEach
+    void tearDown() {
+        streamer.shutdown();
+    }
+
+    @Test
+    void subscriptionsAboveTheLimitAreRejected() {
+        assertThat(streamer.subscribe(null)).isNotNull();
+        assertThat(streamer.subscribe(null)).isNotNull();
+
+        assertThatThrownBy(() -> streamer.subscribe(null)).isInstanceOf(ConexoesEsgotadasException.class);
+    }
+}
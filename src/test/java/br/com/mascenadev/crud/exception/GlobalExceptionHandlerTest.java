@@ -0,0 +1,90 @@
+package br.com.mascenadev.crud.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica as respostas de erro em {@code application/problem+json}, a ausência de pilha nas
+ * exceções de domínio e o limite de registro dos erros inesperados.
+ */
+@SpringBootTest(properties = "todo-api.errors.log-interval=1h")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class GlobalExceptionHandlerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GlobalExceptionHandler handler;
+
+    @Test
+    void missingTodoIsProblemDetail() throws Exception {
+        mockMvc.perform(get("/todos/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.type").value("urn:todo-api:erro:todo-nao-encontrado"))
+                .andExpect(jsonPath("$.title").value("Todo não encontrado"))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value("Todo com o ID " + Long.MAX_VALUE + " não foi encontrado"))
+                .andExpect(jsonPath("$.instance").value("/todos/" + Long.MAX_VALUE));
+    }
+
+    @Test
+    void validationErrorsListEachField() throws Exception {
+        mockMvc.perform(post("/todos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\":\"x\",\"descricao\":\"Descrição\",\"realizado\":false,\"prioridade\":9}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("urn:todo-api:erro:validacao"))
+                .andExpect(jsonPath("$.campos.titulo").exists())
+                .andExpect(jsonPath("$.campos.prioridade").value("Prioridade máxima é 5"));
+    }
+
+    @Test
+    void frameworkErrorsKeepTheirStatus() throws Exception {
+        mockMvc.perform(delete("/todos")).andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(get("/todos/abc")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/inexistente")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void domainExceptionsHaveNoStackTrace() {
+        TodoNaoEncontradoException ex = new TodoNaoEncontradoException(1L);
+
+        assertThat(ex.getStackTrace()).isEmpty();
+        ex.addSuppressed(new IllegalStateException());
+        assertThat(ex.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void unexpectedErrorsAreLoggedOncePerInterval(CapturedOutput output) {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/todos"));
+        class FalhaInesperada extends RuntimeException {
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(handler.handleGenericException(new FalhaInesperada(), request).getStatusCode().value())
+                    .isEqualTo(500);
+        }
+
+        assertThat(output.getOut().split("Erro inesperado em uri=/todos", -1)).hasSize(2);
+        assertThat(output.getOut()).contains("FalhaInesperada");
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.mascenadev.crud.load;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga que compara as pilhas da API (Spring MVC + JPA x WebFlux + R2DBC) com um
+ * banco de dados lento ({@link SlowDatabaseConfig}) e muitos clientes simultâneos lendo a listagem.
+ * <p>
+ * Durante a carga são amostrados o pico de conexões ocupadas no pool, de threads vivas e de heap
+ * usado; ao final, a vazão e o p99 da latência. O resultado é impresso como uma linha
+ * {@code [load]} por pilha, com a rota medida.
+ * </p>
+ * <p>
+ * A carga é só de leitura ({@code GET /todos}), o único caminho que a pilha reativa atende por
+ * R2DBC. Escritas, {@code /changes}, {@code /stats} e {@code /search} ficam fora da comparação:
+ * nela, continuam em JPA bloqueante no {@code boundedElastic}, com uma thread e uma conexão JDBC
+ * por requisição, como na pilha MVC. As tarefas criadas antes da medição não entram no resultado.
+ * </p>
+ * Executar com {@code mvn -Pload-test test -Dtest='*StackLoadTest'}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "load-test.db-latency=50"
+})
+@Import(SlowDatabaseConfig.class)
+abstract class AbstractStackLoadTest {
+
+    private static final int CLIENTS = 500;
+
+    private static final int TODOS = 50;
+
+    private static final Duration DURATION = Duration.ofSeconds(15);
+
+    private static final String WORKLOAD = "/todos?size=10";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Nome da pilha, usado no relatório.
+     *
+     * @return O nome da pilha.
+     */
+    abstract String stack();
+
+    /**
+     * Medidor com o número de conexões do pool ocupadas pelas leituras.
+     *
+     * @return O nome do medidor.
+     */
+    abstract String activeConnectionsGauge();
+
+    @Test
+    void compareUnderHighConcurrency() throws Exception {
+        for (int i = 0; i < TODOS; i++) {
+            client.send(HttpRequest.newBuilder(uri("/todos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"titulo\":\"Carga " + i + "\",\"descricao\":\"Teste de carga\",\"realizado\":false,\"prioridade\":" + i % 6 + "}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+
+        Peaks peaks = new Peaks();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(peaks::sample, 0, 10, TimeUnit.MILLISECONDS);
+        long deadline = System.nanoTime() + DURATION.toNanos();
+        Run run = run(uri(WORKLOAD), deadline);
+        run.await();
+        sampler.shutdownNow();
+
+        double seconds = DURATION.toMillis() / 1000.0;
+        System.out.printf("[load] stack=%s workload=GET %s (reads only) clients=%d throughput=%.1f req/s p99=%d ms peakConnections=%d peakThreads=%d peakHeap=%d MB errors=%d%n",
+                stack(), WORKLOAD, CLIENTS, run.completed.get() / seconds, run.percentile(0.99), peaks.connections,
+                peaks.threads(), peaks.heap / (1024 * 1024), run.errors.get());
+        assertThat(run.completed.get()).isPositive();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Run run(URI uri, long deadline) {
+        Run run = new Run();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        for (int i = 0; i < CLIENTS; i++) {
+            loop(run, request, deadline);
+        }
+        return run;
+    }
+
+    private void loop(Run run, HttpRequest request, long deadline) {
+        if (System.nanoTime() >= deadline) {
+            run.finished.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null || response.statusCode() >= 400) {
+                run.errors.incrementAndGet();
+            } else if (System.nanoTime() <= deadline) {
+                run.completed.incrementAndGet();
+                run.latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            loop(run, request, deadline);
+        });
+    }
+
+    private final class Peaks {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        private volatile long connections;
+
+        private volatile long heap;
+
+        private Peaks() {
+            threadBean.resetPeakThreadCount();
+        }
+
+        private void sample() {
+            Gauge gauge = meterRegistry.find(activeConnectionsGauge()).gauge();
+            if (gauge != null) {
+                connections = Math.max(connections, (long) gauge.value());
+            }
+            heap = Math.max(heap, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        private int threads() {
+            return threadBean.getPeakThreadCount();
+        }
+    }
+
+    private static final class Run {
+
+        private final CountDownLatch finished = new CountDownLatch(CLIENTS);
+
+        private final AtomicLong completed = new AtomicLong();
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        private void await() throws InterruptedException {
+            finished.await(DURATION.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        private long percentile(double percentile) {
+            List<Long> sorted;
+            synchronized (latencies) {
+                sorted = new ArrayList<>(latencies);
+            }
+            if (sorted.isEmpty()) {
+                return -1;
+            }
+            Collections.sort(sorted);
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.round(percentile * sorted.size())));
+        }
+    }
+}
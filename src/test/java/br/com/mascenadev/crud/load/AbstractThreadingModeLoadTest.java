@@ -0,0 +1,143 @@
+package br.com.mascenadev.crud.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga que compara os modos de execução (threads de plataforma x threads virtuais)
+ * com um banco de dados lento ({@link SlowDatabaseConfig}).
+ * <p>
+ * Muitos clientes leem a listagem, que depende do banco, enquanto poucos clientes leem uma
+ * tarefa já em cache, que não depende. No modo de plataforma as threads do Tomcat ficam presas
+ * esperando o banco e as leituras em cache entram na mesma fila; no modo virtual só o banco é
+ * limitado (pelo semáforo) e as leituras em cache seguem rápidas. O resultado é impresso como
+ * uma linha {@code [load]} por modo.
+ * </p>
+ * Executar com {@code mvn -Pvirtual-threads,load-test test} (Java 21).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "load-test.db-latency=50"
+})
+@Import(SlowDatabaseConfig.class)
+abstract class AbstractThreadingModeLoadTest {
+
+    private static final int DB_CLIENTS = 200;
+
+    private static final int CACHED_CLIENTS = 5;
+
+    private static final Duration DURATION = Duration.ofSeconds(10);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @LocalServerPort
+    private int port;
+
+    /**
+     * Nome do modo de execução, usado no relatório.
+     *
+     * @return O nome do modo.
+     */
+    abstract String mode();
+
+    @Test
+    void measureThroughput() throws Exception {
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(uri("/todos"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"titulo\":\"Carga\",\"descricao\":\"Teste de carga\",\"realizado\":false,\"prioridade\":3}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String location = created.headers().firstValue("Location").orElseThrow();
+
+        long deadline = System.nanoTime() + DURATION.toNanos();
+        Run db = run(uri("/todos?size=10"), DB_CLIENTS, deadline);
+        Run cached = run(uri(location), CACHED_CLIENTS, deadline);
+        db.await();
+        cached.await();
+
+        double seconds = DURATION.toMillis() / 1000.0;
+        System.out.printf("[load] mode=%s db=%.1f req/s cached=%.1f req/s cachedP99=%d ms errors=%d%n",
+                mode(), db.completed.get() / seconds, cached.completed.get() / seconds,
+                cached.percentile(0.99), db.errors.get() + cached.errors.get());
+        assertThat(cached.completed.get()).isPositive();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Run run(URI uri, int clients, long deadline) {
+        Run run = new Run(clients);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        for (int i = 0; i < clients; i++) {
+            loop(run, request, deadline);
+        }
+        return run;
+    }
+
+    private void loop(Run run, HttpRequest request, long deadline) {
+        if (System.nanoTime() >= deadline) {
+            run.finished.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null || response.statusCode() >= 400) {
+                run.errors.incrementAndGet();
+            } else if (System.nanoTime() <= deadline) {
+                run.completed.incrementAndGet();
+                run.latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            loop(run, request, deadline);
+        });
+    }
+
+    private static final class Run {
+
+        private final CountDownLatch finished;
+
+        private final AtomicLong completed = new AtomicLong();
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        private Run(int clients) {
+            this.finished = new CountDownLatch(clients);
+        }
+
+        private void await() throws InterruptedException {
+            finished.await(DURATION.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        private long percentile(double percentile) {
+            List<Long> sorted;
+            synchronized (latencies) {
+                sorted = new ArrayList<>(latencies);
+            }
+            if (sorted.isEmpty()) {
+                return -1;
+            }
+            Collections.sort(sorted);
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.round(percentile * sorted.size())));
+        }
+    }
+}
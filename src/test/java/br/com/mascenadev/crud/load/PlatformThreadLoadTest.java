@@ -0,0 +1,18 @@
+package br.com.mascenadev.crud.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Carga no modo padrão: pool de threads de plataforma do Tomcat.
+ */
+@TestPropertySource(properties = {
+        "server.tomcat.threads.max=50",
+        "spring.datasource.hikari.maximum-pool-size=20"
+})
+class PlatformThreadLoadTest extends AbstractThreadingModeLoadTest {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
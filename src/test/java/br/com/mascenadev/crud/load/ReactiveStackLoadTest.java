@@ -0,0 +1,24 @@
+package br.com.mascenadev.crud.load;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Carga na pilha reativa (perfil {@code reactive}): WebFlux (event loop do Netty) + R2DBC, com o
+ * mesmo número de conexões da pilha padrão. Mede só as leituras de {@code /todos}; as escritas
+ * desta pilha ainda são JPA bloqueante (ver {@link AbstractStackLoadTest}).
+ */
+@ActiveProfiles("reactive")
+@TestPropertySource(properties = "spring.r2dbc.pool.max-size=20")
+class ReactiveStackLoadTest extends AbstractStackLoadTest {
+
+    @Override
+    String stack() {
+        return "reactive";
+    }
+
+    @Override
+    String activeConnectionsGauge() {
+        return "r2dbc.pool.acquired";
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.mascenadev.crud.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Carga na pilha padrão: Spring MVC (uma thread do Tomcat por requisição) + JPA (Hikari).
+ */
+@TestPropertySource(properties = {
+        "server.tomcat.threads.max=200",
+        "spring.datasource.hikari.maximum-pool-size=20"
+})
+class ServletStackLoadTest extends AbstractStackLoadTest {
+
+    @Override
+    String stack() {
+        return "servlet";
+    }
+
+    @Override
+    String activeConnectionsGauge() {
+        return "hikaricp.connections.active";
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.mascenadev.crud.load;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Simula um banco de dados lento: cada execução de comando leva ao menos
+ * {@code load-test.db-latency} milissegundos. É aplicado antes de qualquer outro
+ * decorador do {@link DataSource}, ficando o mais próximo possível do pool.
+ * <p>
+ * Na pilha reativa, o mesmo atraso é aplicado aos comandos R2DBC ({@link ConnectionFactory}),
+ * sem bloquear a thread: a conexão continua ocupada durante o atraso, como num banco lento.
+ * </p>
+ */
+@TestConfiguration
+class SlowDatabaseConfig {
+
+    @Bean
+    static BeanPostProcessor slowDataSourcePostProcessor(@Value("${load-test.db-latency:50}") long latencyMillis) {
+        return new SlowDataSourcePostProcessor(latencyMillis);
+    }
+
+    private record SlowDataSourcePostProcessor(long latencyMillis) implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ConnectionFactory connectionFactory) {
+                return slow(connectionFactory);
+            }
+            if (bean instanceof DataSource dataSource) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return slow(super.getConnection());
+                    }
+                };
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return HIGHEST_PRECEDENCE;
+        }
+
+        private Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement) {
+                            return slow(statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement slow(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            Thread.sleep(latencyMillis);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private ConnectionFactory slow(ConnectionFactory connectionFactory) {
+            return (ConnectionFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{ConnectionFactory.class, Wrapped.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("unwrap")) {
+                            return connectionFactory;
+                        }
+                        if (method.getName().equals("create")) {
+                            return Mono.from(connectionFactory.create()).map(this::slow);
+                        }
+                        return invoke(connectionFactory, method, args);
+                    });
+        }
+
+        private io.r2dbc.spi.Connection slow(io.r2dbc.spi.Connection connection) {
+            return (io.r2dbc.spi.Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{io.r2dbc.spi.Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement) {
+                            return slow(statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private Statement slow(Statement statement) {
+            Duration latency = Duration.ofMillis(latencyMillis);
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("execute")) {
+                            return Flux.from(statement.execute()).delaySubscription(latency);
+                        }
+                        Object result = invoke(statement, method, args);
+                        return result == statement ? proxy : result;
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.mascenadev.crud.load;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Carga no modo de threads virtuais (perfil {@code virtual}), com a concorrência no banco
+ * limitada pelo semáforo de {@link br.com.mascenadev.crud.config.ConcurrencyLimitingDataSource}.
+ */
+@ActiveProfiles("virtual")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadTest extends AbstractThreadingModeLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
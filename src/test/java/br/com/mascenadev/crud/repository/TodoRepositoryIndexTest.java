@@ -0,0 +1,124 @@
+package br.com.mascenadev.crud.repository;
+
+import br.com.mascenadev.crud.dtos.TodoCursor;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante, via {@code EXPLAIN} no H2, que as consultas da listagem e do feed de alterações usam
+ * os índices declarados em {@link br.com.mascenadev.crud.domain.Todo}, para que uma mudança na
+ * entidade ou no repositório não degrade o plano de execução silenciosamente. O SQL explicado é
+ * o que o Hibernate de fato gera para cada método, capturado por um {@link StatementInspector},
+ * com o predicado por tenant que ele acrescenta.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                             + "br.com.mascenadev.crud.repository.TodoRepositoryIndexTest$Captura")
+class TodoRepositoryIndexTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void firstPageIsReadSortedFromListingIndex() {
+        String plan = explain(capture(() -> todoRepository.findPage(TodoFilter.empty(), null, TodoField.all(), 51)));
+
+        assertThat(plan).contains("IDX_TODOS_TENANT_LISTAGEM: TENANT = ?").contains("/* index sorted */");
+    }
+
+    @Test
+    void keysetPageSeeksListingIndex() {
+        String plan = explain(capture(() -> todoRepository.findPage(
+                TodoFilter.empty(), new TodoCursor(3, "a", 5L), TodoField.all(), 51)));
+
+        assertThat(plan).contains("IDX_TODOS_TENANT_LISTAGEM: TENANT = ?").contains("PRIORIDADE <= ?").contains("/* index sorted */");
+    }
+
+    @Test
+    void prioridadeRangeUsesListingIndex() {
+        String plan = explain(capture(() -> todoRepository.findPage(
+                new TodoFilter(null, 2, 4, null), null, TodoField.all(), 51)));
+
+        assertThat(plan).contains("IDX_TODOS_TENANT_LISTAGEM: ").contains("TENANT = ?").contains("PRIORIDADE >= ?").contains("/* index sorted */");
+    }
+
+    @Test
+    void realizadoFilterUsesStatusIndex() {
+        String plan = explain(capture(() -> todoRepository.findPage(
+                new TodoFilter(false, null, null, null), null, TodoField.all(), 51)));
+
+        assertThat(plan).contains("IDX_TODOS_TENANT_REALIZADO_LISTAGEM: TENANT = ?").contains("REALIZADO = ?").contains("/* index sorted */");
+    }
+
+    @Test
+    void changesSinceSeeksSequenceIndex() {
+        String plan = explain(capture(() -> todoRepository.findChangedBetween(10, 20, Limit.of(51))));
+
+        assertThat(plan).contains("IDX_TODOS_TENANT_SEQUENCIA: ").contains("TENANT = ?").contains("SEQUENCIA > ?").contains("/* index sorted */");
+    }
+
+    @Test
+    void deletionsSinceSeekTombstoneSequenceIndex() {
+        String plan = explain(capture(() -> todoTombstoneRepository.findBetween(10, 20, Limit.of(51))));
+
+        assertThat(plan).contains("IDX_TODO_TOMBSTONES_TENANT_SEQUENCIA: ").contains("TENANT = ?").contains("SEQUENCIA > ?").contains("/* index sorted */");
+    }
+
+    private static String capture(Runnable consulta) {
+        List<String> sql = new ArrayList<>();
+        Captura.ATIVA.set(sql);
+        try {
+            consulta.run();
+        } finally {
+            Captura.ATIVA.remove();
+        }
+        assertThat(sql).hasSize(1);
+        return sql.get(0);
+    }
+
+    /**
+     * Explica o SQL com os parâmetros ainda em aberto: o H2 planeja pela forma do predicado, e
+     * cada parâmetro recebe um valor qualquer, convertido para o tipo da coluna comparada.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.query("explain " + sql, statement -> {
+            int parametros = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parametros; i++) {
+                statement.setString(i, "1");
+            }
+        }, resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+    }
+
+    /**
+     * Registra o SQL preparado pela thread do teste enquanto uma captura está ativa.
+     */
+    public static class Captura implements StatementInspector {
+
+        static final ThreadLocal<List<String>> ATIVA = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> sqls = ATIVA.get();
+            if (sqls != null) {
+                sqls.add(sql);
+            }
+            return sql;
+        }
+    }
+}
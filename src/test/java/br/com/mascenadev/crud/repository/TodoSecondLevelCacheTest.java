@@ -0,0 +1,138 @@
+package br.com.mascenadev.crud.repository;
+
+import br.com.mascenadev.crud.config.CacheConfig;
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import br.com.mascenadev.crud.service.TodoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Garante que leituras repetidas de uma tarefa e de uma página da listagem são atendidas pelo
+ * cache {@code todos} e pelo cache de consultas do Hibernate, sem SQL, que uma escrita invalida
+ * os resultados de consultas em cache e que ela não tira do cache as demais tarefas. Uma leitura
+ * que grava no cache depois de uma atualização ou exclusão não traz de volta a versão antiga.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TodoSecondLevelCacheTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedFindByIdIssuesNoSql() {
+        Long id = todoService.create(request("Estudar")).getId();
+        todoService.findById(id);
+        statistics.clear();
+
+        TodoResponseDTO todo = todoService.findById(id);
+
+        assertThat(todo.getTitulo()).isEqualTo("Estudar");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void lateReadDoesNotOverwriteNewerWrite() {
+        TodoResponseDTO lida = todoService.create(request("Original"));
+        TodoResponseDTO atualizada = todoService.update(lida.getId(), request("Atualizada"), null);
+        Cache cache = cacheManager.getCache(CacheConfig.TODOS_CACHE);
+
+        cache.put(TenantContext.key(lida.getId()), lida);
+        assertThat(todoService.findById(lida.getId()).getTitulo()).isEqualTo("Atualizada");
+
+        todoService.delete(lida.getId(), null);
+        cache.put(TenantContext.key(lida.getId()), atualizada);
+        assertThatThrownBy(() -> todoService.findById(lida.getId())).isInstanceOf(TodoNaoEncontradoException.class);
+    }
+
+    @Test
+    void interleavedWritesKeepOtherTodosCached() {
+        TodoResponseDTO escrita = todoService.create(request("Escrita"));
+        TodoResponseDTO lida = todoService.create(request("Lida"));
+        TodoResponseDTO removida = todoService.create(request("Removida"));
+        todoService.findById(lida.getId());
+
+        for (int i = 0; i < 3; i++) {
+            todoService.update(escrita.getId(), request("Escrita " + i), null);
+            statistics.clear();
+
+            assertThat(todoService.findById(lida.getId()).getTitulo()).isEqualTo("Lida");
+            assertThat(todoService.findById(escrita.getId()).getTitulo()).isEqualTo("Escrita " + i);
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        }
+
+        todoService.delete(removida.getId(), null);
+        statistics.clear();
+
+        assertThat(todoService.findById(lida.getId()).getTitulo()).isEqualTo("Lida");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(todoRepository.findById(removida.getId())).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedListPageIssuesNoSql() {
+        todoService.create(request("Listar"));
+        List<TodoResponseDTO> first = findPage();
+        statistics.clear();
+
+        List<TodoResponseDTO> second = findPage();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writeInvalidatesCachedListPage() {
+        TodoResponseDTO created = todoService.create(request("Revisar"));
+        findPage();
+        todoService.update(created.getId(), request("Revisar de novo"), null);
+        statistics.clear();
+
+        List<TodoResponseDTO> page = findPage();
+
+        assertThat(page).extracting(TodoResponseDTO::getTitulo).contains("Revisar de novo");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private List<TodoResponseDTO> findPage() {
+        return todoRepository.findPage(TodoFilter.empty(), null, TodoField.all(), 51);
+    }
+
+    private static TodoRequestDTO request(String titulo) {
+        return new TodoRequestDTO(titulo, "Descrição da tarefa", false, 3);
+    }
+}
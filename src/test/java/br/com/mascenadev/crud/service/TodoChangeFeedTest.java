@@ -0,0 +1,61 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica a entrega e a retomada ({@code Last-Event-ID}) do {@link TodoChangeFeed}.
+ */
+class TodoChangeFeedTest {
+
+    private final TodoChangeFeed feed = new TodoChangeFeed(4);
+
+    @Test
+    void subscriberResumesAfterTheLastReceivedEntry() {
+        List<TodoFeedEntry> first = new ArrayList<>();
+        feed.subscribe(null, first::add);
+        publish(1L, 2L, 3L);
+
+        List<TodoFeedEntry> resumed = new ArrayList<>();
+        boolean subscribed = feed.subscribe(first.get(0).id(), resumed::add);
+        publish(4L);
+
+        assertThat(subscribed).isTrue();
+        assertThat(resumed).extracting(entry -> entry.event().id()).containsExactly(2L, 3L, 4L);
+        assertThat(first).extracting(TodoFeedEntry::id).doesNotHaveDuplicates().hasSize(4);
+    }
+
+    @Test
+    void subscriberCannotResumeFromEntriesNoLongerBuffered() {
+        List<TodoFeedEntry> first = new ArrayList<>();
+        feed.subscribe(null, first::add);
+        publish(1L, 2L, 3L, 4L, 5L, 6L);
+
+        List<TodoFeedEntry> resumed = new ArrayList<>();
+
+        assertThat(feed.subscribe(first.get(0).id(), resumed::add)).isFalse();
+        assertThat(feed.subscribe(first.get(1).id(), resumed::add)).isTrue();
+        assertThat(resumed).extracting(entry -> entry.event().id()).containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void subscriberCannotResumeFromAnotherStartupOrAnInvalidId() {
+        publish(1L);
+
+        assertThat(feed.subscribe("0-1", entry -> { })).isFalse();
+        assertThat(feed.subscribe("invalido", entry -> { })).isFalse();
+    }
+
+    private void publish(Long... ids) {
+        for (Long id : ids) {
+            feed.onTodoChanged(TodoChangedEvent.updated(new TodoResponseDTO(id, "Tarefa", "Descrição", false, 1, 1L),
+                    new TodoEstado(id, 1, false), id));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoChangesDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica a sincronização incremental de {@link TodoService#changesSince}: apenas o que mudou
+ * depois da marca d'água, exclusões como IDs, paginação, a marca segura diante de transações
+ * ainda abertas e um leitor que acompanha escritas concorrentes sem perder nenhuma.
+ */
+@SpringBootTest
+class TodoChangesTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoChangeSequence changeSequence;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void returnsOnlyChangesAfterTheWatermark() {
+        TodoResponseDTO kept = todoService.create(request("Manter"));
+        TodoResponseDTO edited = todoService.create(request("Editar"));
+        TodoResponseDTO removed = todoService.create(request("Remover"));
+        long since = drain(0).watermark();
+
+        todoService.update(edited.getId(), request("Editada"), null);
+        todoService.delete(removed.getId(), null);
+        TodoResponseDTO added = todoService.create(request("Nova"));
+        TodoChangesDTO changes = todoService.changesSince(since, 50);
+
+        assertThat(changes.upserted()).extracting(TodoResponseDTO::getTitulo).containsExactly("Editada", "Nova");
+        assertThat(changes.upserted()).extracting(TodoResponseDTO::getId).doesNotContain(kept.getId())
+                .contains(added.getId());
+        assertThat(changes.deleted()).containsExactly(removed.getId());
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(todoService.changesSince(changes.watermark(), 50).upserted()).isEmpty();
+    }
+
+    @Test
+    void pagesFollowTheChangeOrder() {
+        long since = drain(0).watermark();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(todoService.create(request("Tarefa " + i)).getId());
+        }
+        todoService.delete(ids.get(1), null);
+
+        TodoChangesDTO first = todoService.changesSince(since, 3);
+        TodoChangesDTO second = todoService.changesSince(first.watermark(), 3);
+
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.upserted()).extracting(TodoResponseDTO::getId)
+                .containsExactly(ids.get(0), ids.get(2), ids.get(3));
+        assertThat(second.upserted()).extracting(TodoResponseDTO::getId).containsExactly(ids.get(4));
+        assertThat(second.deleted()).containsExactly(ids.get(1));
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    @Test
+    void watermarkStopsBeforeTransactionsStillOpen() throws Exception {
+        long since = drain(0).watermark();
+        CountDownLatch numbered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> open = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                changeSequence.next();
+                numbered.countDown();
+                await(release);
+            }));
+            assertThat(numbered.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<TodoResponseDTO> later = executor.submit(() -> todoService.create(request("Depois da transação aberta")));
+            Thread.sleep(200);
+
+            TodoChangesDTO blocked = todoService.changesSince(since, 50);
+            boolean laterWaited = !later.isDone();
+            release.countDown();
+            open.get(5, TimeUnit.SECONDS);
+            later.get(5, TimeUnit.SECONDS);
+            TodoChangesDTO released = todoService.changesSince(since, 50);
+
+            assertThat(laterWaited).isTrue();
+            assertThat(blocked.upserted()).isEmpty();
+            assertThat(blocked.watermark()).isEqualTo(since);
+            assertThat(released.upserted()).extracting(TodoResponseDTO::getTitulo)
+                    .containsExactly("Depois da transação aberta");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void readerFollowingConcurrentWritersMissesNothing() throws Exception {
+        String tenant = "changes-concorrentes";
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Long>>> writers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                writers.add(executor.submit(() -> TenantContext.callAs(tenant, () -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int j = 0; j < 25; j++) {
+                        ids.add(todoService.create(request("Concorrente " + j)).getId());
+                    }
+                    return ids;
+                })));
+            }
+            Set<Long> seen = new HashSet<>();
+            long since = 0;
+            while (!writers.stream().allMatch(Future::isDone)) {
+                TodoChangesDTO changes = changesAs(tenant, since);
+                changes.upserted().forEach(todo -> seen.add(todo.getId()));
+                since = changes.watermark();
+            }
+            Set<Long> created = new HashSet<>();
+            for (Future<List<Long>> writer : writers) {
+                created.addAll(writer.get(30, TimeUnit.SECONDS));
+            }
+            for (TodoChangesDTO changes = changesAs(tenant, since); ; changes = changesAs(tenant, since)) {
+                changes.upserted().forEach(todo -> seen.add(todo.getId()));
+                since = changes.watermark();
+                if (!changes.hasMore()) {
+                    break;
+                }
+            }
+
+            assertThat(created).hasSize(200);
+            assertThat(seen).isEqualTo(created);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TodoChangesDTO changesAs(String tenant, long since) {
+        return TenantContext.callAs(tenant, () -> todoService.changesSince(since, 50));
+    }
+
+    private TodoChangesDTO drain(long since) {
+        TodoChangesDTO changes = todoService.changesSince(since, 500);
+        return changes.hasMore() ? drain(changes.watermark()) : changes;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TodoRequestDTO request(String titulo) {
+        return new TodoRequestDTO(titulo, "Descrição da tarefa", false, 3);
+    }
+}
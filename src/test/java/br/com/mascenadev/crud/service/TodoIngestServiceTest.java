@@ -0,0 +1,148 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.dtos.TodoIngestStatusDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.repository.TodoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica a ingestão assíncrona: IDs reservados no envio, gravação em segundo plano, troca do
+ * journal e reaplicação do journal deixado por uma execução anterior.
+ */
+@SpringBootTest(properties = {"todo-api.ingest.enabled=true", "todo-api.ingest.batch-size=10",
+        "todo-api.ingest.journal-max-size=1KB"})
+class TodoIngestServiceTest {
+
+    private static final long REPLAYED_ID = 900_001L;
+
+    private static final long SEALED_ID = 900_003L;
+
+    private static final Path JOURNAL = createJournal();
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) {
+        registry.add("todo-api.ingest.journal", JOURNAL::toString);
+    }
+
+    @Autowired
+    private TodoIngestService todoIngestService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Test
+    void journalLeftByPreviousRunIsReplayedOnStartup() throws IOException {
+        assertThat(todoRepository.findById(REPLAYED_ID))
+                .hasValueSatisfying(todo -> assertThat(todo.getTitulo()).isEqualTo("Do journal"));
+        assertThat(todoRepository.findById(SEALED_ID))
+                .hasValueSatisfying(todo -> assertThat(todo.getTitulo()).isEqualTo("Do journal fechado"));
+        assertThat(todoIngestService.status(REPLAYED_ID).status()).isEqualTo(TodoIngestStatusDTO.Status.PERSISTED);
+        assertThat(sealed()).doesNotExist();
+    }
+
+    @Test
+    void concurrentSubmitsArePersistedAndTheJournalIsDiscarded() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> ids = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String titulo = "Concorrente " + i;
+                ids.add(executor.submit(() -> todoIngestService.submit(request(titulo))));
+            }
+            for (Future<Long> id : ids) {
+                awaitPersisted(id.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        awaitDiscarded();
+        assertThat(Files.size(JOURNAL)).isZero();
+        assertThat(sealed()).doesNotExist();
+    }
+
+    @Test
+    void submittedTodosArePersistedInTheBackground() throws Exception {
+        Long first = todoIngestService.submit(request("Importar 1"));
+        Long second = todoIngestService.submit(request("Importar 2"));
+        TodoResponseDTO created = todoService.create(request("Criada de forma síncrona"));
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(created.getId()).isNotIn(first, second);
+        awaitPersisted(first);
+        awaitPersisted(second);
+        TodoResponseDTO persisted = todoService.findById(second);
+        assertThat(persisted.getTitulo()).isEqualTo("Importar 2");
+        assertThat(persisted.getVersao()).isZero();
+        awaitDiscarded();
+        assertThat(Files.size(JOURNAL)).isZero();
+    }
+
+    /**
+     * Espera o gravador descartar o journal, o que ele faz logo depois de marcar as tarefas como
+     * gravadas.
+     */
+    private void awaitDiscarded() throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while ((Files.size(JOURNAL) > 0 || Files.exists(sealed())) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private void awaitPersisted(Long id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (todoIngestService.status(id).status() == TodoIngestStatusDTO.Status.PENDING
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(todoIngestService.status(id).status()).isEqualTo(TodoIngestStatusDTO.Status.PERSISTED);
+    }
+
+    private static TodoRequestDTO request(String titulo) {
+        return new TodoRequestDTO(titulo, "Descrição", false, 3);
+    }
+
+    private static Path sealed() {
+        return JOURNAL.resolveSibling(JOURNAL.getFileName() + TodoIngestService.SEALED_SUFFIX);
+    }
+
+    private static Path createJournal() {
+        try {
+            Path journal = Files.createTempFile("todo-ingest", ".ndjson");
+            Files.writeString(journal, """
+                    {"id":%d,"titulo":"Do journal","descricao":"Aceita antes do desligamento","realizado":false,"prioridade":2}
+                    {"id":900002,"titulo":"Gravação interrompida\
+                    """.formatted(REPLAYED_ID), StandardCharsets.UTF_8);
+            Path sealed = journal.resolveSibling(journal.getFileName() + TodoIngestService.SEALED_SUFFIX);
+            Files.writeString(sealed, """
+                    {"id":%d,"titulo":"Do journal fechado","descricao":"Aceita antes da troca do journal","realizado":false,"prioridade":1}
+                    """.formatted(SEALED_ID), StandardCharsets.UTF_8);
+            journal.toFile().deleteOnExit();
+            sealed.toFile().deleteOnExit();
+            return journal;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoField;
+import br.com.mascenadev.crud.dtos.TodoFilter;
+import br.com.mascenadev.crud.dtos.TodoPageDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que o {@link TodoMirror}, mantido pelos eventos de escrita, lista, pagina e filtra
+ * exatamente como o banco, e que o {@link TodoColumns} ordena a carga inicial e ignora eventos fora de ordem,
+ * inclusive alterações de tarefas já removidas.
+ */
+@SpringBootTest(properties = "todo-api.mirror.enabled=true")
+class TodoMirrorTest {
+
+    private static final List<TodoFilter> FILTROS = List.of(
+            TodoFilter.empty(),
+            new TodoFilter(true, null, null, null),
+            new TodoFilter(false, 2, 4, null),
+            new TodoFilter(null, 3, null, null),
+            new TodoFilter(null, null, 1, "b"),
+            new TodoFilter(false, null, null, "a"));
+
+    @Autowired
+    private TodoMirror todoMirror;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Test
+    void mirrorListsLikeTheDatabaseAfterWrites() {
+        TenantContext.runAs("espelho", () -> {
+            Random random = new Random(42);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 80; i++) {
+                ids.add(todoService.create(request(random)).getId());
+            }
+            for (int i = 0; i < 30; i++) {
+                todoService.update(ids.get(random.nextInt(ids.size())), request(random), null);
+            }
+            for (int i = 0; i < 10; i++) {
+                Long id = ids.remove(random.nextInt(ids.size()));
+                todoService.delete(id, null);
+            }
+
+            assertThat(todoMirror.isReady()).isTrue();
+            assertThat(todoMirror.watermark()).isEqualTo(todoService.watermark());
+            assertThat(todoMirror.findById(ids.get(0))).usingRecursiveComparison().isEqualTo(todoService.findById(ids.get(0)));
+            Set<TodoField> campos = TodoField.parse("id,titulo,realizado");
+            for (TodoFilter filtro : FILTROS) {
+                List<TodoResponseDTO> esperado = all(cursor -> todoService.listPage(cursor, 7, filtro, campos));
+                List<TodoResponseDTO> espelho = all(cursor -> todoMirror.listPage(cursor, 7, filtro, campos));
+                assertThat(espelho).as(filtro.toString())
+                        .usingRecursiveFieldByFieldElementComparator()
+                        .containsExactlyElementsOf(esperado);
+            }
+            List<TodoResponseDTO> streamed = new ArrayList<>();
+            todoMirror.streamAll(streamed::add);
+            assertThat(streamed).hasSize(ids.size());
+        });
+        assertThatThrownBy(() -> TenantContext.runAs("espelho-vazio", () -> todoMirror.findById(1L)))
+                .isInstanceOf(TodoNaoEncontradoException.class);
+    }
+
+    @Test
+    void columnsIgnoreStaleVersionsAndRemovedTodos() {
+        TodoColumns columns = new TodoColumns();
+        columns.upsert(new TodoResponseDTO(1L, "Antiga", "Descrição", false, 2, 0L));
+        columns.upsert(new TodoResponseDTO(2L, "Outra", null, true, 2, 0L));
+        columns.upsert(new TodoResponseDTO(1L, "Nova", "Descrição", true, 5, 2L));
+        columns.upsert(new TodoResponseDTO(1L, "Atrasada", "Descrição", false, 0, 1L));
+
+        assertThat(columns.get(1L).getTitulo()).isEqualTo("Nova");
+        assertThat(columns.page(TodoFilter.empty(), null, TodoField.all(), 10))
+                .extracting(TodoResponseDTO::getId).containsExactly(1L, 2L);
+        assertThat(columns.count(2, true)).isEqualTo(1);
+        assertThat(columns.count(5, null)).isEqualTo(1);
+
+        columns.remove(2L);
+        columns.upsert(new TodoResponseDTO(3L, "Reaproveita", "", false, 1, 0L));
+        assertThat(columns.size()).isEqualTo(2);
+        columns.remove(3L);
+        assertThat(columns.size()).isEqualTo(1);
+        assertThat(columns.get(2L)).isNull();
+
+        columns.upsert(new TodoResponseDTO(2L, "Atrasada", "Descrição", true, 2, 9L));
+        columns.upsert(new TodoResponseDTO(3L, "Atrasada", "Descrição", true, 2, 9L));
+        assertThat(columns.get(2L)).isNull();
+        assertThat(columns.get(3L)).isNull();
+        assertThat(columns.size()).isEqualTo(1);
+        columns.upsert(new TodoResponseDTO(4L, "Nova", "Descrição", false, 1, 0L));
+        assertThat(columns.page(TodoFilter.empty(), null, TodoField.all(), 10))
+                .extracting(TodoResponseDTO::getId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void bulkLoadSortsEveryTodo() {
+        TodoColumns columns = new TodoColumns();
+        columns.replaceAll(sink -> {
+            for (long id = 1; id <= 500; id++) {
+                sink.accept(new TodoResponseDTO(id, "Tarefa " + id % 7, "Descrição", id % 2 == 0, (int) (id % 6), 1L));
+            }
+        });
+
+        List<TodoResponseDTO> todos = columns.page(TodoFilter.empty(), null, TodoField.all(), 1000);
+        assertThat(todos).hasSize(500).isSortedAccordingTo(Comparator.comparing(TodoResponseDTO::getPrioridade).reversed()
+                .thenComparing(TodoResponseDTO::getTitulo).thenComparing(TodoResponseDTO::getId));
+        assertThat(columns.page(new TodoFilter(null, 4, 4, "Tarefa 3"), null, TodoField.all(), 1000))
+                .hasSize(12).extracting(TodoResponseDTO::getId).allMatch(id -> id % 6 == 4 && id % 7 == 3);
+    }
+
+    private static List<TodoResponseDTO> all(Function<String, TodoPageDTO> pages) {
+        List<TodoResponseDTO> todos = new ArrayList<>();
+        String cursor = null;
+        do {
+            TodoPageDTO page = pages.apply(cursor);
+            todos.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return todos;
+    }
+
+    private static TodoRequestDTO request(Random random) {
+        String titulo = (char) ('a' + random.nextInt(3)) + "-" + random.nextInt(20);
+        return new TodoRequestDTO(titulo, "Descrição " + random.nextInt(), random.nextBoolean(), random.nextInt(6));
+    }
+}
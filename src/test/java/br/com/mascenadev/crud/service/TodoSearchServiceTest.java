@@ -0,0 +1,73 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que a reconstrução do índice de busca, corrida junto com as escritas, não devolve ao
+ * índice tarefas removidas nem versões anteriores das alteradas.
+ */
+@SpringBootTest
+class TodoSearchServiceTest {
+
+    private static final String TENANT = "busca";
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuildDuringConcurrentWritesKeepsTheIndexCurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int writer = i;
+                writers.add(executor.submit(() -> TenantContext.runAs(TENANT, () -> {
+                    for (int j = 0; j < 25; j++) {
+                        TodoResponseDTO created = todoService.create(
+                                new TodoRequestDTO("Rascunho " + writer + "-" + j, "Descrição", false, 1));
+                        todoService.update(created.getId(),
+                                new TodoRequestDTO("Revisada " + writer + "-" + j, "Descrição", false, 1), null);
+                        if (j % 3 == 0) {
+                            todoService.delete(created.getId(), null);
+                        }
+                    }
+                })));
+            }
+            while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+                todoSearchService.rebuild();
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        TenantContext.runAs(TENANT, () -> {
+            assertThat(todoSearchService.search("rascunho", null, 200).content()).isEmpty();
+            assertThat(todoSearchService.search("revisada", null, 200).content()).hasSize(64);
+        });
+        assertThat((long) todoSearchService.indexedCount())
+                .isEqualTo(jdbcTemplate.queryForObject("select count(*) from todos", Long.class));
+    }
+}
@@ -0,0 +1,245 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.CacheConfig;
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.exception.TodoNaoEncontradoException;
+import br.com.mascenadev.crud.exception.VersaoConflitanteException;
+import br.com.mascenadev.crud.repository.TodoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Conta os comandos SQL emitidos por operação do {@link TodoService}, garantindo que
+ * atualizações e exclusões sejam feitas com um único comando, sem leitura prévia
+ * (a exclusão efetiva soma apenas o INSERT do registro de exclusão). Toda escrita começa pelo
+ * incremento do contador da {@link TodoChangeSequence}, um comando no H2, contado à parte.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TodoServiceStatementCountTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoChangeSequence changeSequence;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Comandos do incremento do contador da sequência de alterações.
+     */
+    private static final int SEQUENCE = 1;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Cria a linha do contador do tenant, se ainda não existir, fora das contagens.
+        changeSequence.safeWatermark();
+    }
+
+    @Test
+    void conditionalUpdateIssuesSingleStatement() {
+        TodoResponseDTO created = todoService.create(request("Estudar"));
+        statistics.clear();
+
+        TodoResponseDTO updated = todoService.update(created.getId(), request("Estudar JPA"), List.of(created.getVersao()));
+
+        assertThat(updated.getTitulo()).isEqualTo("Estudar JPA");
+        assertThat(updated.getVersao()).isGreaterThan(created.getVersao());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 1);
+    }
+
+    @Test
+    void updateIssuesSingleStatement() {
+        TodoResponseDTO created = todoService.create(request("Estudar"));
+        statistics.clear();
+
+        TodoResponseDTO updated = todoService.update(created.getId(), request("Estudar JPA"), null);
+
+        assertThat(updated.getVersao()).isGreaterThan(created.getVersao());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 1);
+        assertThat(todoRepository.findById(created.getId()).orElseThrow().getVersao()).isEqualTo(updated.getVersao());
+    }
+
+    @Test
+    void updateWithSeveralExpectedVersionsIssuesSingleStatement() {
+        TodoResponseDTO created = todoService.create(request("Estudar"));
+        statistics.clear();
+
+        TodoResponseDTO updated = todoService.update(created.getId(), request("Estudar JPA"),
+                List.of(created.getVersao() + 100, created.getVersao()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 1);
+        TodoResponseDTO again = todoService.update(created.getId(), request("Estudar SQL"), List.of(updated.getVersao()));
+        assertThat(again.getVersao()).isGreaterThan(updated.getVersao());
+    }
+
+    @Test
+    void updateOfMissingTodoIssuesSingleStatement() {
+        statistics.clear();
+
+        assertThatThrownBy(() -> todoService.update(Long.MAX_VALUE, request("Estudar"), null))
+                .isInstanceOf(TodoNaoEncontradoException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 1);
+    }
+
+    @Test
+    void updateWithStaleVersionIsRejected() {
+        TodoResponseDTO created = todoService.create(request("Estudar"));
+        todoService.update(created.getId(), request("Estudar JPA"), null);
+
+        assertThatThrownBy(() -> todoService.update(created.getId(), request("Estudar SQL"), List.of(created.getVersao())))
+                .isInstanceOf(VersaoConflitanteException.class);
+    }
+
+    @Test
+    void deleteIssuesDeleteAndTombstoneInsert() {
+        TodoResponseDTO created = todoService.create(request("Revisar"));
+        statistics.clear();
+
+        todoService.delete(created.getId(), null);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deleteOfMissingTodoIssuesSingleStatement() {
+        statistics.clear();
+
+        assertThatThrownBy(() -> todoService.delete(Long.MAX_VALUE, null))
+                .isInstanceOf(TodoNaoEncontradoException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 1);
+    }
+
+    @Test
+    void watermarkIsASingleKeyLookup() {
+        TodoResponseDTO created = todoService.create(request("Versionar"));
+        statistics.clear();
+
+        long before = todoService.watermark().sequencia();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        todoService.update(created.getId(), request("Versionar de novo"), null);
+
+        assertThat(todoService.watermark().sequencia()).isGreaterThan(before);
+    }
+
+    /**
+     * O mesmo, sem as tabelas delta do H2, como nos bancos sem {@code RETURNING} (ex: MySQL): com a
+     * tarefa no cache, o comando condicionado à versão dela dispensa a leitura do estado anterior.
+     */
+    @Nested
+    @TestPropertySource(properties = "todo-api.database.delta-tables=false")
+    class WithoutDeltaTables {
+
+        private static final String TENANT = "sem-tabelas-delta";
+
+        @Autowired
+        private TodoService todoService;
+
+        @Autowired
+        private TodoStatsService todoStatsService;
+
+        @Autowired
+        private TodoChangeSequence changeSequence;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+            statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            TenantContext.runAs(TENANT, changeSequence::safeWatermark);
+        }
+
+        @Test
+        void updateOfCachedTodoIssuesSingleStatement() {
+            TenantContext.runAs(TENANT, () -> {
+                TodoResponseDTO created = todoService.create(new TodoRequestDTO("Estudar", "Descrição da tarefa", false, 3));
+                long prioridade3 = prioridade(3);
+                statistics.clear();
+
+                TodoRequestDTO concluida = new TodoRequestDTO("Estudar JPA", "Descrição da tarefa", true, 5);
+                TodoResponseDTO updated = todoService.update(created.getId(), concluida, List.of(created.getVersao()));
+
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 1);
+                assertThat(updated.getVersao()).isGreaterThan(created.getVersao());
+                assertThat(prioridade(3)).isEqualTo(prioridade3 - 1);
+                assertThat(todoStatsService.stats().prioridades().get(5).realizadas()).isPositive();
+            });
+        }
+
+        @Test
+        void updateOfUncachedTodoLocksTheRowFirst() {
+            TenantContext.runAs(TENANT, () -> {
+                TodoResponseDTO created = todoService.create(request("Estudar"));
+                cacheManager.getCache(CacheConfig.TODOS_CACHE).clear();
+                statistics.clear();
+
+                todoService.update(created.getId(), request("Estudar JPA"), null);
+
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 2);
+            });
+        }
+
+        @Test
+        void deleteOfCachedTodoIssuesDeleteAndTombstoneInsert() {
+            TenantContext.runAs(TENANT, () -> {
+                TodoResponseDTO created = todoService.create(new TodoRequestDTO("Revisar", "Descrição da tarefa", false, 4));
+                long prioridade4 = prioridade(4);
+                statistics.clear();
+
+                todoService.delete(created.getId(), null);
+
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(SEQUENCE + 2);
+                assertThat(prioridade(4)).isEqualTo(prioridade4 - 1);
+            });
+        }
+
+        @Test
+        void cachedVersionOutsideIfMatchIsAConflict() {
+            TenantContext.runAs(TENANT, () -> {
+                TodoResponseDTO created = todoService.create(request("Estudar"));
+
+                assertThatThrownBy(() -> todoService.update(created.getId(), request("Estudar JPA"),
+                        List.of(created.getVersao() + 100))).isInstanceOf(VersaoConflitanteException.class);
+                assertThatThrownBy(() -> todoService.delete(created.getId(), List.of(created.getVersao() + 100)))
+                        .isInstanceOf(VersaoConflitanteException.class);
+            });
+        }
+
+        private long prioridade(int prioridade) {
+            return todoStatsService.stats().prioridades().get(prioridade).total();
+        }
+    }
+
+    private static TodoRequestDTO request(String titulo) {
+        return new TodoRequestDTO(titulo, "Descrição da tarefa", false, 3);
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoEstado;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import br.com.mascenadev.crud.dtos.TodoResponseDTO;
+import br.com.mascenadev.crud.dtos.TodoStatsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que as estatísticas acompanham as escritas do {@link TodoService} sem recontar a tabela,
+ * que eventos entregues fora de ordem chegam às mesmas contagens, que a conferência periódica
+ * corrige as contagens após uma escrita que não passou pelo serviço e que ela não conta duas vezes
+ * nem perde as escritas confirmadas enquanto o banco conta.
+ */
+@SpringBootTest(properties = "todo-api.stats.reconcile-interval=1h")
+class TodoStatsServiceTest {
+
+    private static final String TENANT = "estatisticas";
+
+    @Autowired
+    private TodoStatsService todoStatsService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statsFollowWritesAndReconcileWithTheDatabase() {
+        TenantContext.runAs(TENANT, () -> {
+            TodoResponseDTO antes = todoService.create(new TodoRequestDTO("Antes da carga", "Descrição", false, 1));
+            assertThat(todoStatsService.stats().total()).isEqualTo(1);
+
+            TodoResponseDTO alterada = todoService.create(new TodoRequestDTO("Alterada", "Descrição", false, 2));
+            TodoResponseDTO removida = todoService.create(new TodoRequestDTO("Removida", "Descrição", true, 5));
+            todoService.update(alterada.getId(), new TodoRequestDTO("Alterada", "Descrição", true, 4), null);
+            todoService.update(alterada.getId(), new TodoRequestDTO("Alterada", "Descrição", true, 4), null);
+            todoService.delete(removida.getId(), null);
+
+            TodoStatsDTO stats = todoStatsService.stats();
+            assertThat(stats.total()).isEqualTo(2);
+            assertThat(stats.realizadas()).isEqualTo(1);
+            assertThat(stats.pendentes()).isEqualTo(1);
+            assertThat(stats.prioridades()).hasSize(6)
+                    .extracting(TodoStatsDTO.PorPrioridade::total).containsExactly(0L, 1L, 0L, 0L, 1L, 0L);
+            assertThat(stats.prioridades().get(4).realizadas()).isEqualTo(1);
+            assertThat(todoStatsService.reconcile()).isZero();
+
+            jdbcTemplate.update("update todos set realizado = true where id = ?", antes.getId());
+            assertThat(todoStatsService.stats().realizadas()).isEqualTo(1);
+            assertThat(todoStatsService.reconcile()).isEqualTo(1);
+            assertThat(todoStatsService.stats().realizadas()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void outOfOrderEventsAddUpToTheSameCounts() {
+        TenantContext.runAs(TENANT + "-fora-de-ordem", () -> {
+            assertThat(todoStatsService.stats().total()).isZero();
+            TodoResponseDTO criada = new TodoResponseDTO(1L, "Tarefa", "Descrição", false, 1, 0L);
+            TodoResponseDTO alterada = new TodoResponseDTO(1L, "Tarefa", "Descrição", true, 3, 5L);
+            TodoResponseDTO mantida = new TodoResponseDTO(2L, "Outra", "Descrição", false, 2, 0L);
+
+            todoStatsService.onTodoChanged(TodoChangedEvent.deleted(new TodoEstado(1L, 3, true), 6));
+            todoStatsService.onTodoChanged(TodoChangedEvent.created(mantida, 2));
+            todoStatsService.onTodoChanged(TodoChangedEvent.updated(alterada, new TodoEstado(1L, 1, false), 5));
+            todoStatsService.onTodoChanged(TodoChangedEvent.created(criada, 1));
+
+            TodoStatsDTO stats = todoStatsService.stats();
+            assertThat(stats.total()).isEqualTo(1);
+            assertThat(stats.pendentes()).isEqualTo(1);
+            assertThat(stats.prioridades()).extracting(TodoStatsDTO.PorPrioridade::total)
+                    .containsExactly(0L, 0L, 1L, 0L, 0L, 0L);
+
+            // Os eventos acima não têm tarefas no banco: a conferência volta o tenant a zero
+            assertThat(todoStatsService.reconcile()).isEqualTo(1);
+            assertThat(todoStatsService.stats().total()).isZero();
+        });
+    }
+
+    @Test
+    void reconcileDuringConcurrentWritesKeepsTheCounts() throws Exception {
+        String tenant = TENANT + "-concorrente";
+        assertThat(TenantContext.callAs(tenant, todoStatsService::stats).total()).isZero();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                writers.add(executor.submit(() -> TenantContext.runAs(tenant, () -> {
+                    for (int j = 0; j < 25; j++) {
+                        TodoResponseDTO todo = todoService.create(new TodoRequestDTO("Concorrente", "Descrição", false, j % 6));
+                        todoService.update(todo.getId(), new TodoRequestDTO("Concorrente", "Descrição", true, (j + 1) % 6), null);
+                        if (j % 3 == 0) {
+                            todoService.delete(todo.getId(), null);
+                        }
+                    }
+                })));
+            }
+            while (!writers.stream().allMatch(Future::isDone)) {
+                todoStatsService.reconcile();
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TodoStatsDTO stats = TenantContext.callAs(tenant, todoStatsService::stats);
+        assertThat(stats.total()).isEqualTo(4 * 16);
+        assertThat(stats.realizadas()).isEqualTo(4 * 16);
+        assertThat(stats.prioridades()).extracting(TodoStatsDTO.PorPrioridade::total)
+                .containsExactlyElementsOf(jdbcTemplate.queryForList(
+                        "select count(t.id) from (values 0, 1, 2, 3, 4, 5) p(prioridade) "
+                        + "left join todos t on t.prioridade = p.prioridade and t.tenant = ? "
+                        + "group by p.prioridade order by p.prioridade", Long.class, tenant));
+        assertThat(todoStatsService.reconcile()).isZero();
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.mascenadev.crud.service;
+
+import br.com.mascenadev.crud.config.TenantContext;
+import br.com.mascenadev.crud.dtos.TodoBatchResultDTO;
+import br.com.mascenadev.crud.dtos.TodoImportProgressDTO;
+import br.com.mascenadev.crud.dtos.TodoRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que a importação em streaming rejeita cada registro inválido sem interromper as demais,
+ * confirma um lote por vez com o offset de retomada, e que a exportação em NDJSON e CSV pode ser
+ * reimportada sem perda.
+ */
+@SpringBootTest(properties = "todo-api.import.batch-size=3")
+class TodoTransferServiceTest {
+
+    private static final String NDJSON = """
+            {"titulo":"Primeira","descricao":"Descrição","realizado":false,"prioridade":1}
+            {"titulo":"Quebrada","descricao":
+            {"titulo":"Segunda","descricao":"Descrição","realizado":true,"prioridade":2}
+            {"titulo":"Inválida","descricao":"Descrição","realizado":false,"prioridade":9}
+
+            {"titulo":"Terceira","descricao":"Descrição","realizado":false,"prioridade":3}
+            {"titulo":"Quarta","descricao":"Descrição","realizado":true,"prioridade":4}
+            {"titulo":"Quinta","descricao":"Descrição","realizado":false,"prioridade":5}
+            """;
+
+    @Autowired
+    private TodoTransferService todoTransferService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ndjsonImportRejectsPerRecordAndResumesFromOffset() {
+        List<TodoImportProgressDTO> linhas = new ArrayList<>();
+        TodoImportProgressDTO fim = TenantContext.callAs("importacao",
+                () -> todoTransferService.importNdjson(body(NDJSON), 0, linhas::add));
+
+        assertThat(linhas).extracting(TodoImportProgressDTO::offset).containsExactly(3L, 6L, 7L);
+        assertThat(linhas.get(0).erros()).extracting(TodoBatchResultDTO::index).containsExactly(1);
+        assertThat(linhas.get(0).erros().get(0).errors()).containsKey("item");
+        assertThat(linhas.get(1).erros()).singleElement()
+                .satisfies(erro -> assertThat(erro.index()).isEqualTo(3))
+                .satisfies(erro -> assertThat(erro.errors()).containsEntry("prioridade", "Prioridade máxima é 5"));
+        assertThat(fim.concluido()).isTrue();
+        assertThat(fim.importados()).isEqualTo(5);
+        assertThat(fim.rejeitados()).isEqualTo(2);
+        assertThat(export("importacao")).extracting(Exportada::titulo)
+                .containsExactlyInAnyOrder("Primeira", "Segunda", "Terceira", "Quarta", "Quinta");
+
+        TodoImportProgressDTO retomada = TenantContext.callAs("importacao-retomada",
+                () -> todoTransferService.importNdjson(body(NDJSON), 6, linha -> { }));
+        assertThat(retomada.offset()).isEqualTo(7);
+        assertThat(retomada.importados()).isEqualTo(1);
+        assertThat(export("importacao-retomada")).extracting(Exportada::titulo).containsExactly("Quinta");
+    }
+
+    @Test
+    void csvExportCanBeImportedBack() {
+        TenantContext.runAs("exportacao-csv", () -> {
+            todoService.create(new TodoRequestDTO("Com vírgula, e \"aspas\"", "Linha um\nLinha dois", true, 5));
+            todoService.create(new TodoRequestDTO("Simples", "Descrição", false, 0));
+        });
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        TenantContext.runAs("exportacao-csv", () -> {
+            try {
+                todoTransferService.exportCsv(csv);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        String invalida = "99,Inválida,Descrição,talvez,alta,0\n";
+        TodoImportProgressDTO fim = TenantContext.callAs("importacao-csv",
+                () -> todoTransferService.importCsv(body(csv.toString(StandardCharsets.UTF_8) + invalida), 0, linha -> { }));
+
+        assertThat(csv.toString(StandardCharsets.UTF_8)).startsWith("id,titulo,descricao,realizado,prioridade,versao\n");
+        assertThat(fim.importados()).isEqualTo(2);
+        assertThat(fim.rejeitados()).isEqualTo(1);
+        assertThat(export("importacao-csv"))
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "versao")
+                .containsExactlyElementsOf(export("exportacao-csv"));
+    }
+
+    private List<Exportada> export(String tenant) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Exportada> todos = new ArrayList<>();
+        TenantContext.runAs(tenant, () -> {
+            try {
+                todoTransferService.exportNdjson(out);
+                for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+                    todos.add(objectMapper.readValue(line, Exportada.class));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return todos;
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Exportada(Long id, String titulo, String descricao, Boolean realizado, Integer prioridade, Long versao) {
+    }
+}